@@ -9,6 +9,7 @@ import medical_clinics.clinic.models.Clinic;
 import medical_clinics.clinic.models.WorkDay;
 import medical_clinics.clinic.repositories.ClinicRepository;
 import medical_clinics.physician.model.Physician;
+import medical_clinics.shared.cache.ResourceVersions;
 import medical_clinics.specialty.model.Specialty;
 import medical_clinics.web.dto.CreateEditClinicRequest;
 import medical_clinics.web.dto.events.NoSpecialistsLeftEvent;
@@ -27,6 +28,7 @@ public class ClinicService {
 
     private final ClinicRepository clinicRepository;
     private final WorkDayService workDayService;
+    private final ResourceVersions resourceVersions;
 
     public List<ClinicShortInfo> getAllClinics () {
         return clinicRepository.findAll ( )
@@ -55,6 +57,8 @@ public class ClinicService {
 
         savedClinic.setWorkingDays ( workDaysSaved );
 
+        resourceVersions.clinicsChanged ( );
+
         return savedClinic.getId ( );
     }
 
@@ -87,12 +91,17 @@ public class ClinicService {
                 workDayService.updateWorkDays ( oldClinicInfo, clinic.getWorkingDays ( ) )
         );
         newClinicInfo.setSpecialties ( oldClinicInfo.getSpecialties ( ) );
+
+        resourceVersions.clinicsChanged ( );
+        resourceVersions.clinicPhysiciansChanged ( clinicId );
     }
 
     @Transactional
     public void deleteClinic ( UUID id ) {
         Clinic clinic = getById ( id );
         clinicRepository.deleteById ( clinic.getId ( ) );
+
+        resourceVersions.clinicsChanged ( );
     }
 
 
@@ -15,6 +15,10 @@ import java.util.UUID;
 @Setter
 
 @Entity
+@Table(indexes = @Index(
+        name = "idx_physician_workplace_specialty",
+        columnList = "workplace_id, specialty_id"
+))
 public class Physician {
 
     @Id
@@ -10,6 +10,7 @@ import medical_clinics.physician.mapper.PhysicianMapper;
 import medical_clinics.physician.model.Physician;
 import medical_clinics.physician.repository.PhysicianRepository;
 import medical_clinics.schedule.services.DailyScheduleService;
+import medical_clinics.shared.cache.ResourceVersions;
 import medical_clinics.shared.exception.PersonalInformationDontMatchException;
 import medical_clinics.specialty.model.Specialty;
 import medical_clinics.specialty.service.SpecialtyService;
@@ -18,6 +19,7 @@ import medical_clinics.web.dto.CreatePatient;
 import medical_clinics.web.dto.CreatePhysician;
 import medical_clinics.web.dto.NewDaySchedule;
 import medical_clinics.web.dto.PhysicianEditRequest;
+import medical_clinics.web.dto.ScheduleTemplate;
 import medical_clinics.web.dto.events.*;
 import medical_clinics.web.dto.response.PhysicianInfo;
 import org.springframework.context.ApplicationEventPublisher;
@@ -37,6 +39,7 @@ public class PhysicianService {
     private final DailyScheduleService dailyScheduleService;
     private final ClinicService clinicService;
     private final SpecialtyService specialtyService;
+    private final ResourceVersions resourceVersions;
     private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
@@ -59,6 +62,7 @@ public class PhysicianService {
         newPhysician = physicianRepository.save ( newPhysician );
 
         clinicService.addPhysicianSpeciality ( newPhysician );
+        resourceVersions.clinicPhysiciansChanged ( clinic.getId ( ) );
 
         PhysicianAccountEvent physicianEvent = new PhysicianAccountEvent (
                 newPhysician.getEmail ( )
@@ -91,6 +95,7 @@ public class PhysicianService {
         physicianRepository.save ( physician );
 
         notifyClinic ( formerWorkplaceId, specialtyId );
+        resourceVersions.clinicPhysiciansChanged ( formerWorkplaceId );
     }
 
     @Transactional
@@ -125,6 +130,10 @@ public class PhysicianService {
         physician.setDescription ( physicianEdit.getDescription ( ) );
         physician.setPictureUrl ( physicianEdit.getPictureUrl ( ) );
         physicianRepository.save ( physician );
+
+        if ( physician.getWorkplace ( ) != null ) {
+            resourceVersions.clinicPhysiciansChanged ( physician.getWorkplace ( ).getId ( ) );
+        }
     }
 
     @Transactional
@@ -135,11 +144,18 @@ public class PhysicianService {
             throw new PhysicianNotFoundException ( "Physician not found" );
         }
 
-        Physician physician = physicianOptional.get ( );
+        dailyScheduleService.generateDaySchedules ( physicianOptional.get ( ), dailySchedules );
+    }
 
-        for ( NewDaySchedule newDaySchedule : dailySchedules ) {
-            dailyScheduleService.generateDaySchedule ( physician, newDaySchedule );
+    @Transactional
+    public void generateScheduleFromTemplate ( UUID physicianAccountId, ScheduleTemplate template ) {
+        Optional<Physician> physicianOptional = physicianRepository.findByUserAccount_Id ( physicianAccountId );
+
+        if ( physicianOptional.isEmpty ( ) ) {
+            throw new PhysicianNotFoundException ( "Physician not found" );
         }
+
+        dailyScheduleService.generateSchedulesFromTemplate ( physicianOptional.get ( ), template );
     }
 
     public List<PhysicianInfo> getPhysiciansByClinicAndSpeciality ( UUID clinicId, UUID specialityId ) {
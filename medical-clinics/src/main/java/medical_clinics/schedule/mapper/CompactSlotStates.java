@@ -0,0 +1,98 @@
+package medical_clinics.schedule.mapper;
+
+import medical_clinics.schedule.models.Status;
+
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.SortedMap;
+
+public class CompactSlotStates {
+    public static final int NO_SLOT = 0;
+    public static final int FREE = 1;
+    public static final int RESERVED = 2;
+    public static final int PASSED = 3;
+    public static final int INACTIVE = 4;
+
+    private final LocalTime gridStart;
+    private final int step;
+    private final byte[] packed;
+
+    private CompactSlotStates ( LocalTime gridStart, int step, byte[] packed ) {
+        this.gridStart = gridStart;
+        this.step = step;
+        this.packed = packed;
+    }
+
+    public static CompactSlotStates encode (
+            SortedMap<LocalTime, Status> states, LocalTime dayStart, Integer interval ) {
+
+        int step = interval != null ? interval * 60 : 0;
+
+        if ( states.isEmpty ( ) ) {
+            return new CompactSlotStates ( dayStart, step, new byte[0] );
+        }
+
+        int first = states.firstKey ( ).toSecondOfDay ( );
+
+        for ( LocalTime startTime : states.keySet ( ) ) {
+            step = gcd ( step, startTime.toSecondOfDay ( ) - first );
+        }
+
+        int gridStep = Math.max ( step, 1 );
+        int positions = ( states.lastKey ( ).toSecondOfDay ( ) - first ) / gridStep + 1;
+        byte[] packed = new byte[( positions + 1 ) / 2];
+
+        states.forEach ( ( startTime, status ) -> {
+            int position = ( startTime.toSecondOfDay ( ) - first ) / gridStep;
+            int shift = position % 2 == 0 ? 4 : 0;
+
+            packed[position / 2] |= (byte) ( code ( status ) << shift );
+        } );
+
+        return new CompactSlotStates ( states.firstKey ( ), gridStep, packed );
+    }
+
+    public static String slotIdPrefix ( long slotSeed ) {
+        return VirtualTimeSlots.timeSlotId ( slotSeed, LocalTime.MIDNIGHT ).toString ( ).substring ( 0, 18 );
+    }
+
+    public static int code ( Status status ) {
+        return switch (status) {
+            case FREE -> FREE;
+            case RESERVED -> RESERVED;
+            case PASSED -> PASSED;
+            case INACTIVE -> INACTIVE;
+        };
+    }
+
+    public static Status status ( int code ) {
+        return switch (code) {
+            case FREE -> Status.FREE;
+            case RESERVED -> Status.RESERVED;
+            case PASSED -> Status.PASSED;
+            case INACTIVE -> Status.INACTIVE;
+            default -> throw new IllegalArgumentException ( "Unknown slot state code " + code );
+        };
+    }
+
+    public LocalTime getGridStart () {
+        return gridStart;
+    }
+
+    public int getStepInSeconds () {
+        return step;
+    }
+
+    public String getStates () {
+        return Base64.getEncoder ( ).encodeToString ( packed );
+    }
+
+    private static int gcd ( int a, int b ) {
+        while (b != 0) {
+            int remainder = a % b;
+            a = b;
+            b = remainder;
+        }
+        return a;
+    }
+}
@@ -1,18 +1,37 @@
 package medical_clinics.schedule.mapper;
 
-import medical_clinics.patient.mapper.PatientMapper;
+import medical_clinics.clinic.models.DaysOfWeek;
 import medical_clinics.physician.model.Physician;
 import medical_clinics.schedule.models.ArchivedSchedules;
 import medical_clinics.schedule.models.DailySchedule;
+import medical_clinics.schedule.models.Status;
 import medical_clinics.schedule.models.TimeSlot;
+import medical_clinics.schedule.models.WaitlistEntry;
+import medical_clinics.schedule.projections.ClinicDayRow;
+import medical_clinics.schedule.projections.FreeAppointmentRow;
+import medical_clinics.schedule.projections.PrivateTimeSlotRow;
+import medical_clinics.schedule.projections.PublicTimeSlotRow;
+import medical_clinics.schedule.projections.ScheduleDay;
+import medical_clinics.schedule.projections.ScheduleOverviewRow;
 import medical_clinics.web.dto.NewDaySchedule;
+import medical_clinics.web.dto.ScheduleTemplate;
+import medical_clinics.web.dto.response.ArchivedAppointment;
+import medical_clinics.web.dto.response.FreeAppointment;
 import medical_clinics.web.dto.response.PatientAppointment;
+import medical_clinics.web.dto.response.PatientInfo;
+import medical_clinics.web.dto.response.WaitlistEntryResponse;
+import medical_clinics.web.dto.response.schedule_private.ClinicDaySchedule;
+import medical_clinics.web.dto.response.schedule_private.PhysicianDayColumn;
 import medical_clinics.web.dto.response.schedule_private.PhysicianDaySchedulePrivate;
+import medical_clinics.web.dto.response.schedule_public.PhysicianDayScheduleCompact;
 import medical_clinics.web.dto.response.schedule_public.PhysicianDaySchedulePublic;
+import medical_clinics.web.dto.response.schedule_public.ScheduleDayOverview;
 import medical_clinics.web.dto.response.schedule_private.DayAppointmentPrivate;
 import medical_clinics.web.dto.response.schedule_public.DayAppointmentPublic;
 
-import java.util.UUID;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
 
 public class DailyScheduleMapper {
     private DailyScheduleMapper () {
@@ -26,27 +45,162 @@ public class DailyScheduleMapper {
                 .build ( );
     }
 
-    public static PhysicianDaySchedulePublic mapToPublicResponse ( DailySchedule schedule ) {
-        return PhysicianDaySchedulePublic.builder ( )
-                .scheduleId ( schedule.getId ( ) )
-                .date ( schedule.getDate ( ) )
-                .schedule (
-                        schedule.getTimeSlots ( ).stream ( )
-                                .map ( DailyScheduleMapper::mapToAppointmentPublic )
-                                .toList ( )
+    public static List<NewDaySchedule> mapToNewDaySchedules ( ScheduleTemplate template ) {
+        Set<DaysOfWeek> daysOfWeek = EnumSet.noneOf ( DaysOfWeek.class );
+
+        for ( String day : template.getDaysOfWeek ( ) ) {
+            daysOfWeek.add ( DaysOfWeek.valueOf ( day.toUpperCase ( ) ) );
+        }
+
+        LocalDate endDate = template.getStartDate ( ).plusWeeks ( template.getWeeks ( ) );
+
+        return template.getStartDate ( ).datesUntil ( endDate )
+                .filter ( date -> daysOfWeek.contains ( DaysOfWeek.valueOf ( date.getDayOfWeek ( ).name ( ) ) ) )
+                .map ( date -> NewDaySchedule.builder ( )
+                        .date ( date )
+                        .startTime ( template.getStartTime ( ) )
+                        .endTime ( template.getEndTime ( ) )
+                        .timeSlotInterval ( template.getTimeSlotInterval ( ) )
+                        .build ( )
+                ).toList ( );
+    }
+
+    public static List<PhysicianDaySchedulePublic> mapToPublicResponses (
+            List<ScheduleDay> scheduleDays, List<PublicTimeSlotRow> rows ) {
+
+        Map<UUID, Map<LocalTime, PublicTimeSlotRow>> rowsBySchedule = new HashMap<> ( );
+
+        for ( PublicTimeSlotRow row : rows ) {
+            rowsBySchedule
+                    .computeIfAbsent ( row.getScheduleId ( ), id -> new LinkedHashMap<> ( ) )
+                    .put ( row.getStartTime ( ), row );
+        }
+
+        return scheduleDays.stream ( )
+                .map ( day -> PhysicianDaySchedulePublic.builder ( )
+                        .scheduleId ( day.getScheduleId ( ) )
+                        .date ( day.getDate ( ) )
+                        .schedule ( mapToAppointmentsPublic (
+                                day, rowsBySchedule.getOrDefault ( day.getScheduleId ( ), Map.of ( ) )
+                        ) )
+                        .build ( )
+                ).toList ( );
+    }
+
+    public static List<PhysicianDayScheduleCompact> mapToCompactResponses (
+            List<ScheduleDay> scheduleDays, List<PublicTimeSlotRow> rows ) {
+
+        Map<UUID, SortedMap<LocalTime, PublicTimeSlotRow>> rowsBySchedule = new HashMap<> ( );
+
+        for ( PublicTimeSlotRow row : rows ) {
+            rowsBySchedule
+                    .computeIfAbsent ( row.getScheduleId ( ), id -> new TreeMap<> ( ) )
+                    .put ( row.getStartTime ( ), row );
+        }
+
+        return scheduleDays.stream ( )
+                .map ( day -> mapToCompactResponse (
+                        day, rowsBySchedule.getOrDefault ( day.getScheduleId ( ), Collections.emptySortedMap ( ) )
+                ) )
+                .toList ( );
+    }
+
+    public static List<PhysicianDaySchedulePrivate> mapToPrivateResponses (
+            List<ScheduleDay> scheduleDays, List<PrivateTimeSlotRow> rows ) {
+
+        Map<UUID, Map<LocalTime, PrivateTimeSlotRow>> rowsBySchedule = new HashMap<> ( );
+
+        for ( PrivateTimeSlotRow row : rows ) {
+            rowsBySchedule
+                    .computeIfAbsent ( row.getScheduleId ( ), id -> new LinkedHashMap<> ( ) )
+                    .put ( row.getStartTime ( ), row );
+        }
+
+        return scheduleDays.stream ( )
+                .map ( day -> PhysicianDaySchedulePrivate.builder ( )
+                        .scheduleId ( day.getScheduleId ( ) )
+                        .date ( day.getDate ( ) )
+                        .schedule ( mapToAppointmentsPrivate (
+                                day, rowsBySchedule.getOrDefault ( day.getScheduleId ( ), Map.of ( ) )
+                        ) )
+                        .build ( )
+                ).toList ( );
+    }
+
+    public static ClinicDaySchedule mapToClinicDaySchedule (
+            UUID clinicId, LocalDate date, List<ClinicDayRow> rows ) {
+
+        Map<UUID, List<ClinicDayRow>> rowsBySchedule = new LinkedHashMap<> ( );
+
+        for ( ClinicDayRow row : rows ) {
+            rowsBySchedule.computeIfAbsent ( row.getScheduleId ( ), id -> new ArrayList<> ( ) ).add ( row );
+        }
+
+        return ClinicDaySchedule.builder ( )
+                .clinicId ( clinicId )
+                .date ( date )
+                .physicians ( rowsBySchedule.values ( ).stream ( )
+                        .map ( scheduleRows -> mapToPhysicianDayColumn ( date, scheduleRows ) )
+                        .toList ( )
                 )
                 .build ( );
     }
 
-    public static PhysicianDaySchedulePrivate mapToPrivateResponse ( DailySchedule schedule ) {
-        return PhysicianDaySchedulePrivate.builder ( )
-                .scheduleId ( schedule.getId ( ) )
-                .date ( schedule.getDate ( ) )
-                .schedule (
-                        schedule.getTimeSlots ( ).stream ( )
-                                .map ( DailyScheduleMapper::mapToAppointmentPrivate )
-                                .toList ( )
-                )
+    public static Status mapToVirtualStatus ( LocalDate date, LocalTime startTime ) {
+        LocalDate today = LocalDate.now ( );
+
+        if ( date.isBefore ( today ) || ( date.equals ( today ) && !LocalTime.now ( ).isBefore ( startTime ) ) ) {
+            return Status.PASSED;
+        }
+        return Status.FREE;
+    }
+
+    public static ScheduleDayOverview mapToScheduleDayOverview ( ScheduleOverviewRow row, int startedFreeSlots ) {
+        return ScheduleDayOverview.builder ( )
+                .scheduleId ( row.getScheduleId ( ) )
+                .date ( row.getDate ( ) )
+                .startTime ( row.getStartTime ( ) )
+                .endTime ( row.getEndTime ( ) )
+                .freeSlots ( Math.max ( 0, row.getFreeSlots ( ) - startedFreeSlots ) )
+                .reservedSlots ( row.getReservedSlots ( ) )
+                .inactiveSlots ( row.getInactiveSlots ( ) )
+                .build ( );
+    }
+
+    public static ArchivedAppointment mapToArchivedAppointment ( ArchivedSchedules archivedSchedule ) {
+        return ArchivedAppointment.builder ( )
+                .timeslotId ( archivedSchedule.getId ( ) )
+                .date ( archivedSchedule.getDate ( ) )
+                .startTime ( archivedSchedule.getStartTime ( ) )
+                .durationInMinutes ( archivedSchedule.getDurationInMinutes ( ) )
+                .status ( archivedSchedule.getStatus ( ) )
+                .physicianId ( archivedSchedule.getPhysicianId ( ) )
+                .patientId ( archivedSchedule.getPatientId ( ) )
+                .build ( );
+    }
+
+    public static FreeAppointment mapToFreeAppointment ( FreeAppointmentRow row ) {
+        return FreeAppointment.builder ( )
+                .timeslotId ( row.getTimeSlotId ( ) )
+                .physicianId ( row.getPhysicianId ( ) )
+                .physicianFirstName ( row.getPhysicianFirstName ( ) )
+                .physicianLastName ( row.getPhysicianLastName ( ) )
+                .date ( row.getDate ( ) )
+                .startTime ( row.getStartTime ( ) )
+                .durationInMinutes ( row.getDurationInMinutes ( ) )
+                .build ( );
+    }
+
+    public static WaitlistEntryResponse mapToWaitlistEntryResponse ( WaitlistEntry entry ) {
+        return WaitlistEntryResponse.builder ( )
+                .id ( entry.getId ( ) )
+                .physicianId ( entry.getPhysicianId ( ) )
+                .clinicId ( entry.getClinicId ( ) )
+                .specialtyId ( entry.getSpecialtyId ( ) )
+                .from ( entry.getFromDate ( ) )
+                .to ( entry.getToDate ( ) )
+                .offeredTimeslotId ( entry.getOfferedTimeSlotId ( ) )
+                .offerExpiresAt ( entry.getOfferExpiresAt ( ) )
                 .build ( );
     }
 
@@ -59,7 +213,7 @@ public class DailyScheduleMapper {
                 physician.getSpecialty ( ).getName ( );
 
         return PatientAppointment.builder ( )
-                .timeslotId ( timeSlot.getId ( ) )
+                .timeslotId ( VirtualTimeSlots.timeSlotId ( timeSlot ) )
                 .startTime ( timeSlot.getStartTime ( ) )
                 .appointmentDate ( timeSlot.getDailySchedule ( ).getDate ( ) )
                 .physician (
@@ -72,35 +226,168 @@ public class DailyScheduleMapper {
                 .build ( );
     }
 
-    private static DayAppointmentPublic mapToAppointmentPublic ( TimeSlot interval ) {
+    private static List<DayAppointmentPublic> mapToAppointmentsPublic (
+            ScheduleDay day, Map<LocalTime, PublicTimeSlotRow> rows ) {
+
+        if ( day.getSlotSeed ( ) == null ) {
+            return rows.values ( ).stream ( )
+                    .map ( row -> mapToAppointmentPublic ( row.getTimeSlotId ( ), row ) )
+                    .toList ( );
+        }
+
+        List<DayAppointmentPublic> appointments = new ArrayList<> ( );
+
+        for ( LocalTime startTime : getStartTimes ( day, rows.keySet ( ) ) ) {
+            UUID timeSlotId = VirtualTimeSlots.timeSlotId ( day.getSlotSeed ( ), startTime );
+            PublicTimeSlotRow row = rows.get ( startTime );
+
+            if ( row != null ) {
+                appointments.add ( mapToAppointmentPublic ( timeSlotId, row ) );
+                continue;
+            }
+
+            appointments.add ( DayAppointmentPublic.builder ( )
+                    .timeslotId ( timeSlotId )
+                    .startTime ( startTime )
+                    .status ( mapToVirtualStatus ( day.getDate ( ), startTime ) )
+                    .build ( ) );
+        }
+        return appointments;
+    }
+
+    private static PhysicianDayScheduleCompact mapToCompactResponse (
+            ScheduleDay day, SortedMap<LocalTime, PublicTimeSlotRow> rows ) {
+
+        SortedMap<LocalTime, Status> states = new TreeMap<> ( );
+        rows.forEach ( ( startTime, row ) -> states.put ( startTime, row.getStatus ( ) ) );
+
+        if ( day.getSlotSeed ( ) != null ) {
+            for ( LocalTime startTime : getStartTimes ( day, rows.keySet ( ) ) ) {
+                states.computeIfAbsent ( startTime, time -> mapToVirtualStatus ( day.getDate ( ), time ) );
+            }
+        }
+
+        CompactSlotStates compact = CompactSlotStates.encode (
+                states, day.getStartTime ( ), day.getTimeSlotInterval ( )
+        );
+
+        return PhysicianDayScheduleCompact.builder ( )
+                .scheduleId ( day.getScheduleId ( ) )
+                .date ( day.getDate ( ) )
+                .startTime ( compact.getGridStart ( ) )
+                .interval ( compact.getStepInSeconds ( ) )
+                .states ( compact.getStates ( ) )
+                .slotIdPrefix ( day.getSlotSeed ( ) != null
+                        ? CompactSlotStates.slotIdPrefix ( day.getSlotSeed ( ) )
+                        : null )
+                .timeslotIds ( day.getSlotSeed ( ) == null
+                        ? rows.values ( ).stream ( ).map ( PublicTimeSlotRow::getTimeSlotId ).toList ( )
+                        : null )
+                .build ( );
+    }
+
+    private static List<DayAppointmentPrivate> mapToAppointmentsPrivate (
+            ScheduleDay day, Map<LocalTime, PrivateTimeSlotRow> rows ) {
+
+        if ( day.getSlotSeed ( ) == null ) {
+            return rows.values ( ).stream ( )
+                    .map ( row -> mapToAppointmentPrivate ( row.getTimeSlotId ( ), row ) )
+                    .toList ( );
+        }
+
+        List<DayAppointmentPrivate> appointments = new ArrayList<> ( );
+
+        for ( LocalTime startTime : getStartTimes ( day, rows.keySet ( ) ) ) {
+            UUID timeSlotId = VirtualTimeSlots.timeSlotId ( day.getSlotSeed ( ), startTime );
+            PrivateTimeSlotRow row = rows.get ( startTime );
+
+            if ( row != null ) {
+                appointments.add ( mapToAppointmentPrivate ( timeSlotId, row ) );
+                continue;
+            }
+
+            appointments.add ( DayAppointmentPrivate.builder ( )
+                    .timeslotId ( timeSlotId )
+                    .startTime ( startTime )
+                    .status ( mapToVirtualStatus ( day.getDate ( ), startTime ) )
+                    .build ( ) );
+        }
+        return appointments;
+    }
+
+    private static PhysicianDayColumn mapToPhysicianDayColumn ( LocalDate date, List<ClinicDayRow> rows ) {
+        ClinicDayRow first = rows.getFirst ( );
+
+        ScheduleDay day = new ScheduleDay (
+                first.getScheduleId ( ), date, first.getScheduleStartTime ( ), first.getScheduleEndTime ( ),
+                first.getTimeSlotInterval ( ), first.isVirtualSlots ( ), first.getSlotSeed ( )
+        );
+
+        Map<LocalTime, PrivateTimeSlotRow> slotRows = new LinkedHashMap<> ( );
+
+        for ( ClinicDayRow row : rows ) {
+            if ( row.getTimeSlotId ( ) != null ) {
+                slotRows.put ( row.getStartTime ( ), new PrivateTimeSlotRow (
+                        row.getScheduleId ( ), row.getTimeSlotId ( ), row.getStartTime ( ), row.getStatus ( ),
+                        row.getPatientId ( ), row.getPatientFirstName ( ), row.getPatientLastName ( ),
+                        row.getPatientCountry ( ), row.getPatientIdentificationCode ( ), row.getPatientCity ( ),
+                        row.getPatientAddress ( ), row.getPatientPhone ( ), row.getPatientEmail ( )
+                ) );
+            }
+        }
+
+        return PhysicianDayColumn.builder ( )
+                .physicianId ( first.getPhysicianId ( ) )
+                .firstName ( first.getPhysicianFirstName ( ) )
+                .lastName ( first.getPhysicianLastName ( ) )
+                .scheduleId ( first.getScheduleId ( ) )
+                .schedule ( mapToAppointmentsPrivate ( day, slotRows ) )
+                .build ( );
+    }
+
+    private static Collection<LocalTime> getStartTimes ( ScheduleDay day, Set<LocalTime> storedStartTimes ) {
+        if ( !day.isVirtualSlots ( ) ) {
+            return storedStartTimes;
+        }
+
+        SortedSet<LocalTime> startTimes = new TreeSet<> ( storedStartTimes );
+        startTimes.addAll ( VirtualTimeSlots.startTimes (
+                day.getStartTime ( ), day.getEndTime ( ), day.getTimeSlotInterval ( )
+        ) );
+        return startTimes;
+    }
+
+    private static DayAppointmentPublic mapToAppointmentPublic ( UUID timeSlotId, PublicTimeSlotRow row ) {
         return DayAppointmentPublic.builder ( )
-                .timeslotId ( interval.getId ( ) )
-                .startTime ( interval.getStartTime ( ) )
-                .status ( interval.getStatus ( ) )
+                .timeslotId ( timeSlotId )
+                .startTime ( row.getStartTime ( ) )
+                .status ( row.getStatus ( ) )
                 .build ( );
     }
 
-    private static DayAppointmentPrivate mapToAppointmentPrivate ( TimeSlot interval ) {
+    private static DayAppointmentPrivate mapToAppointmentPrivate ( UUID timeSlotId, PrivateTimeSlotRow row ) {
         return DayAppointmentPrivate.builder ( )
-                .timeslotId ( interval.getId ( ) )
-                .startTime ( interval.getStartTime ( ) )
-                .status ( interval.getStatus ( ) )
-                .patientInfo ( PatientMapper.mapToPatientInfo ( interval.getPatient ( ) ) )
+                .timeslotId ( timeSlotId )
+                .startTime ( row.getStartTime ( ) )
+                .status ( row.getStatus ( ) )
+                .patientInfo ( mapToPatientInfo ( row ) )
                 .build ( );
     }
 
-    public static ArchivedSchedules mapToArchive ( TimeSlot timeSlot ) {
-        UUID patientId = null;
-        if ( timeSlot.getPatient ( ) != null ) {
-            patientId = timeSlot.getPatient ( ).getId ( );
+    private static PatientInfo mapToPatientInfo ( PrivateTimeSlotRow row ) {
+        if ( row.getPatientId ( ) == null ) {
+            return null;
         }
-        return ArchivedSchedules.builder ( )
-                .date ( timeSlot.getDailySchedule ( ).getDate ( ) )
-                .startTime ( timeSlot.getStartTime ( ) )
-                .status ( timeSlot.getStatus ( ) )
-                .physicianId ( timeSlot.getDailySchedule ( ).getPhysician ( ).getId ( ) )
-                .patientId ( patientId )
-                .durationInMinutes ( timeSlot.getDurationInMinutes ( ) )
+        return PatientInfo.builder ( )
+                .patientId ( row.getPatientId ( ) )
+                .firstName ( row.getPatientFirstName ( ) )
+                .lastName ( row.getPatientLastName ( ) )
+                .country ( row.getPatientCountry ( ) )
+                .identificationCode ( row.getPatientIdentificationCode ( ) )
+                .city ( row.getPatientCity ( ) )
+                .address ( row.getPatientAddress ( ) )
+                .phone ( row.getPatientPhone ( ) )
+                .email ( row.getPatientEmail ( ) )
                 .build ( );
     }
 }
@@ -0,0 +1,70 @@
+package medical_clinics.schedule.mapper;
+
+import medical_clinics.schedule.models.DailySchedule;
+import medical_clinics.schedule.models.TimeSlot;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class VirtualTimeSlots {
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private VirtualTimeSlots () {
+    }
+
+    public static UUID timeSlotId ( long slotSeed, LocalTime startTime ) {
+        return new UUID ( slotSeed, startTime.toSecondOfDay ( ) );
+    }
+
+    public static UUID timeSlotId ( TimeSlot timeSlot ) {
+        Long slotSeed = timeSlot.getDailySchedule ( ).getSlotSeed ( );
+
+        if ( slotSeed == null ) {
+            return timeSlot.getId ( );
+        }
+        return timeSlotId ( slotSeed, timeSlot.getStartTime ( ) );
+    }
+
+    public static boolean isSeeded ( UUID timeSlotId ) {
+        long secondOfDay = timeSlotId.getLeastSignificantBits ( );
+        return secondOfDay >= 0 && secondOfDay < SECONDS_PER_DAY;
+    }
+
+    public static long slotSeedOf ( UUID timeSlotId ) {
+        return timeSlotId.getMostSignificantBits ( );
+    }
+
+    public static LocalTime startTimeOf ( UUID timeSlotId ) {
+        return LocalTime.ofSecondOfDay ( timeSlotId.getLeastSignificantBits ( ) );
+    }
+
+    public static List<LocalTime> startTimes ( LocalTime startTime, LocalTime endTime, int interval ) {
+        List<LocalTime> startTimes = new ArrayList<> ( );
+        LocalTime current = startTime;
+
+        while (current.isBefore ( endTime )) {
+            startTimes.add ( current );
+
+            LocalTime next = current.plusMinutes ( interval );
+            if ( !next.isAfter ( current ) ) {
+                break;
+            }
+            current = next;
+        }
+        return startTimes;
+    }
+
+    public static List<LocalTime> startTimes ( DailySchedule schedule ) {
+        return startTimes ( schedule.getStartTime ( ), schedule.getEndTime ( ), schedule.getTimeSlotInterval ( ) );
+    }
+
+    public static boolean isOnGrid ( DailySchedule schedule, LocalTime time ) {
+        if ( time.isBefore ( schedule.getStartTime ( ) ) || !time.isBefore ( schedule.getEndTime ( ) ) ) {
+            return false;
+        }
+        int secondsFromStart = time.toSecondOfDay ( ) - schedule.getStartTime ( ).toSecondOfDay ( );
+        return time.getNano ( ) == 0 && secondsFromStart % ( schedule.getTimeSlotInterval ( ) * 60 ) == 0;
+    }
+}
@@ -3,6 +3,7 @@ package medical_clinics.schedule.models;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
@@ -12,8 +13,13 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Getter
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_archived_schedules_physician_cursor", columnList = "physician_id, date, start_time, id"),
+        @Index(name = "idx_archived_schedules_patient_cursor", columnList = "patient_id, date, start_time, id")
+})
 public class ArchivedSchedules {
 
     @Id
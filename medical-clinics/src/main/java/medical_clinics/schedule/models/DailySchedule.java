@@ -3,6 +3,7 @@ package medical_clinics.schedule.models;
 import jakarta.persistence.*;
 import lombok.*;
 import medical_clinics.physician.model.Physician;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -16,6 +17,11 @@ import java.util.UUID;
 @Setter
 
 @Entity
+@DynamicUpdate
+@Table(indexes = {
+        @Index(name = "idx_daily_schedule_date", columnList = "date"),
+        @Index(name = "idx_daily_schedule_physician_date", columnList = "physician_id, date")
+})
 public class DailySchedule {
 
     @Id
@@ -31,6 +37,23 @@ public class DailySchedule {
     @Basic(optional = false)
     private LocalTime endTime;
 
+    private Integer timeSlotInterval;
+
+    @Column(nullable = false, columnDefinition = "boolean default false")
+    private boolean virtualSlots;
+
+    @Column(unique = true)
+    private Long slotSeed;
+
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int freeSlots;
+
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int reservedSlots;
+
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private int inactiveSlots;
+
     @ManyToOne
     @JoinColumn(nullable = false)
     private Physician physician;
@@ -0,0 +1,5 @@
+package medical_clinics.schedule.models;
+
+public enum ScheduleChangeType {
+    SLOT, DAY
+}
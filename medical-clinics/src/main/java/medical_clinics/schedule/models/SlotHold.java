@@ -0,0 +1,27 @@
+package medical_clinics.schedule.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+
+@Entity
+@Table(indexes = @Index(name = "idx_slot_hold_expires_at", columnList = "expires_at"))
+public class SlotHold {
+
+    @Id
+    private UUID timeSlotId;
+
+    @Basic(optional = false)
+    private UUID accountId;
+
+    @Basic(optional = false)
+    private LocalDateTime expiresAt;
+}
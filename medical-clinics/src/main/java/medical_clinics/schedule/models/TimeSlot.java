@@ -14,6 +14,16 @@ import java.util.UUID;
 @Setter
 
 @Entity
+@Table(
+        indexes = @Index(
+                name = "idx_time_slot_schedule_status_start",
+                columnList = "daily_schedule_id, status, start_time"
+        ),
+        uniqueConstraints = @UniqueConstraint(
+                name = "UniqueScheduleStartTime",
+                columnNames = {"daily_schedule_id", "start_time"}
+        )
+)
 public class TimeSlot {
 
     @Id
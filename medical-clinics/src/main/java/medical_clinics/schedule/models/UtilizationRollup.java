@@ -0,0 +1,47 @@
+package medical_clinics.schedule.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_utilization_rollup_scope_date", columnList = "scope, scope_id, date"),
+        @Index(name = "idx_utilization_rollup_date", columnList = "date"),
+        @Index(name = "idx_utilization_rollup_clinic_date", columnList = "clinic_id, date")
+})
+public class UtilizationRollup {
+
+    @Id
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Basic(optional = false)
+    private RollupScope scope;
+
+    @Basic(optional = false)
+    private UUID scopeId;
+
+    private UUID clinicId;
+
+    @Basic(optional = false)
+    private LocalDate date;
+
+    private int freeSlots;
+
+    private int reservedSlots;
+
+    private int passedSlots;
+
+    private int inactiveSlots;
+}
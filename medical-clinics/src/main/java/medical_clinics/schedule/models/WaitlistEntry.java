@@ -0,0 +1,48 @@
+package medical_clinics.schedule.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_waitlist_entry_account", columnList = "account_id"),
+        @Index(name = "idx_waitlist_entry_to_date", columnList = "to_date")
+})
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Basic(optional = false)
+    private UUID accountId;
+
+    private UUID physicianId;
+
+    private UUID clinicId;
+
+    private UUID specialtyId;
+
+    @Basic(optional = false)
+    private LocalDate fromDate;
+
+    @Basic(optional = false)
+    private LocalDate toDate;
+
+    @Basic(optional = false)
+    private LocalDateTime createdAt;
+
+    private UUID offeredTimeSlotId;
+
+    private LocalDateTime offerExpiresAt;
+}
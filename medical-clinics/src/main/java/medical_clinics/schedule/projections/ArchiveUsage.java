@@ -0,0 +1,20 @@
+package medical_clinics.schedule.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import medical_clinics.schedule.models.Status;
+
+import java.util.Map;
+
+@AllArgsConstructor
+@Getter
+
+public class ArchiveUsage {
+    private long slots;
+
+    private Map<Status, Long> slotsByStatus;
+
+    private Map<Status, Long> minutesByStatus;
+
+    private long patients;
+}
@@ -0,0 +1,26 @@
+package medical_clinics.schedule.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import medical_clinics.schedule.models.Status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+
+public class ArchivedScheduleRow {
+    private LocalDate date;
+
+    private LocalTime startTime;
+
+    private Integer durationInMinutes;
+
+    private Status status;
+
+    private UUID physicianId;
+
+    private UUID patientId;
+}
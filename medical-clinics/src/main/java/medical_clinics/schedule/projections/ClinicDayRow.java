@@ -0,0 +1,55 @@
+package medical_clinics.schedule.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import medical_clinics.schedule.models.Status;
+
+import java.time.LocalTime;
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+
+public class ClinicDayRow {
+    private UUID scheduleId;
+
+    private UUID physicianId;
+
+    private String physicianFirstName;
+
+    private String physicianLastName;
+
+    private LocalTime scheduleStartTime;
+
+    private LocalTime scheduleEndTime;
+
+    private Integer timeSlotInterval;
+
+    private boolean virtualSlots;
+
+    private Long slotSeed;
+
+    private UUID timeSlotId;
+
+    private LocalTime startTime;
+
+    private Status status;
+
+    private UUID patientId;
+
+    private String patientFirstName;
+
+    private String patientLastName;
+
+    private String patientCountry;
+
+    private String patientIdentificationCode;
+
+    private String patientCity;
+
+    private String patientAddress;
+
+    private String patientPhone;
+
+    private String patientEmail;
+}
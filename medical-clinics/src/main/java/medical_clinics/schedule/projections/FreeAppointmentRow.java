@@ -0,0 +1,27 @@
+package medical_clinics.schedule.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+
+public class FreeAppointmentRow {
+    private UUID timeSlotId;
+
+    private UUID physicianId;
+
+    private String physicianFirstName;
+
+    private String physicianLastName;
+
+    private LocalDate date;
+
+    private LocalTime startTime;
+
+    private Integer durationInMinutes;
+}
@@ -0,0 +1,19 @@
+package medical_clinics.schedule.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+
+public class FreeTimeSlotStart {
+    private UUID physicianId;
+
+    private LocalDate date;
+
+    private LocalTime startTime;
+}
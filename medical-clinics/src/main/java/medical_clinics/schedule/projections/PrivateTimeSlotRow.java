@@ -0,0 +1,39 @@
+package medical_clinics.schedule.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import medical_clinics.schedule.models.Status;
+
+import java.time.LocalTime;
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+
+public class PrivateTimeSlotRow {
+    private UUID scheduleId;
+
+    private UUID timeSlotId;
+
+    private LocalTime startTime;
+
+    private Status status;
+
+    private UUID patientId;
+
+    private String patientFirstName;
+
+    private String patientLastName;
+
+    private String patientCountry;
+
+    private String patientIdentificationCode;
+
+    private String patientCity;
+
+    private String patientAddress;
+
+    private String patientPhone;
+
+    private String patientEmail;
+}
@@ -0,0 +1,21 @@
+package medical_clinics.schedule.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import medical_clinics.schedule.models.Status;
+
+import java.time.LocalTime;
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+
+public class PublicTimeSlotRow {
+    private UUID scheduleId;
+
+    private UUID timeSlotId;
+
+    private LocalTime startTime;
+
+    private Status status;
+}
@@ -0,0 +1,31 @@
+package medical_clinics.schedule.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+
+public class ScheduleOverviewRow {
+    private UUID scheduleId;
+
+    private LocalDate date;
+
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    private Integer timeSlotInterval;
+
+    private boolean virtualSlots;
+
+    private int freeSlots;
+
+    private int reservedSlots;
+
+    private int inactiveSlots;
+}
@@ -0,0 +1,33 @@
+package medical_clinics.schedule.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+
+public class SeededScheduleRow {
+    private UUID scheduleId;
+
+    private Long slotSeed;
+
+    private boolean virtualSlots;
+
+    private UUID physicianId;
+
+    private String physicianFirstName;
+
+    private String physicianLastName;
+
+    private LocalDate date;
+
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    private Integer timeSlotInterval;
+}
@@ -0,0 +1,17 @@
+package medical_clinics.schedule.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+
+public class SlotCountRow {
+    private UUID physicianId;
+
+    private UUID clinicId;
+
+    private Long slots;
+}
@@ -0,0 +1,21 @@
+package medical_clinics.schedule.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+
+public class StartedSlotCountRow {
+    private UUID scheduleId;
+
+    private boolean virtualSlots;
+
+    private UUID physicianId;
+
+    private UUID clinicId;
+
+    private Long slots;
+}
@@ -0,0 +1,17 @@
+package medical_clinics.schedule.projections;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+
+public class UtilizationCounts {
+    private Long freeSlots;
+
+    private Long reservedSlots;
+
+    private Long passedSlots;
+
+    private Long inactiveSlots;
+}
@@ -0,0 +1,18 @@
+package medical_clinics.schedule.property;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Setter
+
+@ConfigurationProperties("schedule.archive.export")
+public class ArchiveExportProperty {
+
+    private Path directory;
+}
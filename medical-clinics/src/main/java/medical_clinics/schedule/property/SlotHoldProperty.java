@@ -0,0 +1,20 @@
+package medical_clinics.schedule.property;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Setter
+
+@ConfigurationProperties("schedule.holds")
+public class SlotHoldProperty {
+
+    private Duration ttl;
+
+    private boolean distributed;
+}
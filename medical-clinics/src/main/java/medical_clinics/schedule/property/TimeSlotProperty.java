@@ -0,0 +1,16 @@
+package medical_clinics.schedule.property;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Setter
+
+@ConfigurationProperties("schedule.time-slots")
+public class TimeSlotProperty {
+
+    private boolean lazy;
+}
@@ -1,11 +1,77 @@
 package medical_clinics.schedule.repositories;
 
+import jakarta.persistence.QueryHint;
 import medical_clinics.schedule.models.ArchivedSchedules;
+import medical_clinics.schedule.projections.ArchivedScheduleRow;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ArchivedSchedulesRepository extends JpaRepository<ArchivedSchedules, UUID> {
+
+    @Modifying
+    @Query("""
+            insert into ArchivedSchedules (id, date, physicianId, status, patientId, startTime, durationInMinutes)
+            select t.id, d.date, d.physician.id, t.status, p.id, t.startTime, t.durationInMinutes
+            from TimeSlot t join t.dailySchedule d left join t.patient p
+            where d.id in :scheduleIds and d.slotSeed is null
+            """)
+    int archiveTimeSlotsOfSchedules ( @Param("scheduleIds") Collection<UUID> scheduleIds );
+
+    @Query("""
+            select new medical_clinics.schedule.projections.ArchivedScheduleRow(
+                a.date, a.startTime, a.durationInMinutes, a.status, a.physicianId, a.patientId
+            )
+            from ArchivedSchedules a
+            where a.date between :from and :to
+            order by a.date asc, a.startTime asc
+            """)
+    // Connector/J streams the result set row by row only for this fetch size, otherwise the month is buffered
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    Stream<ArchivedScheduleRow> streamRowsBetween ( @Param("from") LocalDate from, @Param("to") LocalDate to );
+
+    @Query("""
+            select a from ArchivedSchedules a
+            where a.patientId = :patientId and a.date between :from and :to
+            and (a.date > :afterDate or (a.date = :afterDate
+                and (a.startTime > :afterTime or (a.startTime = :afterTime and a.id > :afterId))))
+            order by a.date asc, a.startTime asc, a.id asc
+            """)
+    List<ArchivedSchedules> findHistoryOfPatient (
+            @Param("patientId") UUID patientId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterTime") LocalTime afterTime,
+            @Param("afterId") UUID afterId,
+            Limit limit );
+
+    @Query("""
+            select a from ArchivedSchedules a
+            where a.physicianId = :physicianId and a.date between :from and :to
+            and (a.date > :afterDate or (a.date = :afterDate
+                and (a.startTime > :afterTime or (a.startTime = :afterTime and a.id > :afterId))))
+            order by a.date asc, a.startTime asc, a.id asc
+            """)
+    List<ArchivedSchedules> findHistoryOfPhysician (
+            @Param("physicianId") UUID physicianId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterTime") LocalTime afterTime,
+            @Param("afterId") UUID afterId,
+            Limit limit );
 }
@@ -1,25 +1,176 @@
 package medical_clinics.schedule.repositories;
 
+import jakarta.persistence.LockModeType;
 import medical_clinics.schedule.models.DailySchedule;
+import medical_clinics.schedule.projections.ClinicDayRow;
+import medical_clinics.schedule.projections.ScheduleDay;
+import medical_clinics.schedule.projections.ScheduleOverviewRow;
+import medical_clinics.schedule.projections.SeededScheduleRow;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface DailyScheduleRepository extends JpaRepository<DailySchedule, UUID> {
-    List<DailySchedule> findAllByPhysicianIdOrderByDateAsc ( UUID physicianId );
+    @Query("""
+            select new medical_clinics.schedule.projections.ScheduleDay(
+                d.id, d.date, d.startTime, d.endTime, d.timeSlotInterval, d.virtualSlots, d.slotSeed
+            )
+            from DailySchedule d
+            where d.physician.id = :physicianId and d.date between :from and :to
+            order by d.date asc
+            """)
+    List<ScheduleDay> findScheduleDaysOfPhysician (
+            @Param("physicianId") UUID physicianId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            Limit limit );
 
-    Optional<DailySchedule> findByPhysicianIdAndDate ( UUID physicianId, LocalDate date );
+    @Query("""
+            select new medical_clinics.schedule.projections.ScheduleOverviewRow(
+                d.id, d.date, d.startTime, d.endTime, d.timeSlotInterval, d.virtualSlots,
+                d.freeSlots, d.reservedSlots, d.inactiveSlots
+            )
+            from DailySchedule d
+            where d.physician.id = :physicianId and d.date between :from and :to
+            order by d.date asc
+            """)
+    List<ScheduleOverviewRow> findOverviewOfPhysician (
+            @Param("physicianId") UUID physicianId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            Limit limit );
+
+    @Query("""
+            select d from DailySchedule d left join fetch d.timeSlots
+            where d.physician.id = :physicianId and d.date between :from and :to
+            """)
+    List<DailySchedule> findAllWithTimeSlotsByPhysicianIdAndDateBetween (
+            @Param("physicianId") UUID physicianId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to );
 
     Optional<DailySchedule> findAllByPhysician_UserAccount_IdAndDate ( UUID userAccountId, LocalDate date );
 
-    List<DailySchedule> findAllByDateBefore ( LocalDate dateBefore );
+    Optional<DailySchedule> findBySlotSeed ( Long slotSeed );
+
+    @Query("""
+            select distinct d from DailySchedule d left join fetch d.timeSlots join fetch d.physician
+            where d.id in :ids and d.slotSeed is not null
+            """)
+    List<DailySchedule> findAllSeededWithTimeSlotsByIdIn ( @Param("ids") Collection<UUID> ids );
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select d from DailySchedule d where d.id = :id")
+    Optional<DailySchedule> findByIdForUpdate ( @Param("id") UUID id );
+
+    @Query("""
+            select new medical_clinics.schedule.projections.SeededScheduleRow(
+                d.id, d.slotSeed, d.virtualSlots, p.id, p.firstName, p.lastName,
+                d.date, d.startTime, d.endTime, d.timeSlotInterval
+            )
+            from DailySchedule d join d.physician p
+            where p.workplace.id = :clinicId and p.specialty.id = :specialtyId
+            and d.slotSeed is not null and d.date between :from and :to
+            order by d.date asc, d.startTime asc
+            """)
+    List<SeededScheduleRow> findSeededSchedulesOfClinicAndSpecialty (
+            @Param("clinicId") UUID clinicId,
+            @Param("specialtyId") UUID specialtyId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to );
+
+    @Query("""
+            select new medical_clinics.schedule.projections.SeededScheduleRow(
+                d.id, d.slotSeed, d.virtualSlots, p.id, p.firstName, p.lastName,
+                d.date, d.startTime, d.endTime, d.timeSlotInterval
+            )
+            from DailySchedule d join d.physician p
+            where d.virtualSlots = true and d.date >= :date
+            """)
+    List<SeededScheduleRow> findVirtualSchedulesFrom ( @Param("date") LocalDate date );
+
+    @Query("""
+            select new medical_clinics.schedule.projections.SeededScheduleRow(
+                d.id, d.slotSeed, d.virtualSlots, p.id, p.firstName, p.lastName,
+                d.date, d.startTime, d.endTime, d.timeSlotInterval
+            )
+            from DailySchedule d join d.physician p
+            where d.virtualSlots = true and d.date = :date
+            """)
+    List<SeededScheduleRow> findVirtualSchedulesOfDate ( @Param("date") LocalDate date );
+
+    @Query("""
+            select new medical_clinics.schedule.projections.SeededScheduleRow(
+                d.id, d.slotSeed, d.virtualSlots, p.id, p.firstName, p.lastName,
+                d.date, d.startTime, d.endTime, d.timeSlotInterval
+            )
+            from DailySchedule d join d.physician p
+            where d.virtualSlots = true and p.id = :physicianId and d.date = :date
+            """)
+    Optional<SeededScheduleRow> findVirtualScheduleOfDay (
+            @Param("physicianId") UUID physicianId,
+            @Param("date") LocalDate date );
+
+    @Query("""
+            select d.id from DailySchedule d
+            where d.date >= :date and d.freeSlots = 0 and d.reservedSlots = 0 and d.inactiveSlots = 0
+            """)
+    List<UUID> findIdsWithoutSlotCountsFrom ( @Param("date") LocalDate date );
+
+    @Query("select d.id from DailySchedule d where d.date < :dateBefore order by d.date asc")
+    List<UUID> findIdsByDateBefore ( @Param("dateBefore") LocalDate dateBefore, Pageable pageable );
+
+    @Query("""
+            select new medical_clinics.schedule.projections.ScheduleDay(
+                d.id, d.date, d.startTime, d.endTime, d.timeSlotInterval, d.virtualSlots, d.slotSeed
+            )
+            from DailySchedule d
+            where d.physician.id = :physicianId and d.date > :date
+            order by d.date asc
+            """)
+    List<ScheduleDay> findScheduleDaysOfPhysicianAfter (
+            @Param("physicianId") UUID physicianId,
+            @Param("date") LocalDate date,
+            Pageable pageable );
 
-    List<DailySchedule> findAllByPhysician_IdAndDateAfter ( UUID id, LocalDate now );
+    @Query("""
+            select new medical_clinics.schedule.projections.ScheduleDay(
+                d.id, d.date, d.startTime, d.endTime, d.timeSlotInterval, d.virtualSlots, d.slotSeed
+            )
+            from DailySchedule d
+            where d.physician.userAccount.id = :userAccountId and d.date between :from and :to
+            order by d.date asc
+            """)
+    List<ScheduleDay> findScheduleDaysOfPhysicianAccount (
+            @Param("userAccountId") UUID userAccountId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            Limit limit );
 
-    List<DailySchedule> findAllByPhysician_UserAccount_IdOrderByDateAsc ( UUID userAccountId );
+    @Query("""
+            select new medical_clinics.schedule.projections.ClinicDayRow(
+                d.id, p.id, p.firstName, p.lastName,
+                d.startTime, d.endTime, d.timeSlotInterval, d.virtualSlots, d.slotSeed,
+                t.id, t.startTime, t.status,
+                pt.id, pt.firstName, pt.lastName, pt.country, pt.identificationCode,
+                pt.city, pt.address, pt.phone, pt.email
+            )
+            from DailySchedule d join d.physician p left join d.timeSlots t left join t.patient pt
+            where p.workplace.id = :clinicId and d.date = :date
+            order by p.lastName asc, p.firstName asc, p.id asc, t.startTime asc
+            """)
+    List<ClinicDayRow> findClinicDayRows (
+            @Param("clinicId") UUID clinicId,
+            @Param("date") LocalDate date );
 }
@@ -0,0 +1,49 @@
+package medical_clinics.schedule.repositories;
+
+import jakarta.transaction.Transactional;
+import medical_clinics.schedule.models.SlotHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface SlotHoldRepository extends JpaRepository<SlotHold, UUID> {
+
+    @Modifying
+    @Transactional
+    @Query("""
+            update SlotHold h set h.accountId = :accountId, h.expiresAt = :expiresAt
+            where h.timeSlotId = :timeSlotId and (h.accountId = :accountId or h.expiresAt <= :now)
+            """)
+    int renew (
+            @Param("timeSlotId") UUID timeSlotId,
+            @Param("accountId") UUID accountId,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("now") LocalDateTime now );
+
+    @Modifying
+    @Transactional
+    @Query("""
+            insert into SlotHold (timeSlotId, accountId, expiresAt)
+            values (:timeSlotId, :accountId, :expiresAt)
+            """)
+    int insert (
+            @Param("timeSlotId") UUID timeSlotId,
+            @Param("accountId") UUID accountId,
+            @Param("expiresAt") LocalDateTime expiresAt );
+
+    @Modifying
+    @Transactional
+    @Query("delete from SlotHold h where h.timeSlotId = :timeSlotId and h.accountId = :accountId")
+    int deleteHold ( @Param("timeSlotId") UUID timeSlotId, @Param("accountId") UUID accountId );
+
+    @Modifying
+    @Transactional
+    @Query("delete from SlotHold h where h.expiresAt <= :now")
+    int deleteExpired ( @Param("now") LocalDateTime now );
+}
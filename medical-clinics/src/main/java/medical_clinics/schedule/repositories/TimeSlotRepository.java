@@ -1,20 +1,228 @@
 package medical_clinics.schedule.repositories;
 
+import jakarta.transaction.Transactional;
+import medical_clinics.patient.model.Patient;
+import medical_clinics.schedule.projections.FreeAppointmentRow;
+import medical_clinics.schedule.projections.FreeTimeSlotStart;
+import medical_clinics.schedule.projections.PrivateTimeSlotRow;
+import medical_clinics.schedule.projections.PublicTimeSlotRow;
+import medical_clinics.schedule.projections.StartedSlotCountRow;
+import org.springframework.data.domain.Pageable;
 import medical_clinics.schedule.models.Status;
 import medical_clinics.schedule.models.TimeSlot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface TimeSlotRepository extends JpaRepository<TimeSlot, UUID> {
 
-    List<TimeSlot> findAllByStatusEqualsAndStartTimeBeforeAndDailySchedule_Date ( Status status, LocalTime time, LocalDate date );
+    @Query("""
+            select new medical_clinics.schedule.projections.StartedSlotCountRow(
+                d.id, d.virtualSlots, p.id, w.id, count(t)
+            )
+            from TimeSlot t join t.dailySchedule d join d.physician p left join p.workplace w
+            where t.status = medical_clinics.schedule.models.Status.FREE and t.startTime < :time and d.date = :date
+            group by d.id, d.virtualSlots, p.id, w.id
+            """)
+    List<StartedSlotCountRow> countFreeStartedBeforeBySchedule (
+            @Param("time") LocalTime time,
+            @Param("date") LocalDate date );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("""
+            update TimeSlot t set t.status = medical_clinics.schedule.models.Status.PASSED
+            where t.status = medical_clinics.schedule.models.Status.FREE and t.startTime < :time
+            and t.dailySchedule.id in (select d.id from DailySchedule d where d.date = :date)
+            """)
+    int markAllPassedStartedBefore (
+            @Param("time") LocalTime time,
+            @Param("date") LocalDate date );
 
     Collection<TimeSlot> findAllByPatient_Id ( UUID patientId );
+
+    @Query("""
+            select new medical_clinics.schedule.projections.PublicTimeSlotRow(
+                t.dailySchedule.id, t.id, t.startTime, t.status
+            )
+            from TimeSlot t
+            where t.dailySchedule.id in :scheduleIds
+            order by t.startTime asc
+            """)
+    List<PublicTimeSlotRow> findPublicRowsOfSchedules ( @Param("scheduleIds") Collection<UUID> scheduleIds );
+
+    @Query("""
+            select new medical_clinics.schedule.projections.PrivateTimeSlotRow(
+                t.dailySchedule.id, t.id, t.startTime, t.status,
+                p.id, p.firstName, p.lastName, p.country, p.identificationCode,
+                p.city, p.address, p.phone, p.email
+            )
+            from TimeSlot t left join t.patient p
+            where t.dailySchedule.id in :scheduleIds
+            order by t.startTime asc
+            """)
+    List<PrivateTimeSlotRow> findPrivateRowsOfSchedules ( @Param("scheduleIds") Collection<UUID> scheduleIds );
+
+    @Query("""
+            select new medical_clinics.schedule.projections.PublicTimeSlotRow(d.id, t.id, t.startTime, t.status)
+            from TimeSlot t join t.dailySchedule d
+            where d.virtualSlots = true and d.date >= :date
+            """)
+    List<PublicTimeSlotRow> findRowsOfVirtualSchedulesFrom ( @Param("date") LocalDate date );
+
+    @Query("""
+            select new medical_clinics.schedule.projections.FreeTimeSlotStart(d.physician.id, d.date, t.startTime)
+            from TimeSlot t join t.dailySchedule d
+            where t.status = medical_clinics.schedule.models.Status.FREE and d.date >= :date
+            """)
+    List<FreeTimeSlotStart> findFreeTimeSlotStartsFrom ( @Param("date") LocalDate date );
+
+    @Query("""
+            select distinct t.startTime
+            from TimeSlot t join t.dailySchedule d
+            where t.status = medical_clinics.schedule.models.Status.FREE and d.date = :date
+            """)
+    List<LocalTime> findFreeStartTimesOfDate ( @Param("date") LocalDate date );
+
+    @Query("""
+            select new medical_clinics.schedule.projections.FreeTimeSlotStart(d.physician.id, d.date, t.startTime)
+            from TimeSlot t join t.dailySchedule d
+            where t.status = medical_clinics.schedule.models.Status.FREE
+            and d.physician.id = :physicianId and d.date = :date
+            """)
+    List<FreeTimeSlotStart> findFreeTimeSlotStartsOfDay (
+            @Param("physicianId") UUID physicianId,
+            @Param("date") LocalDate date );
+
+    @Query("""
+            select new medical_clinics.schedule.projections.FreeAppointmentRow(
+                t.id, p.id, p.firstName, p.lastName, d.date, t.startTime, t.durationInMinutes
+            )
+            from TimeSlot t join t.dailySchedule d join d.physician p
+            where p.workplace.id = :clinicId and p.specialty.id = :specialtyId
+            and t.status = medical_clinics.schedule.models.Status.FREE
+            and d.slotSeed is null
+            and d.date between :from and :to
+            and (d.date > :today or t.startTime > :now)
+            and (d.date > :afterDate or (d.date = :afterDate
+                and (t.startTime > :afterTime or (t.startTime = :afterTime and t.id > :afterId))))
+            order by d.date asc, t.startTime asc, t.id asc
+            """)
+    List<FreeAppointmentRow> findFreeAppointments (
+            @Param("clinicId") UUID clinicId,
+            @Param("specialtyId") UUID specialtyId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("today") LocalDate today,
+            @Param("now") LocalTime now,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterTime") LocalTime afterTime,
+            @Param("afterId") UUID afterId,
+            Pageable pageable );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("""
+            update TimeSlot t
+            set t.status = medical_clinics.schedule.models.Status.RESERVED, t.patient = :patient
+            where t.id = :id and t.status = medical_clinics.schedule.models.Status.FREE
+            and not exists (select h from SlotHold h
+                where h.timeSlotId = :holdId and h.accountId <> :accountId and h.expiresAt > :now)
+            """)
+    int reserveIfFreeAndNotHeld (
+            @Param("id") UUID id,
+            @Param("patient") Patient patient,
+            @Param("holdId") UUID holdId,
+            @Param("accountId") UUID accountId,
+            @Param("now") LocalDateTime now );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("""
+            update TimeSlot t
+            set t.status = medical_clinics.schedule.models.Status.FREE, t.patient = null
+            where t.id = :id and t.status = medical_clinics.schedule.models.Status.RESERVED and t.patient = :patient
+            """)
+    int releaseIfReservedBy ( @Param("id") UUID id, @Param("patient") Patient patient );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("""
+            update TimeSlot t
+            set t.status = medical_clinics.schedule.models.Status.PASSED
+            where t.id = :id and t.status = medical_clinics.schedule.models.Status.FREE
+            """)
+    int markPassedIfFree ( @Param("id") UUID id );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("""
+            update TimeSlot t
+            set t.status = medical_clinics.schedule.models.Status.INACTIVE
+            where t.id = :id and t.patient is null and t.status = :status
+            """)
+    int inactivateIfNotReserved ( @Param("id") UUID id, @Param("status") Status status );
+
+    boolean existsByDailySchedule_IdAndPatientIsNotNull ( UUID scheduleId );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("""
+            update TimeSlot t
+            set t.status = medical_clinics.schedule.models.Status.INACTIVE
+            where t.dailySchedule.id = :scheduleId and t.patient is null and t.status = :status
+            """)
+    int inactivateAllOfScheduleIfNotReserved ( @Param("scheduleId") UUID scheduleId, @Param("status") Status status );
+
+    @Modifying
+    @Query("delete from TimeSlot t where t.dailySchedule.id in :scheduleIds")
+    int deleteAllByDailyScheduleIds ( @Param("scheduleIds") Collection<UUID> scheduleIds );
+
+    List<TimeSlot> findAllByDailySchedule_Id ( UUID scheduleId );
+
+    Optional<TimeSlot> findByDailySchedule_IdAndStartTime ( UUID scheduleId, LocalTime startTime );
+
+    long countByDailySchedule_IdAndStartTimeBefore ( UUID scheduleId, LocalTime startTime );
+
+    @Modifying
+    @Transactional
+    @Query("""
+            update DailySchedule d
+            set d.freeSlots = d.freeSlots + :free, d.reservedSlots = d.reservedSlots + :reserved,
+            d.inactiveSlots = d.inactiveSlots + :inactive
+            where d.id = :scheduleId
+            """)
+    int addSlotCountsOfSchedule (
+            @Param("scheduleId") UUID scheduleId,
+            @Param("free") int free,
+            @Param("reserved") int reserved,
+            @Param("inactive") int inactive );
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("""
+            update DailySchedule d
+            set d.freeSlots = (select cast(count(t) as Integer) from TimeSlot t
+                where t.dailySchedule.id = d.id
+                and t.status = medical_clinics.schedule.models.Status.FREE),
+            d.reservedSlots = (select cast(count(t) as Integer) from TimeSlot t
+                where t.dailySchedule.id = d.id
+                and t.status = medical_clinics.schedule.models.Status.RESERVED),
+            d.inactiveSlots = (select cast(count(t) as Integer) from TimeSlot t
+                where t.dailySchedule.id = d.id
+                and t.status = medical_clinics.schedule.models.Status.INACTIVE)
+            where d.id in :scheduleIds
+            """)
+    int recountSlotsOfSchedules ( @Param("scheduleIds") Collection<UUID> scheduleIds );
 }
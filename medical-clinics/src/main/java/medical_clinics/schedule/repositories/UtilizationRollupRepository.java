@@ -0,0 +1,81 @@
+package medical_clinics.schedule.repositories;
+
+import jakarta.transaction.Transactional;
+import medical_clinics.schedule.models.RollupScope;
+import medical_clinics.schedule.models.UtilizationRollup;
+import medical_clinics.schedule.projections.UtilizationCounts;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UtilizationRollupRepository extends JpaRepository<UtilizationRollup, UUID> {
+
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            insert into utilization_rollup
+            (id, scope, scope_id, clinic_id, date, free_slots, reserved_slots, passed_slots, inactive_slots)
+            values (:id, :scope, :scopeId, :clinicId, :date, :free, :reserved, :passed, :inactive)
+            on duplicate key update
+            free_slots = free_slots + :free,
+            reserved_slots = reserved_slots + :reserved,
+            passed_slots = passed_slots + :passed,
+            inactive_slots = inactive_slots + :inactive
+            """)
+    int upsertCounts (
+            @Param("id") UUID id,
+            @Param("scope") String scope,
+            @Param("scopeId") UUID scopeId,
+            @Param("clinicId") UUID clinicId,
+            @Param("date") LocalDate date,
+            @Param("free") int free,
+            @Param("reserved") int reserved,
+            @Param("passed") int passed,
+            @Param("inactive") int inactive );
+
+    @Modifying
+    @Transactional
+    @Query("""
+            update UtilizationRollup r
+            set r.passedSlots = r.passedSlots + r.freeSlots, r.freeSlots = 0
+            where r.date < :date and r.freeSlots > 0
+            """)
+    int closeDaysBefore ( @Param("date") LocalDate date );
+
+    @Query("""
+            select new medical_clinics.schedule.projections.UtilizationCounts(
+                coalesce(sum(r.freeSlots), 0L), coalesce(sum(r.reservedSlots), 0L),
+                coalesce(sum(r.passedSlots), 0L), coalesce(sum(r.inactiveSlots), 0L)
+            )
+            from UtilizationRollup r
+            where r.scope = :scope and r.scopeId = :scopeId and r.date between :from and :to
+            """)
+    UtilizationCounts sumCounts (
+            @Param("scope") RollupScope scope,
+            @Param("scopeId") UUID scopeId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to );
+
+    @Query("""
+            select new medical_clinics.schedule.projections.UtilizationCounts(
+                coalesce(sum(r.freeSlots), 0L), coalesce(sum(r.reservedSlots), 0L),
+                coalesce(sum(r.passedSlots), 0L), coalesce(sum(r.inactiveSlots), 0L)
+            )
+            from UtilizationRollup r
+            where r.scope = medical_clinics.schedule.models.RollupScope.PHYSICIAN
+            and r.clinicId = :clinicId and r.date between :from and :to
+            """)
+    UtilizationCounts sumCountsOfClinic (
+            @Param("clinicId") UUID clinicId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to );
+
+    List<UtilizationRollup> findAllByScopeAndScopeIdAndDateAfter ( RollupScope scope, UUID scopeId, LocalDate date );
+}
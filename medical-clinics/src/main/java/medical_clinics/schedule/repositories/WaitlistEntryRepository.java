@@ -0,0 +1,28 @@
+package medical_clinics.schedule.repositories;
+
+import jakarta.transaction.Transactional;
+import medical_clinics.schedule.models.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, UUID> {
+
+    List<WaitlistEntry> findAllByOfferedTimeSlotIdIsNullAndToDateGreaterThanEqual ( LocalDate date );
+
+    List<WaitlistEntry> findAllByOfferedTimeSlotIdAndAccountId ( UUID offeredTimeSlotId, UUID accountId );
+
+    List<WaitlistEntry> findAllByAccountIdAndToDateGreaterThanEqualOrderByCreatedAt ( UUID accountId, LocalDate date );
+
+    @Modifying
+    @Transactional
+    @Query("delete from WaitlistEntry w where w.toDate < :date")
+    int deleteAllByToDateBefore ( @Param("date") LocalDate date );
+}
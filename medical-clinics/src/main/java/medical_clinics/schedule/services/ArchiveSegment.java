@@ -0,0 +1,136 @@
+package medical_clinics.schedule.services;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import medical_clinics.schedule.mapper.CompactSlotStates;
+import medical_clinics.schedule.models.Status;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+@AllArgsConstructor
+@Getter
+
+class ArchiveSegment {
+    private final YearMonth month;
+
+    private final int rows;
+
+    private final UUID[] physicians;
+
+    private final UUID[] patients;
+
+    private final byte[] days;
+
+    private final short[] startMinutes;
+
+    private final short[] durations;
+
+    private final byte[] statuses;
+
+    private final int[] physicianRefs;
+
+    private final int[] patientRefs;
+
+    Status getStatus ( int row ) {
+        return CompactSlotStates.status ( statuses[row] );
+    }
+
+    int indexOfPhysician ( UUID physicianId ) {
+        for ( int i = 0; i < physicians.length; i++ ) {
+            if ( physicians[i].equals ( physicianId ) ) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Every column is inflated into heap arrays anyway, so the file is read once instead of being mapped
+    static ArchiveSegment read ( Path path ) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap ( Files.readAllBytes ( path ) );
+
+            int magic = buffer.getInt ( );
+            int version = buffer.getInt ( );
+
+            if ( magic != ArchiveSegmentWriter.MAGIC || version != ArchiveSegmentWriter.VERSION ) {
+                throw new IllegalStateException ( "Unsupported archive segment " + path );
+            }
+
+            YearMonth month = YearMonth.of ( buffer.getInt ( ), buffer.getInt ( ) );
+            int rows = buffer.getInt ( );
+
+            UUID[] physicians = readDictionary ( buffer );
+            UUID[] patients = readDictionary ( buffer );
+
+            byte[] days = inflate ( buffer );
+
+            short[] startMinutes = new short[rows];
+            ByteBuffer.wrap ( inflate ( buffer ) ).asShortBuffer ( ).get ( startMinutes );
+
+            short[] durations = new short[rows];
+            ByteBuffer.wrap ( inflate ( buffer ) ).asShortBuffer ( ).get ( durations );
+
+            byte[] statuses = inflate ( buffer );
+
+            int[] physicianRefs = new int[rows];
+            ByteBuffer.wrap ( inflate ( buffer ) ).asIntBuffer ( ).get ( physicianRefs );
+
+            int[] patientRefs = new int[rows];
+            ByteBuffer.wrap ( inflate ( buffer ) ).asIntBuffer ( ).get ( patientRefs );
+
+            return new ArchiveSegment (
+                    month, rows, physicians, patients,
+                    days, startMinutes, durations, statuses, physicianRefs, patientRefs
+            );
+        } catch (IOException e) {
+            throw new UncheckedIOException ( e );
+        }
+    }
+
+    private static UUID[] readDictionary ( ByteBuffer buffer ) {
+        UUID[] dictionary = new UUID[buffer.getInt ( )];
+
+        for ( int i = 0; i < dictionary.length; i++ ) {
+            dictionary[i] = new UUID ( buffer.getLong ( ), buffer.getLong ( ) );
+        }
+        return dictionary;
+    }
+
+    private static byte[] inflate ( ByteBuffer buffer ) {
+        byte[] raw = new byte[buffer.getInt ( )];
+        int compressedLength = buffer.getInt ( );
+
+        Inflater inflater = new Inflater ( );
+        try {
+            inflater.setInput ( buffer.slice ( buffer.position ( ), compressedLength ) );
+
+            int inflated = 0;
+            while (inflated < raw.length) {
+                int count = inflater.inflate ( raw, inflated, raw.length - inflated );
+
+                boolean stuck = inflater.finished ( ) || inflater.needsInput ( ) || inflater.needsDictionary ( );
+
+                if ( count == 0 && stuck ) {
+                    throw new IllegalStateException ( "Truncated archive segment column, inflated " + inflated +
+                            " of " + raw.length + " bytes" );
+                }
+                inflated += count;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException ( "Corrupted archive segment column", e );
+        } finally {
+            inflater.end ( );
+        }
+
+        buffer.position ( buffer.position ( ) + compressedLength );
+        return raw;
+    }
+}
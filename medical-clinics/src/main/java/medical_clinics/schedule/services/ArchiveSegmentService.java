@@ -0,0 +1,97 @@
+package medical_clinics.schedule.services;
+
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import medical_clinics.schedule.models.Status;
+import medical_clinics.schedule.projections.ArchiveUsage;
+import medical_clinics.schedule.projections.ArchivedScheduleRow;
+import medical_clinics.schedule.property.ArchiveExportProperty;
+import medical_clinics.schedule.repositories.ArchivedSchedulesRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Service
+@AllArgsConstructor
+@Slf4j
+public class ArchiveSegmentService {
+    private final ArchivedSchedulesRepository archivedSchedulesRepository;
+    private final ArchiveExportProperty archiveExportProperty;
+
+    @Transactional
+    public Path exportMonth ( YearMonth month ) {
+        ArchiveSegmentWriter writer = new ArchiveSegmentWriter ( month );
+
+        try (Stream<ArchivedScheduleRow> rows = archivedSchedulesRepository.streamRowsBetween (
+                month.atDay ( 1 ), month.atEndOfMonth ( )
+        )) {
+            rows.forEach ( writer::add );
+        }
+
+        Path segment = segmentOf ( month );
+        writer.writeTo ( segment );
+
+        log.info ( "Exported {} archived time slots of {} to {}", writer.getRows ( ), month, segment );
+        return segment;
+    }
+
+    @Scheduled(cron = "0 00 01 1 * *")
+    @Transactional
+    public void exportPreviousMonth () {
+        exportMonth ( YearMonth.now ( ).minusMonths ( 1 ) );
+    }
+
+    public ArchiveUsage getUsage ( YearMonth from, YearMonth to, UUID physicianId ) {
+        Map<Status, Long> slotsByStatus = new EnumMap<> ( Status.class );
+        Map<Status, Long> minutesByStatus = new EnumMap<> ( Status.class );
+        Set<UUID> patients = new HashSet<> ( );
+        long slots = 0;
+
+        for ( YearMonth month = from; !month.isAfter ( to ); month = month.plusMonths ( 1 ) ) {
+            Path path = segmentOf ( month );
+
+            if ( !Files.exists ( path ) ) {
+                continue;
+            }
+
+            ArchiveSegment segment = ArchiveSegment.read ( path );
+
+            int physicianRef = physicianId == null ? -1 : segment.indexOfPhysician ( physicianId );
+            if ( physicianId != null && physicianRef < 0 ) {
+                continue;
+            }
+
+            for ( int row = 0; row < segment.getRows ( ); row++ ) {
+                if ( physicianId != null && segment.getPhysicianRefs ( )[row] != physicianRef ) {
+                    continue;
+                }
+
+                Status status = segment.getStatus ( row );
+                slotsByStatus.merge ( status, 1L, Long::sum );
+                minutesByStatus.merge ( status, (long) segment.getDurations ( )[row], Long::sum );
+                slots++;
+
+                int patientRef = segment.getPatientRefs ( )[row];
+                if ( patientRef != ArchiveSegmentWriter.NO_PATIENT ) {
+                    patients.add ( segment.getPatients ( )[patientRef] );
+                }
+            }
+        }
+
+        return new ArchiveUsage ( slots, slotsByStatus, minutesByStatus, patients.size ( ) );
+    }
+
+    private Path segmentOf ( YearMonth month ) {
+        return archiveExportProperty.getDirectory ( ).resolve ( "archive-" + month + ".seg" );
+    }
+}
@@ -0,0 +1,126 @@
+package medical_clinics.schedule.services;
+
+import medical_clinics.schedule.mapper.CompactSlotStates;
+import medical_clinics.schedule.projections.ArchivedScheduleRow;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.Deflater;
+
+class ArchiveSegmentWriter {
+    static final int MAGIC = 0x4D434153;
+    static final int VERSION = 1;
+    static final int NO_PATIENT = -1;
+
+    private final YearMonth month;
+    private final Map<UUID, Integer> physicians = new LinkedHashMap<> ( );
+    private final Map<UUID, Integer> patients = new LinkedHashMap<> ( );
+
+    private final ByteArrayOutputStream days = new ByteArrayOutputStream ( );
+    private final ByteArrayOutputStream startMinutes = new ByteArrayOutputStream ( );
+    private final ByteArrayOutputStream durations = new ByteArrayOutputStream ( );
+    private final ByteArrayOutputStream statuses = new ByteArrayOutputStream ( );
+    private final ByteArrayOutputStream physicianRefs = new ByteArrayOutputStream ( );
+    private final ByteArrayOutputStream patientRefs = new ByteArrayOutputStream ( );
+
+    private final DataOutputStream startMinutesOut = new DataOutputStream ( startMinutes );
+    private final DataOutputStream durationsOut = new DataOutputStream ( durations );
+    private final DataOutputStream physicianRefsOut = new DataOutputStream ( physicianRefs );
+    private final DataOutputStream patientRefsOut = new DataOutputStream ( patientRefs );
+
+    private int rows;
+
+    ArchiveSegmentWriter ( YearMonth month ) {
+        this.month = month;
+    }
+
+    void add ( ArchivedScheduleRow row ) {
+        try {
+            days.write ( row.getDate ( ).getDayOfMonth ( ) );
+            startMinutesOut.writeShort ( row.getStartTime ( ).getHour ( ) * 60 + row.getStartTime ( ).getMinute ( ) );
+            durationsOut.writeShort ( row.getDurationInMinutes ( ) );
+            statuses.write ( CompactSlotStates.code ( row.getStatus ( ) ) );
+            physicianRefsOut.writeInt ( physicians.computeIfAbsent ( row.getPhysicianId ( ), id -> physicians.size ( ) ) );
+            patientRefsOut.writeInt ( row.getPatientId ( ) == null
+                    ? NO_PATIENT
+                    : patients.computeIfAbsent ( row.getPatientId ( ), id -> patients.size ( ) )
+            );
+        } catch (IOException e) {
+            throw new UncheckedIOException ( e );
+        }
+        rows++;
+    }
+
+    int getRows () {
+        return rows;
+    }
+
+    void writeTo ( Path target ) {
+        try {
+            Files.createDirectories ( target.getParent ( ) );
+            Path temporary = Files.createTempFile ( target.getParent ( ), target.getFileName ( ).toString ( ), ".tmp" );
+
+            try (DataOutputStream out = new DataOutputStream ( Files.newOutputStream ( temporary ) )) {
+                out.writeInt ( MAGIC );
+                out.writeInt ( VERSION );
+                out.writeInt ( month.getYear ( ) );
+                out.writeInt ( month.getMonthValue ( ) );
+                out.writeInt ( rows );
+
+                writeDictionary ( out, physicians );
+                writeDictionary ( out, patients );
+
+                writeColumn ( out, days );
+                writeColumn ( out, startMinutes );
+                writeColumn ( out, durations );
+                writeColumn ( out, statuses );
+                writeColumn ( out, physicianRefs );
+                writeColumn ( out, patientRefs );
+            }
+
+            Files.move ( temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+        } catch (IOException e) {
+            throw new UncheckedIOException ( e );
+        }
+    }
+
+    private static void writeDictionary ( DataOutputStream out, Map<UUID, Integer> dictionary ) throws IOException {
+        out.writeInt ( dictionary.size ( ) );
+
+        for ( UUID id : dictionary.keySet ( ) ) {
+            out.writeLong ( id.getMostSignificantBits ( ) );
+            out.writeLong ( id.getLeastSignificantBits ( ) );
+        }
+    }
+
+    private static void writeColumn ( DataOutputStream out, ByteArrayOutputStream column ) throws IOException {
+        byte[] raw = column.toByteArray ( );
+        byte[] buffer = new byte[Math.max ( 64, raw.length )];
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream ( );
+
+        Deflater deflater = new Deflater ( Deflater.BEST_COMPRESSION );
+        try {
+            deflater.setInput ( raw );
+            deflater.finish ( );
+
+            while (!deflater.finished ( )) {
+                compressed.write ( buffer, 0, deflater.deflate ( buffer ) );
+            }
+        } finally {
+            deflater.end ( );
+        }
+
+        out.writeInt ( raw.length );
+        out.writeInt ( compressed.size ( ) );
+        compressed.writeTo ( out );
+    }
+}
@@ -2,6 +2,7 @@ package medical_clinics.schedule.services;
 
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import medical_clinics.clinic.models.Clinic;
 import medical_clinics.clinic.models.DaysOfWeek;
 import medical_clinics.clinic.models.WorkDay;
@@ -9,61 +10,136 @@ import medical_clinics.physician.model.Physician;
 import medical_clinics.schedule.exceptions.ScheduleConflictException;
 import medical_clinics.schedule.exceptions.ScheduleNotFoundException;
 import medical_clinics.schedule.mapper.DailyScheduleMapper;
+import medical_clinics.schedule.mapper.VirtualTimeSlots;
 import medical_clinics.schedule.models.DailySchedule;
+import medical_clinics.schedule.models.Status;
 import medical_clinics.schedule.models.TimeSlot;
+import medical_clinics.schedule.projections.PrivateTimeSlotRow;
+import medical_clinics.schedule.projections.PublicTimeSlotRow;
+import medical_clinics.schedule.projections.ScheduleDay;
+import medical_clinics.schedule.projections.ScheduleOverviewRow;
+import medical_clinics.schedule.property.TimeSlotProperty;
 import medical_clinics.schedule.repositories.ArchivedSchedulesRepository;
 import medical_clinics.schedule.repositories.DailyScheduleRepository;
 import medical_clinics.web.dto.NewDaySchedule;
+import medical_clinics.web.dto.ScheduleTemplate;
+import medical_clinics.web.dto.events.ScheduleDayChangeEvent;
+import medical_clinics.web.dto.response.ArchivedAppointment;
+import medical_clinics.web.dto.response.schedule_private.ClinicDaySchedule;
 import medical_clinics.web.dto.response.schedule_private.PhysicianDaySchedulePrivate;
+import medical_clinics.web.dto.response.schedule_public.PhysicianDayScheduleCompact;
 import medical_clinics.web.dto.response.schedule_public.PhysicianDaySchedulePublic;
+import medical_clinics.web.dto.response.schedule_public.ScheduleDayOverview;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Collection;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
+@Slf4j
 @Service
 @AllArgsConstructor
 public class DailyScheduleService {
+    private static final int ARCHIVE_CHUNK_SIZE = 100;
+    private static final int DEFAULT_SCHEDULE_WINDOW_DAYS = 31;
+    private static final int MAX_SCHEDULE_DAYS_PAGE = 92;
+    private static final int MAX_OVERVIEW_DAYS = 366;
+    private static final int DEFAULT_HISTORY_WINDOW_DAYS = 365;
+    private static final int MAX_HISTORY_PAGE = 500;
+    private static final UUID FIRST_ARCHIVED_ID = new UUID ( 0, 0 );
+
     private final DailyScheduleRepository dailyScheduleRepository;
-    private final TimeSlotService timeSlotService;
     private final ArchivedSchedulesRepository archivedSchedulesRepository;
+    private final TimeSlotService timeSlotService;
+    private final ScheduleArchiveService scheduleArchiveService;
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+    private final UtilizationRollupService utilizationRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TimeSlotProperty timeSlotProperty;
 
     @Transactional
     public void generateDaySchedule ( Physician physician, NewDaySchedule newDaySchedule ) {
-        if ( !newDaySchedule.getStartTime ( ).isBefore ( newDaySchedule.getEndTime ( ) ) ) {
-            throw new ScheduleConflictException ( "Start time of schedule must be before end time" );
+        generateDaySchedules ( physician, List.of ( newDaySchedule ) );
+    }
+
+    @Transactional
+    public void generateSchedulesFromTemplate ( Physician physician, ScheduleTemplate template ) {
+        generateDaySchedules ( physician, DailyScheduleMapper.mapToNewDaySchedules ( template ) );
+    }
+
+    @Transactional
+    public void generateDaySchedules ( Physician physician, Collection<NewDaySchedule> newDaySchedules ) {
+        if ( newDaySchedules.isEmpty ( ) ) {
+            return;
         }
 
-        Clinic physicianWorkplace = physician.getWorkplace ( );
+        for ( NewDaySchedule newDaySchedule : newDaySchedules ) {
+            if ( !newDaySchedule.getStartTime ( ).isBefore ( newDaySchedule.getEndTime ( ) ) ) {
+                throw new ScheduleConflictException ( "Start time of schedule must be before end time" );
+            }
+        }
 
-        WorkDay workDay = getWorkDayOfClinic (
-                physicianWorkplace,
-                newDaySchedule.getDate ( )
-        );
+        Map<DaysOfWeek, WorkDay> clinicWorkDays = getWorkDaysOfClinic ( physician.getWorkplace ( ) );
 
-        checkScheduleStartTimeIncorrect ( workDay, newDaySchedule.getStartTime ( ) );
-        isScheduleEndTimeIncorrect ( workDay, newDaySchedule.getEndTime ( ) );
+        LocalDate firstDate = LocalDate.MAX;
+        LocalDate lastDate = LocalDate.MIN;
 
-        Optional<DailySchedule> existingDayScheduleOptional = dailyScheduleRepository.findByPhysicianIdAndDate (
-                physician.getId ( ), newDaySchedule.getDate ( )
-        );
+        for ( NewDaySchedule newDaySchedule : newDaySchedules ) {
+            WorkDay workDay = getWorkDay ( clinicWorkDays, newDaySchedule.getDate ( ) );
 
-        if ( existingDayScheduleOptional.isEmpty ( ) ) {
-            createSchedule ( physician, newDaySchedule );
-            return;
+            checkScheduleStartTimeIncorrect ( workDay, newDaySchedule.getStartTime ( ) );
+            isScheduleEndTimeIncorrect ( workDay, newDaySchedule.getEndTime ( ) );
+
+            if ( newDaySchedule.getDate ( ).isBefore ( firstDate ) ) {
+                firstDate = newDaySchedule.getDate ( );
+            }
+            if ( newDaySchedule.getDate ( ).isAfter ( lastDate ) ) {
+                lastDate = newDaySchedule.getDate ( );
+            }
         }
 
-        DailySchedule existingDaySchedule = existingDayScheduleOptional.get ( );
+        Map<LocalDate, DailySchedule> existingSchedules = new HashMap<> ( );
+
+        dailyScheduleRepository.findAllWithTimeSlotsByPhysicianIdAndDateBetween (
+                physician.getId ( ), firstDate, lastDate
+        ).forEach ( schedule -> existingSchedules.put ( schedule.getDate ( ), schedule ) );
+
+        Map<LocalDate, ScheduleCoverage> coverages = new HashMap<> ( );
+        List<TimeSlot> newTimeSlots = new ArrayList<> ( );
+
+        for ( NewDaySchedule newDaySchedule : newDaySchedules ) {
+            LocalDate date = newDaySchedule.getDate ( );
+            DailySchedule existingDaySchedule = existingSchedules.get ( date );
+
+            if ( existingDaySchedule == null ) {
+                DailySchedule schedule = createSchedule ( physician, newDaySchedule );
+
+                existingSchedules.put ( date, schedule );
+                utilizationRollupService.recordGenerated ( physician, date, schedule.getFreeSlots ( ) );
+                publishDayChange ( physician.getId ( ), date );
+                continue;
+            }
+
+            ScheduleCoverage coverage = coverages.computeIfAbsent (
+                    date, day -> ScheduleCoverage.of ( existingDaySchedule )
+            );
+
+            List<TimeSlot> mergedTimeSlots = mergeSchedule ( existingDaySchedule, coverage, newDaySchedule );
 
-        if ( checkIsForUpdate ( existingDaySchedule, newDaySchedule ) ) {
-            updateSchedule ( existingDaySchedule, newDaySchedule );
+            if ( !mergedTimeSlots.isEmpty ( ) ) {
+                newTimeSlots.addAll ( mergedTimeSlots );
+                utilizationRollupService.recordGenerated ( physician, date, mergedTimeSlots.size ( ) );
+                publishDayChange ( physician.getId ( ), date );
+            }
         }
+
+        timeSlotService.saveTimeSlots ( newTimeSlots );
     }
 
     @Transactional
@@ -77,53 +153,170 @@ public class DailyScheduleService {
                     localDate.format ( DateTimeFormatter.ofPattern ( "dd MM yyyy" ) ), physicianId ) );
         }
 
-        schedule.get ( ).getTimeSlots ( ).forEach ( t -> timeSlotService.inactivate ( t.getId ( ) ) );
+        timeSlotService.inactivateAll ( schedule.get ( ) );
     }
 
-    public List<PhysicianDaySchedulePublic> getPublicPhysicianSchedules ( UUID physicianId ) {
-        List<DailySchedule> dailySchedules = dailyScheduleRepository.findAllByPhysicianIdOrderByDateAsc ( physicianId );
-        return dailySchedules.stream ( ).map ( DailyScheduleMapper::mapToPublicResponse ).toList ( );
+    public List<PhysicianDaySchedulePublic> getPublicPhysicianSchedules (
+            UUID physicianId, LocalDate from, LocalDate to, Integer limit ) {
+
+        LocalDate windowStart = resolveWindowStart ( from );
+
+        List<ScheduleDay> scheduleDays = dailyScheduleRepository.findScheduleDaysOfPhysician (
+                physicianId, windowStart, resolveWindowEnd ( windowStart, to ), resolveDaysLimit ( limit )
+        );
+
+        List<PublicTimeSlotRow> rows = timeSlotService.getPublicTimeSlotRows ( getScheduleIds ( scheduleDays ) );
+
+        return DailyScheduleMapper.mapToPublicResponses ( scheduleDays, rows );
     }
 
-    public List<PhysicianDaySchedulePrivate> getPrivatePhysicianSchedules ( UUID physicianId ) {
-        List<DailySchedule> dailySchedules =
-                dailyScheduleRepository.findAllByPhysician_UserAccount_IdOrderByDateAsc ( physicianId );
+    public List<PhysicianDayScheduleCompact> getCompactPhysicianSchedules (
+            UUID physicianId, LocalDate from, LocalDate to, Integer limit ) {
 
-        return dailySchedules.stream ( ).map ( DailyScheduleMapper::mapToPrivateResponse ).toList ( );
+        LocalDate windowStart = resolveWindowStart ( from );
+
+        List<ScheduleDay> scheduleDays = dailyScheduleRepository.findScheduleDaysOfPhysician (
+                physicianId, windowStart, resolveWindowEnd ( windowStart, to ), resolveDaysLimit ( limit )
+        );
+
+        List<PublicTimeSlotRow> rows = timeSlotService.getPublicTimeSlotRows ( getScheduleIds ( scheduleDays ) );
+
+        return DailyScheduleMapper.mapToCompactResponses ( scheduleDays, rows );
     }
 
-    public void deletePhysicianFutureSchedules ( Physician physician ) {
-        List<DailySchedule> schedules = dailyScheduleRepository.findAllByPhysician_IdAndDateAfter (
-                physician.getId ( ), LocalDate.now ( )
+    public List<ScheduleDayOverview> getScheduleOverview ( UUID physicianId, LocalDate from, LocalDate to ) {
+        LocalDate windowStart = resolveWindowStart ( from );
+        LocalDate windowEnd = to != null ? to : windowStart.plusDays ( MAX_SCHEDULE_DAYS_PAGE - 1 );
+
+        List<ScheduleOverviewRow> rows = dailyScheduleRepository.findOverviewOfPhysician (
+                physicianId, windowStart, windowEnd, Limit.of ( MAX_OVERVIEW_DAYS )
         );
 
-        for ( DailySchedule schedule : schedules ) {
-            schedule.getTimeSlots ( ).forEach ( timeSlot -> {
-                archivedSchedulesRepository.save ( DailyScheduleMapper.mapToArchive ( timeSlot ) );
-                timeSlotService.delete ( timeSlot );
-            } );
-            dailyScheduleRepository.delete ( schedule );
-        }
+        LocalDate today = LocalDate.now ( );
+        LocalTime now = LocalTime.now ( );
+
+        return rows.stream ( )
+                .map ( row -> DailyScheduleMapper.mapToScheduleDayOverview ( row,
+                        row.getDate ( ).equals ( today ) ? countStartedFreeSlots ( row, now ) : 0
+                ) )
+                .toList ( );
+    }
+
+    public List<LocalDate> getDaysWithFreeSlots ( UUID physicianId, LocalDate from, LocalDate to ) {
+        return slotAvailabilityIndex.getDaysWithFreeSlots ( physicianId, from, to );
+    }
+
+    public List<PhysicianDaySchedulePrivate> getPrivatePhysicianSchedules (
+            UUID physicianId, LocalDate from, LocalDate to, Integer limit ) {
+
+        LocalDate windowStart = resolveWindowStart ( from );
+
+        List<ScheduleDay> scheduleDays = dailyScheduleRepository.findScheduleDaysOfPhysicianAccount (
+                physicianId, windowStart, resolveWindowEnd ( windowStart, to ), resolveDaysLimit ( limit )
+        );
+
+        List<PrivateTimeSlotRow> rows = timeSlotService.getPrivateTimeSlotRows ( getScheduleIds ( scheduleDays ) );
+
+        return DailyScheduleMapper.mapToPrivateResponses ( scheduleDays, rows );
+    }
+
+    public ClinicDaySchedule getClinicDaySchedule ( UUID clinicId, LocalDate date ) {
+        return DailyScheduleMapper.mapToClinicDaySchedule (
+                clinicId, date, dailyScheduleRepository.findClinicDayRows ( clinicId, date )
+        );
+    }
+
+    public List<ArchivedAppointment> getPatientHistory (
+            UUID patientId, LocalDate from, LocalDate to, Integer limit,
+            LocalDate afterDate, LocalTime afterTime, UUID afterId ) {
+
+        LocalDate windowEnd = resolveHistoryEnd ( to );
+        LocalDate windowStart = resolveHistoryStart ( from, windowEnd );
+        boolean firstPage = afterDate == null || afterTime == null || afterId == null;
+
+        return archivedSchedulesRepository.findHistoryOfPatient (
+                        patientId, windowStart, windowEnd,
+                        firstPage ? windowStart.minusDays ( 1 ) : afterDate,
+                        firstPage ? LocalTime.MIN : afterTime,
+                        firstPage ? FIRST_ARCHIVED_ID : afterId,
+                        resolveHistoryLimit ( limit )
+                ).stream ( )
+                .map ( DailyScheduleMapper::mapToArchivedAppointment )
+                .toList ( );
+    }
+
+    public List<ArchivedAppointment> getPhysicianHistory (
+            UUID physicianId, LocalDate from, LocalDate to, Integer limit,
+            LocalDate afterDate, LocalTime afterTime, UUID afterId ) {
+
+        LocalDate windowEnd = resolveHistoryEnd ( to );
+        LocalDate windowStart = resolveHistoryStart ( from, windowEnd );
+        boolean firstPage = afterDate == null || afterTime == null || afterId == null;
+
+        return archivedSchedulesRepository.findHistoryOfPhysician (
+                        physicianId, windowStart, windowEnd,
+                        firstPage ? windowStart.minusDays ( 1 ) : afterDate,
+                        firstPage ? LocalTime.MIN : afterTime,
+                        firstPage ? FIRST_ARCHIVED_ID : afterId,
+                        resolveHistoryLimit ( limit )
+                ).stream ( )
+                .map ( DailyScheduleMapper::mapToArchivedAppointment )
+                .toList ( );
+    }
+
+    public void deletePhysicianFutureSchedules ( Physician physician ) {
+        LocalDate today = LocalDate.now ( );
+        int totalDeleted = 0;
+        int deleted;
+
+        do {
+            deleted = scheduleArchiveService.archiveFutureChunkOfPhysician (
+                    physician.getId ( ), today, ARCHIVE_CHUNK_SIZE
+            );
+            totalDeleted += deleted;
+        } while (deleted > 0);
+
+        log.info ( "Deleted {} future schedules of physician [{}]", totalDeleted, physician.getId ( ) );
+
+        utilizationRollupService.removeFutureOfPhysician ( physician.getId ( ), today );
     }
 
     @Scheduled(cron = "0 00 00 * * *")
-    @Transactional
     void archiveSchedules () {
-        List<DailySchedule> dailySchedules = dailyScheduleRepository.findAllByDateBefore ( LocalDate.now ( ) );
+        LocalDate today = LocalDate.now ( );
+        PageRequest chunk = PageRequest.of ( 0, ARCHIVE_CHUNK_SIZE );
 
-        for ( DailySchedule dailySchedule : dailySchedules ) {
-            dailySchedule.getTimeSlots ( ).forEach ( timeSlot -> {
-                archivedSchedulesRepository.save ( DailyScheduleMapper.mapToArchive ( timeSlot ) );
-                timeSlotService.delete ( timeSlot );
-            } );
-            dailyScheduleRepository.delete ( dailySchedule );
+        List<UUID> scheduleIds = dailyScheduleRepository.findIdsByDateBefore ( today, chunk );
+        int totalArchived = 0;
+
+        while (!scheduleIds.isEmpty ( )) {
+            int archived = scheduleArchiveService.archiveInNewTransaction ( scheduleIds );
+            totalArchived += archived;
+
+            log.info ( "Archived {} time slots of {} schedules", archived, scheduleIds.size ( ) );
+
+            scheduleIds = dailyScheduleRepository.findIdsByDateBefore ( today, chunk );
         }
+
+        log.info ( "Schedules archiving before [{}] finished, {} time slots archived", today, totalArchived );
+
+        utilizationRollupService.closeDaysBefore ( today );
     }
 
-    private void createSchedule ( Physician physician, NewDaySchedule newDaySchedule ) {
+    private DailySchedule createSchedule ( Physician physician, NewDaySchedule newDaySchedule ) {
         DailySchedule dailySchedule = DailyScheduleMapper.mapToDailySchedule ( newDaySchedule );
 
         dailySchedule.setPhysician ( physician );
+        dailySchedule.setTimeSlotInterval ( newDaySchedule.getTimeSlotInterval ( ) );
+        dailySchedule.setFreeSlots ( VirtualTimeSlots.startTimes ( dailySchedule ).size ( ) );
+
+        if ( timeSlotProperty.isLazy ( ) ) {
+            dailySchedule.setVirtualSlots ( true );
+            dailySchedule.setSlotSeed ( ThreadLocalRandom.current ( ).nextLong ( ) );
+            dailySchedule.setTimeSlots ( new ArrayList<> ( ) );
+
+            return dailyScheduleRepository.save ( dailySchedule );
+        }
 
         DailySchedule schedule = dailyScheduleRepository.save ( dailySchedule );
 
@@ -135,86 +328,113 @@ public class DailyScheduleService {
         );
 
         schedule.setTimeSlots ( timeSlots );
+
+        return schedule;
     }
 
-    private boolean checkIsForUpdate ( DailySchedule existingDaySchedule, NewDaySchedule newDaySchedule ) {
-        LocalTime existingScheduleStartTime = existingDaySchedule.getStartTime ( );
-        LocalTime existingScheduleEndTime = existingDaySchedule.getEndTime ( );
-        LocalTime newScheduleStartTime = newDaySchedule.getStartTime ( );
-        LocalTime newScheduleEndTime = newDaySchedule.getEndTime ( );
+    private List<TimeSlot> mergeSchedule (
+            DailySchedule dailySchedule, ScheduleCoverage coverage, NewDaySchedule newDaySchedule ) {
 
-        boolean isMatchExistingSchedule = existingScheduleStartTime.equals ( newScheduleStartTime ) &&
-                existingScheduleEndTime.equals ( newScheduleEndTime );
+        int interval = newDaySchedule.getTimeSlotInterval ( );
 
-        boolean isInExistingSchedule = existingScheduleStartTime.isBefore ( newScheduleStartTime ) &&
-                existingScheduleEndTime.isAfter ( newScheduleEndTime );
+        List<LocalTime> startTimes = coverage.fill (
+                newDaySchedule.getStartTime ( ), newDaySchedule.getEndTime ( ), interval
+        );
 
-        return !isMatchExistingSchedule && !isInExistingSchedule;
-    }
+        if ( startTimes.isEmpty ( ) ) {
+            return List.of ( );
+        }
 
-    private void updateSchedule ( DailySchedule dailySchedule, NewDaySchedule newDaySchedule ) {
-        int interval = newDaySchedule.getTimeSlotInterval ( );
+        timeSlotService.materializeTimeSlots ( dailySchedule );
 
-        LocalTime existingScheduleStartTime = dailySchedule.getStartTime ( );
-        LocalTime existingScheduleEndTime = dailySchedule.getEndTime ( );
+        if ( newDaySchedule.getStartTime ( ).isBefore ( dailySchedule.getStartTime ( ) ) ) {
+            dailySchedule.setStartTime ( newDaySchedule.getStartTime ( ) );
+        }
 
-        LocalTime newScheduleStartTime = newDaySchedule.getStartTime ( );
-        LocalTime newScheduleEndTime = newDaySchedule.getEndTime ( );
+        if ( newDaySchedule.getEndTime ( ).isAfter ( dailySchedule.getEndTime ( ) ) ) {
+            dailySchedule.setEndTime ( newDaySchedule.getEndTime ( ) );
+        }
 
-        boolean isAfterExistingSchedule = !existingScheduleEndTime.isAfter ( newScheduleStartTime );
-        boolean isBeforeExistingSchedule = !existingScheduleStartTime.isBefore ( newScheduleEndTime );
+        return startTimes.stream ( )
+                .map ( startTime -> TimeSlot.builder ( )
+                        .startTime ( startTime )
+                        .durationInMinutes ( interval )
+                        .status ( Status.FREE )
+                        .dailySchedule ( dailySchedule )
+                        .build ( )
+                ).toList ( );
+    }
 
-        boolean isStartInBetweenExistingSchedule = !existingScheduleStartTime.isAfter ( newScheduleStartTime ) &&
-                existingScheduleEndTime.isAfter ( newScheduleStartTime );
+    private int countStartedFreeSlots ( ScheduleOverviewRow row, LocalTime now ) {
+        if ( !row.isVirtualSlots ( ) ) {
+            return 0;
+        }
 
-        boolean isEndInBetweenExistingSchedule = existingScheduleStartTime.isBefore ( newScheduleEndTime ) &&
-                !existingScheduleEndTime.isBefore ( newScheduleEndTime );
+        long startedGridSlots = VirtualTimeSlots.startTimes (
+                row.getStartTime ( ), row.getEndTime ( ), row.getTimeSlotInterval ( )
+        ).stream ( ).filter ( startTime -> startTime.isBefore ( now ) ).count ( );
 
-        boolean isNewScheduleLarger = existingScheduleStartTime.isAfter ( newScheduleStartTime ) &&
-                existingScheduleEndTime.isBefore ( newScheduleEndTime );
+        return (int) ( startedGridSlots - timeSlotService.countStoredSlotsStartedBefore ( row.getScheduleId ( ), now ) );
+    }
 
-        if ( isAfterExistingSchedule ) {
-            dailySchedule.setEndTime ( newScheduleEndTime );
+    private List<UUID> getScheduleIds ( List<ScheduleDay> scheduleDays ) {
+        return scheduleDays.stream ( ).map ( ScheduleDay::getScheduleId ).toList ( );
+    }
 
-            timeSlotService.generateTimeSlots ( newScheduleStartTime, newScheduleEndTime, interval, dailySchedule );
-        }
+    private LocalDate resolveWindowStart ( LocalDate from ) {
+        return from != null ? from : LocalDate.now ( );
+    }
 
-        if ( isBeforeExistingSchedule ) {
-            dailySchedule.setStartTime ( newScheduleStartTime );
-            timeSlotService.generateTimeSlots ( newScheduleStartTime, newScheduleEndTime, interval, dailySchedule );
-        }
+    private LocalDate resolveWindowEnd ( LocalDate windowStart, LocalDate to ) {
+        return to != null ? to : windowStart.plusDays ( DEFAULT_SCHEDULE_WINDOW_DAYS - 1 );
+    }
 
-        if ( isStartInBetweenExistingSchedule || isNewScheduleLarger ) {
-            dailySchedule.setEndTime ( newScheduleEndTime );
-            timeSlotService.generateTimeSlots ( existingScheduleEndTime, newScheduleEndTime, interval, dailySchedule );
+    private Limit resolveDaysLimit ( Integer limit ) {
+        if ( limit == null ) {
+            return Limit.of ( MAX_SCHEDULE_DAYS_PAGE );
         }
+        return Limit.of ( Math.clamp ( limit, 1, MAX_SCHEDULE_DAYS_PAGE ) );
+    }
 
-        if ( isEndInBetweenExistingSchedule || isNewScheduleLarger ) {
-            dailySchedule.setStartTime ( newScheduleStartTime );
-            timeSlotService.generateTimeSlots ( newScheduleStartTime, existingScheduleStartTime, interval, dailySchedule );
-        }
+    private LocalDate resolveHistoryEnd ( LocalDate to ) {
+        return to != null ? to : LocalDate.now ( ).minusDays ( 1 );
     }
 
-    private WorkDay getWorkDayOfClinic ( Clinic clinic, LocalDate scheduleDate ) {
-        String day = scheduleDate.getDayOfWeek ( ).name ( ).toUpperCase ( );
-        DaysOfWeek dayOfWeek = DaysOfWeek.valueOf ( day );
+    private LocalDate resolveHistoryStart ( LocalDate from, LocalDate windowEnd ) {
+        return from != null ? from : windowEnd.minusDays ( DEFAULT_HISTORY_WINDOW_DAYS - 1 );
+    }
 
-        Collection<WorkDay> clinicWorkdays = clinic.getWorkingDays ( );
+    private Limit resolveHistoryLimit ( Integer limit ) {
+        if ( limit == null ) {
+            return Limit.of ( MAX_HISTORY_PAGE );
+        }
+        return Limit.of ( Math.clamp ( limit, 1, MAX_HISTORY_PAGE ) );
+    }
 
-        Optional<WorkDay> workDayOptional = Optional.empty ( );
+    private void publishDayChange ( UUID physicianId, LocalDate date ) {
+        eventPublisher.publishEvent ( new ScheduleDayChangeEvent ( physicianId, date ) );
+    }
 
-        for ( WorkDay workDay : clinicWorkdays ) {
-            if ( workDay.getDayOfWeek ( ).equals ( dayOfWeek ) ) {
-                workDayOptional = Optional.of ( workDay );
-                break;
-            }
+    private Map<DaysOfWeek, WorkDay> getWorkDaysOfClinic ( Clinic clinic ) {
+        Map<DaysOfWeek, WorkDay> workDays = new EnumMap<> ( DaysOfWeek.class );
+
+        for ( WorkDay workDay : clinic.getWorkingDays ( ) ) {
+            workDays.put ( workDay.getDayOfWeek ( ), workDay );
         }
 
-        if ( workDayOptional.isEmpty ( ) ) {
+        return workDays;
+    }
+
+    private WorkDay getWorkDay ( Map<DaysOfWeek, WorkDay> clinicWorkDays, LocalDate scheduleDate ) {
+        String day = scheduleDate.getDayOfWeek ( ).name ( ).toUpperCase ( );
+
+        WorkDay workDay = clinicWorkDays.get ( DaysOfWeek.valueOf ( day ) );
+
+        if ( workDay == null ) {
             throw new ScheduleConflictException ( "Schedule day dose not match work day of the Clinic" );
         }
 
-        return workDayOptional.get ( );
+        return workDay;
     }
 
     private void checkScheduleStartTimeIncorrect ( WorkDay workDay, LocalTime scheduleStartTime ) {
@@ -0,0 +1,128 @@
+package medical_clinics.schedule.services;
+
+import jakarta.transaction.Transactional;
+import lombok.AllArgsConstructor;
+import medical_clinics.schedule.mapper.DailyScheduleMapper;
+import medical_clinics.schedule.mapper.VirtualTimeSlots;
+import medical_clinics.schedule.models.DailySchedule;
+import medical_clinics.schedule.models.Status;
+import medical_clinics.schedule.models.TimeSlot;
+import medical_clinics.schedule.projections.ScheduleDay;
+import medical_clinics.schedule.repositories.ArchivedSchedulesRepository;
+import medical_clinics.schedule.repositories.DailyScheduleRepository;
+import medical_clinics.schedule.repositories.TimeSlotRepository;
+import medical_clinics.web.dto.events.ScheduleDayChangeEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+@Service
+@AllArgsConstructor
+public class ScheduleArchiveService {
+    // Grid rows of seeded days are sent as one JDBC batch per chunk instead of a statement per slot
+    private static final String INSERT_ARCHIVED_TIME_SLOT = """
+            insert into archived_schedules
+            (id, date, physician_id, status, patient_id, start_time, duration_in_minutes)
+            values (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final ArchivedSchedulesRepository archivedSchedulesRepository;
+    private final TimeSlotRepository timeSlotRepository;
+    private final DailyScheduleRepository dailyScheduleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+
+    // Nightly archiving commits chunk by chunk; callers with their own transaction use archive directly
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public int archiveInNewTransaction ( Collection<UUID> scheduleIds ) {
+        return archive ( scheduleIds );
+    }
+
+    // The chunk is selected inside its own transaction and its day changes are published there,
+    // so listeners see them as soon as this chunk commits
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public int archiveFutureChunkOfPhysician ( UUID physicianId, LocalDate after, int chunkSize ) {
+        List<ScheduleDay> days = dailyScheduleRepository.findScheduleDaysOfPhysicianAfter (
+                physicianId, after, PageRequest.of ( 0, chunkSize )
+        );
+
+        if ( days.isEmpty ( ) ) {
+            return 0;
+        }
+
+        archive ( days.stream ( ).map ( ScheduleDay::getScheduleId ).toList ( ) );
+
+        days.forEach ( day ->
+                eventPublisher.publishEvent ( new ScheduleDayChangeEvent ( physicianId, day.getDate ( ) ) )
+        );
+
+        return days.size ( );
+    }
+
+    @Transactional
+    public int archive ( Collection<UUID> scheduleIds ) {
+        int archived = archivedSchedulesRepository.archiveTimeSlotsOfSchedules ( scheduleIds );
+
+        List<Object[]> seededRows = new ArrayList<> ( );
+
+        for ( DailySchedule schedule : dailyScheduleRepository.findAllSeededWithTimeSlotsByIdIn ( scheduleIds ) ) {
+            addSeededRows ( schedule, seededRows );
+        }
+
+        if ( !seededRows.isEmpty ( ) ) {
+            jdbcTemplate.batchUpdate ( INSERT_ARCHIVED_TIME_SLOT, seededRows );
+            archived += seededRows.size ( );
+        }
+
+        timeSlotRepository.deleteAllByDailyScheduleIds ( scheduleIds );
+        dailyScheduleRepository.deleteAllByIdInBatch ( scheduleIds );
+
+        return archived;
+    }
+
+    // Seeded days keep their public slot ids and the grid slots that were never stored
+    private void addSeededRows ( DailySchedule schedule, List<Object[]> rows ) {
+        Map<LocalTime, TimeSlot> stored = new HashMap<> ( );
+        schedule.getTimeSlots ( ).forEach ( timeSlot -> stored.put ( timeSlot.getStartTime ( ), timeSlot ) );
+
+        SortedSet<LocalTime> startTimes = new TreeSet<> ( VirtualTimeSlots.startTimes ( schedule ) );
+        startTimes.addAll ( stored.keySet ( ) );
+
+        for ( LocalTime startTime : startTimes ) {
+            TimeSlot timeSlot = stored.get ( startTime );
+            Status status = timeSlot != null
+                    ? timeSlot.getStatus ( )
+                    : DailyScheduleMapper.mapToVirtualStatus ( schedule.getDate ( ), startTime );
+            UUID patientId = timeSlot != null && timeSlot.getPatient ( ) != null
+                    ? timeSlot.getPatient ( ).getId ( )
+                    : null;
+
+            rows.add ( new Object[]{
+                    toBytes ( VirtualTimeSlots.timeSlotId ( schedule.getSlotSeed ( ), startTime ) ),
+                    schedule.getDate ( ),
+                    toBytes ( schedule.getPhysician ( ).getId ( ) ),
+                    status.name ( ),
+                    toBytes ( patientId ),
+                    startTime,
+                    timeSlot != null ? timeSlot.getDurationInMinutes ( ) : schedule.getTimeSlotInterval ( )
+            } );
+        }
+    }
+
+    private static byte[] toBytes ( UUID uuid ) {
+        if ( uuid == null ) {
+            return null;
+        }
+
+        return ByteBuffer.allocate ( 16 )
+                .putLong ( uuid.getMostSignificantBits ( ) )
+                .putLong ( uuid.getLeastSignificantBits ( ) )
+                .array ( );
+    }
+}
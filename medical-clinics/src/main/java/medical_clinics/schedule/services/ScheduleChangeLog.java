@@ -0,0 +1,160 @@
+package medical_clinics.schedule.services;
+
+import lombok.extern.slf4j.Slf4j;
+import medical_clinics.schedule.models.ScheduleChangeType;
+import medical_clinics.web.dto.events.PassedTimeSlotsEvent;
+import medical_clinics.web.dto.events.ScheduleDayChangeEvent;
+import medical_clinics.web.dto.events.TimeSlotStatusChangeEvent;
+import medical_clinics.web.dto.response.PassedTimeSlotsDelta;
+import medical_clinics.web.dto.response.ScheduleChange;
+import medical_clinics.web.dto.response.ScheduleChanges;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+// Changes are kept in memory of one node; a cursor of another node or of a previous run always resyncs
+@Slf4j
+@Service
+public class ScheduleChangeLog {
+    static final int MAX_CHANGES_PER_PHYSICIAN = 1000;
+    static final long RETENTION_MILLIS = TimeUnit.HOURS.toMillis ( 24 );
+
+    private final String epoch = UUID.randomUUID ( ).toString ( );
+    private final long baseline = System.currentTimeMillis ( ) * 1000;
+    private final Map<UUID, PhysicianChanges> changesByPhysician = new HashMap<> ( );
+
+    private long sequence = baseline;
+    private long prunedThrough = baseline;
+    private long passedSequence = baseline;
+    private PassedTimeSlotsDelta passed;
+
+    public synchronized ScheduleChanges getChangesSince ( UUID physicianId, String sinceEpoch, Long since ) {
+        PhysicianChanges physicianChanges = changesByPhysician.get ( physicianId );
+
+        if ( since == null || !epoch.equals ( sinceEpoch ) || since < prunedThrough || since > sequence
+                || ( physicianChanges != null && since < physicianChanges.evictedThrough ) ) {
+
+            return ScheduleChanges.builder ( )
+                    .resync ( true )
+                    .epoch ( epoch )
+                    .sequence ( sequence )
+                    .changes ( List.of ( ) )
+                    .build ( );
+        }
+
+        return ScheduleChanges.builder ( )
+                .epoch ( epoch )
+                .sequence ( sequence )
+                .changes ( physicianChanges != null ? physicianChanges.after ( since ) : List.of ( ) )
+                .passed ( passedSequence > since ? passed : null )
+                .build ( );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onTimeSlotStatusChange ( TimeSlotStatusChangeEvent event ) {
+        record ( event.getPhysicianId ( ), ScheduleChange.builder ( )
+                .type ( ScheduleChangeType.SLOT )
+                .date ( event.getDate ( ) )
+                .timeslotId ( event.getTimeSlotId ( ) )
+                .startTime ( event.getStartTime ( ) )
+                .status ( event.getStatus ( ) )
+        );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onScheduleDayChange ( ScheduleDayChangeEvent event ) {
+        record ( event.getPhysicianId ( ), ScheduleChange.builder ( )
+                .type ( ScheduleChangeType.DAY )
+                .date ( event.getDate ( ) )
+        );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    synchronized void onPassedTimeSlots ( PassedTimeSlotsEvent event ) {
+        passedSequence = ++sequence;
+        passed = new PassedTimeSlotsDelta ( event.getDate ( ), event.getStartedBefore ( ) );
+    }
+
+    @Scheduled(fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    synchronized void pruneExpiredChanges () {
+        long expiredBefore = System.currentTimeMillis ( ) - RETENTION_MILLIS;
+        int pruned = 0;
+
+        Iterator<PhysicianChanges> iterator = changesByPhysician.values ( ).iterator ( );
+
+        while (iterator.hasNext ( )) {
+            PhysicianChanges physicianChanges = iterator.next ( );
+
+            while (!physicianChanges.entries.isEmpty ( )
+                    && physicianChanges.entries.peekFirst ( ).recordedAt < expiredBefore) {
+
+                prunedThrough = Math.max ( prunedThrough, physicianChanges.removeFirst ( ) );
+                pruned++;
+            }
+
+            if ( physicianChanges.entries.isEmpty ( ) ) {
+                iterator.remove ( );
+            }
+        }
+
+        if ( pruned > 0 ) {
+            log.debug ( "Pruned {} schedule changes older than {} ms", pruned, RETENTION_MILLIS );
+        }
+    }
+
+    private synchronized void record ( UUID physicianId, ScheduleChange.ScheduleChangeBuilder change ) {
+        if ( physicianId == null ) {
+            return;
+        }
+
+        PhysicianChanges physicianChanges = changesByPhysician.computeIfAbsent (
+                physicianId, id -> new PhysicianChanges ( )
+        );
+
+        physicianChanges.entries.addLast ( new Entry (
+                change.sequence ( ++sequence ).build ( ), System.currentTimeMillis ( )
+        ) );
+
+        if ( physicianChanges.entries.size ( ) > MAX_CHANGES_PER_PHYSICIAN ) {
+            physicianChanges.removeFirst ( );
+        }
+    }
+
+    private static class PhysicianChanges {
+        private final Deque<Entry> entries = new ArrayDeque<> ( );
+        private long evictedThrough;
+
+        private long removeFirst () {
+            evictedThrough = entries.removeFirst ( ).change.getSequence ( );
+            return evictedThrough;
+        }
+
+        private List<ScheduleChange> after ( long since ) {
+            LinkedList<ScheduleChange> changes = new LinkedList<> ( );
+            Iterator<Entry> iterator = entries.descendingIterator ( );
+
+            while (iterator.hasNext ( )) {
+                ScheduleChange change = iterator.next ( ).change;
+
+                if ( change.getSequence ( ) <= since ) {
+                    break;
+                }
+                changes.addFirst ( change );
+            }
+            return changes;
+        }
+    }
+
+    private static class Entry {
+        private final ScheduleChange change;
+        private final long recordedAt;
+
+        private Entry ( ScheduleChange change, long recordedAt ) {
+            this.change = change;
+            this.recordedAt = recordedAt;
+        }
+    }
+}
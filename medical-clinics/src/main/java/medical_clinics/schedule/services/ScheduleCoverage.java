@@ -0,0 +1,101 @@
+package medical_clinics.schedule.services;
+
+import medical_clinics.schedule.mapper.VirtualTimeSlots;
+import medical_clinics.schedule.models.DailySchedule;
+import medical_clinics.schedule.models.TimeSlot;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+class ScheduleCoverage {
+    private final NavigableMap<Integer, Integer> intervals = new TreeMap<> ( );
+
+    static ScheduleCoverage of ( DailySchedule schedule ) {
+        ScheduleCoverage coverage = new ScheduleCoverage ( );
+
+        for ( TimeSlot timeSlot : schedule.getTimeSlots ( ) ) {
+            coverage.add ( timeSlot.getStartTime ( ), timeSlot.getDurationInMinutes ( ) );
+        }
+
+        if ( schedule.isVirtualSlots ( ) ) {
+            for ( LocalTime startTime : VirtualTimeSlots.startTimes ( schedule ) ) {
+                coverage.add ( startTime, schedule.getTimeSlotInterval ( ) );
+            }
+        }
+
+        return coverage;
+    }
+
+    void add ( LocalTime startTime, int durationInMinutes ) {
+        int start = startTime.toSecondOfDay ( );
+        add ( start, start + durationInMinutes * 60 );
+    }
+
+    List<LocalTime> fill ( LocalTime from, LocalTime to, int intervalMinutes ) {
+        int rangeStart = from.toSecondOfDay ( );
+        int rangeEnd = to.toSecondOfDay ( );
+        int length = intervalMinutes * 60;
+
+        List<LocalTime> startTimes = new ArrayList<> ( );
+
+        Map.Entry<Integer, Integer> floor = intervals.floorEntry ( rangeStart );
+        int gapStart = floor != null ? Math.max ( rangeStart, floor.getValue ( ) ) : rangeStart;
+
+        NavigableMap<Integer, Integer> inRange = intervals.subMap ( rangeStart, false, rangeEnd, false );
+
+        for ( Map.Entry<Integer, Integer> interval : inRange.entrySet ( ) ) {
+            addGridStartTimes ( startTimes, rangeStart, gapStart, interval.getKey ( ), length );
+            gapStart = Math.max ( gapStart, interval.getValue ( ) );
+        }
+
+        addGridStartTimes ( startTimes, rangeStart, gapStart, rangeEnd, length );
+
+        startTimes.forEach ( startTime -> add ( startTime, intervalMinutes ) );
+
+        return startTimes;
+    }
+
+    boolean overlaps ( LocalTime startTime, int durationInMinutes ) {
+        int start = startTime.toSecondOfDay ( );
+        Map.Entry<Integer, Integer> floor = intervals.lowerEntry ( start + durationInMinutes * 60 );
+
+        return floor != null && floor.getValue ( ) > start;
+    }
+
+    int intervalCount () {
+        return intervals.size ( );
+    }
+
+    private void add ( int start, int end ) {
+        Map.Entry<Integer, Integer> floor = intervals.floorEntry ( start );
+
+        if ( floor != null && floor.getValue ( ) >= start ) {
+            start = floor.getKey ( );
+            end = Math.max ( end, floor.getValue ( ) );
+        }
+
+        Map.Entry<Integer, Integer> next = intervals.ceilingEntry ( start );
+
+        while (next != null && next.getKey ( ) <= end) {
+            end = Math.max ( end, next.getValue ( ) );
+            intervals.remove ( next.getKey ( ) );
+            next = intervals.ceilingEntry ( start );
+        }
+
+        intervals.put ( start, end );
+    }
+
+    private static void addGridStartTimes (
+            List<LocalTime> startTimes, int anchor, int gapStart, int gapEnd, int length ) {
+
+        int first = anchor + Math.ceilDiv ( gapStart - anchor, length ) * length;
+
+        for ( int start = first; start + length <= gapEnd; start += length ) {
+            startTimes.add ( LocalTime.ofSecondOfDay ( start ) );
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package medical_clinics.schedule.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import medical_clinics.schedule.mapper.VirtualTimeSlots;
+import medical_clinics.schedule.models.Status;
+import medical_clinics.schedule.projections.FreeTimeSlotStart;
+import medical_clinics.schedule.projections.PublicTimeSlotRow;
+import medical_clinics.schedule.projections.SeededScheduleRow;
+import medical_clinics.schedule.repositories.DailyScheduleRepository;
+import medical_clinics.schedule.repositories.TimeSlotRepository;
+import medical_clinics.web.dto.events.PassedTimeSlotsEvent;
+import medical_clinics.web.dto.events.ScheduleDayChangeEvent;
+import medical_clinics.web.dto.events.TimeSlotStatusChangeEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SlotAvailabilityIndex {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final TimeSlotRepository timeSlotRepository;
+    private final DailyScheduleRepository dailyScheduleRepository;
+
+    private final Map<UUID, ConcurrentNavigableMap<LocalDate, BitSet>> freeSlotsByPhysician = new ConcurrentHashMap<> ( );
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild () {
+        freeSlotsByPhysician.clear ( );
+
+        LocalDate today = LocalDate.now ( );
+
+        List<SeededScheduleRow> virtualSchedules = dailyScheduleRepository.findVirtualSchedulesFrom ( today );
+        Map<UUID, List<PublicTimeSlotRow>> storedRows = new HashMap<> ( );
+
+        timeSlotRepository.findRowsOfVirtualSchedulesFrom ( today ).forEach ( row -> storedRows
+                .computeIfAbsent ( row.getScheduleId ( ), id -> new ArrayList<> ( ) )
+                .add ( row )
+        );
+
+        for ( SeededScheduleRow schedule : virtualSchedules ) {
+            BitSet freeSlots = virtualFreeSlots (
+                    schedule, storedRows.getOrDefault ( schedule.getScheduleId ( ), List.of ( ) )
+            );
+
+            if ( !freeSlots.isEmpty ( ) ) {
+                putDay ( schedule.getPhysicianId ( ), schedule.getDate ( ), freeSlots );
+            }
+        }
+
+        List<FreeTimeSlotStart> freeTimeSlots = timeSlotRepository.findFreeTimeSlotStartsFrom ( today );
+
+        for ( FreeTimeSlotStart timeSlot : freeTimeSlots ) {
+            markFree ( timeSlot.getPhysicianId ( ), timeSlot.getDate ( ), timeSlot.getStartTime ( ) );
+        }
+
+        log.info ( "Slot availability index built from {} free time slots and {} virtual schedules",
+                freeTimeSlots.size ( ), virtualSchedules.size ( ) );
+    }
+
+    public List<LocalDate> getDaysWithFreeSlots ( UUID physicianId, LocalDate from, LocalDate to ) {
+        ConcurrentNavigableMap<LocalDate, BitSet> days = freeSlotsByPhysician.get ( physicianId );
+
+        if ( days == null || to.isBefore ( from ) ) {
+            return List.of ( );
+        }
+
+        LocalDate today = LocalDate.now ( );
+        int firstBookableMinute = minuteOfDay ( LocalTime.now ( ) ) + 1;
+
+        List<LocalDate> daysWithFreeSlots = new ArrayList<> ( );
+
+        for ( Map.Entry<LocalDate, BitSet> day : days.subMap ( from, true, to, true ).entrySet ( ) ) {
+            LocalDate date = day.getKey ( );
+
+            if ( date.isBefore ( today ) ) {
+                continue;
+            }
+
+            int fromMinute = date.equals ( today ) ? firstBookableMinute : 0;
+            BitSet freeSlots = day.getValue ( );
+
+            synchronized (freeSlots) {
+                if ( freeSlots.nextSetBit ( fromMinute ) >= 0 ) {
+                    daysWithFreeSlots.add ( date );
+                }
+            }
+        }
+
+        return daysWithFreeSlots;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onTimeSlotStatusChange ( TimeSlotStatusChangeEvent statusChange ) {
+        if ( Status.FREE.equals ( statusChange.getStatus ( ) ) ) {
+            markFree ( statusChange.getPhysicianId ( ), statusChange.getDate ( ), statusChange.getStartTime ( ) );
+            return;
+        }
+
+        markUnavailable ( statusChange.getPhysicianId ( ), statusChange.getDate ( ), statusChange.getStartTime ( ) );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onScheduleDayChange ( ScheduleDayChangeEvent dayChange ) {
+        UUID physicianId = dayChange.getPhysicianId ( );
+        LocalDate date = dayChange.getDate ( );
+
+        BitSet freeSlots = dailyScheduleRepository.findVirtualScheduleOfDay ( physicianId, date )
+                .map ( schedule -> virtualFreeSlots ( schedule,
+                        timeSlotRepository.findPublicRowsOfSchedules ( List.of ( schedule.getScheduleId ( ) ) ) ) )
+                .orElseGet ( () -> new BitSet ( MINUTES_PER_DAY ) );
+
+        timeSlotRepository.findFreeTimeSlotStartsOfDay ( physicianId, date )
+                .forEach ( timeSlot -> freeSlots.set ( minuteOfDay ( timeSlot.getStartTime ( ) ) ) );
+
+        if ( freeSlots.isEmpty ( ) ) {
+            freeSlotsByPhysician.computeIfPresent ( physicianId, ( id, days ) -> {
+                days.remove ( date );
+                return days.isEmpty ( ) ? null : days;
+            } );
+            return;
+        }
+
+        putDay ( physicianId, date, freeSlots );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onPassedTimeSlots ( PassedTimeSlotsEvent passedTimeSlots ) {
+        LocalTime startedBefore = passedTimeSlots.getStartedBefore ( );
+        int passedUntilMinute = minuteOfDay ( startedBefore );
+
+        if ( !startedBefore.truncatedTo ( ChronoUnit.MINUTES ).equals ( startedBefore ) ) {
+            passedUntilMinute++;
+        }
+
+        for ( ConcurrentNavigableMap<LocalDate, BitSet> days : freeSlotsByPhysician.values ( ) ) {
+            BitSet freeSlots = days.get ( passedTimeSlots.getDate ( ) );
+
+            if ( freeSlots != null ) {
+                synchronized (freeSlots) {
+                    freeSlots.clear ( 0, passedUntilMinute );
+                }
+            }
+        }
+    }
+
+    @Scheduled(cron = "0 05 00 * * *")
+    void evictPastDays () {
+        LocalDate today = LocalDate.now ( );
+
+        // Removing inside compute keeps a concurrent markFree from writing into a dropped map
+        for ( UUID physicianId : freeSlotsByPhysician.keySet ( ) ) {
+            freeSlotsByPhysician.computeIfPresent ( physicianId, ( id, days ) -> {
+                days.headMap ( today ).clear ( );
+                return days.isEmpty ( ) ? null : days;
+            } );
+        }
+    }
+
+    private void markFree ( UUID physicianId, LocalDate date, LocalTime startTime ) {
+        freeSlotsByPhysician.compute ( physicianId, ( id, days ) -> {
+            ConcurrentNavigableMap<LocalDate, BitSet> physicianDays =
+                    days != null ? days : new ConcurrentSkipListMap<> ( );
+            BitSet freeSlots = physicianDays.computeIfAbsent ( date, d -> new BitSet ( MINUTES_PER_DAY ) );
+
+            synchronized (freeSlots) {
+                freeSlots.set ( minuteOfDay ( startTime ) );
+            }
+            return physicianDays;
+        } );
+    }
+
+    private void markUnavailable ( UUID physicianId, LocalDate date, LocalTime startTime ) {
+        ConcurrentNavigableMap<LocalDate, BitSet> days = freeSlotsByPhysician.get ( physicianId );
+
+        if ( days == null ) {
+            return;
+        }
+
+        BitSet freeSlots = days.get ( date );
+
+        if ( freeSlots != null ) {
+            synchronized (freeSlots) {
+                freeSlots.clear ( minuteOfDay ( startTime ) );
+            }
+        }
+    }
+
+    private BitSet virtualFreeSlots ( SeededScheduleRow schedule, List<PublicTimeSlotRow> storedRows ) {
+        BitSet freeSlots = new BitSet ( MINUTES_PER_DAY );
+
+        VirtualTimeSlots.startTimes ( schedule.getStartTime ( ), schedule.getEndTime ( ), schedule.getTimeSlotInterval ( ) )
+                .forEach ( startTime -> freeSlots.set ( minuteOfDay ( startTime ) ) );
+
+        for ( PublicTimeSlotRow row : storedRows ) {
+            if ( Status.FREE.equals ( row.getStatus ( ) ) ) {
+                freeSlots.set ( minuteOfDay ( row.getStartTime ( ) ) );
+            } else {
+                freeSlots.clear ( minuteOfDay ( row.getStartTime ( ) ) );
+            }
+        }
+
+        return freeSlots;
+    }
+
+    private void putDay ( UUID physicianId, LocalDate date, BitSet freeSlots ) {
+        freeSlotsByPhysician.compute ( physicianId, ( id, days ) -> {
+            ConcurrentNavigableMap<LocalDate, BitSet> physicianDays =
+                    days != null ? days : new ConcurrentSkipListMap<> ( );
+            physicianDays.put ( date, freeSlots );
+            return physicianDays;
+        } );
+    }
+
+    private static int minuteOfDay ( LocalTime time ) {
+        return time.getHour ( ) * 60 + time.getMinute ( );
+    }
+}
@@ -0,0 +1,160 @@
+package medical_clinics.schedule.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import medical_clinics.schedule.exceptions.ScheduleConflictException;
+import medical_clinics.schedule.models.SlotHold;
+import medical_clinics.schedule.property.SlotHoldProperty;
+import medical_clinics.schedule.repositories.SlotHoldRepository;
+import medical_clinics.web.dto.events.SlotHoldExpiredEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SlotHoldService {
+    private static final int LOCK_STRIPES = 64;
+
+    private static final String HELD_BY_OTHER =
+            "The appointment hour you are trying to preserve is held by another patient.";
+
+    private final SlotHoldRepository slotHoldRepository;
+    private final SlotHoldProperty slotHoldProperty;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<UUID, SlotHold> holds = new ConcurrentHashMap<> ( );
+    private final Lock[] locks = createLocks ( );
+
+    public SlotHold hold ( UUID accountId, UUID timeSlotId ) {
+        LocalDateTime now = LocalDateTime.now ( );
+
+        SlotHold slotHold = SlotHold.builder ( )
+                .timeSlotId ( timeSlotId )
+                .accountId ( accountId )
+                .expiresAt ( now.plus ( slotHoldProperty.getTtl ( ) ) )
+                .build ( );
+
+        Lock lock = lockOf ( timeSlotId );
+        lock.lock ( );
+
+        try {
+            if ( isHeldByOther ( holds.get ( timeSlotId ), accountId, now ) ) {
+                throw new ScheduleConflictException ( HELD_BY_OTHER );
+            }
+
+            if ( slotHoldProperty.isDistributed ( ) ) {
+                holdInDatabase ( slotHold, now );
+            }
+
+            holds.put ( timeSlotId, slotHold );
+        } finally {
+            lock.unlock ( );
+        }
+
+        return slotHold;
+    }
+
+    public void checkNotHeldByOther ( UUID accountId, UUID timeSlotId ) {
+        LocalDateTime now = LocalDateTime.now ( );
+
+        if ( isHeldByOther ( holds.get ( timeSlotId ), accountId, now ) ) {
+            throw new ScheduleConflictException ( HELD_BY_OTHER );
+        }
+
+        // A missing, expired or own local hold says nothing about the holds taken on other nodes
+        if ( slotHoldProperty.isDistributed ( ) &&
+                isHeldByOther ( slotHoldRepository.findById ( timeSlotId ).orElse ( null ), accountId, now ) ) {
+            throw new ScheduleConflictException ( HELD_BY_OTHER );
+        }
+    }
+
+    public void release ( UUID accountId, UUID timeSlotId ) {
+        Lock lock = lockOf ( timeSlotId );
+        lock.lock ( );
+
+        try {
+            SlotHold slotHold = holds.get ( timeSlotId );
+
+            if ( slotHold != null && slotHold.getAccountId ( ).equals ( accountId ) ) {
+                holds.remove ( timeSlotId );
+            }
+
+            if ( slotHoldProperty.isDistributed ( ) ) {
+                slotHoldRepository.deleteHold ( timeSlotId, accountId );
+            }
+        } finally {
+            lock.unlock ( );
+        }
+    }
+
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    void evictExpiredHolds () {
+        LocalDateTime now = LocalDateTime.now ( );
+
+        List<SlotHold> expired = new ArrayList<> ( );
+
+        holds.values ( ).removeIf ( slotHold -> {
+            if ( slotHold.getExpiresAt ( ).isAfter ( now ) ) {
+                return false;
+            }
+            expired.add ( slotHold );
+            return true;
+        } );
+
+        if ( slotHoldProperty.isDistributed ( ) ) {
+            int evicted = slotHoldRepository.deleteExpired ( now );
+            log.debug ( "Evicted {} expired slot holds", evicted );
+        }
+
+        expired.forEach ( slotHold -> eventPublisher.publishEvent (
+                new SlotHoldExpiredEvent ( slotHold.getTimeSlotId ( ), slotHold.getAccountId ( ) )
+        ) );
+    }
+
+    private void holdInDatabase ( SlotHold slotHold, LocalDateTime now ) {
+        UUID timeSlotId = slotHold.getTimeSlotId ( );
+        UUID accountId = slotHold.getAccountId ( );
+
+        if ( slotHoldRepository.renew ( timeSlotId, accountId, slotHold.getExpiresAt ( ), now ) > 0 ) {
+            return;
+        }
+
+        try {
+            slotHoldRepository.insert ( timeSlotId, accountId, slotHold.getExpiresAt ( ) );
+        } catch (DataIntegrityViolationException e) {
+            throw new ScheduleConflictException ( HELD_BY_OTHER );
+        }
+    }
+
+    private boolean isHeldByOther ( SlotHold slotHold, UUID accountId, LocalDateTime now ) {
+        return slotHold != null &&
+                slotHold.getExpiresAt ( ).isAfter ( now ) &&
+                !slotHold.getAccountId ( ).equals ( accountId );
+    }
+
+    private Lock lockOf ( UUID timeSlotId ) {
+        return locks[Math.floorMod ( timeSlotId.hashCode ( ), LOCK_STRIPES )];
+    }
+
+    private static Lock[] createLocks () {
+        Lock[] locks = new Lock[LOCK_STRIPES];
+
+        for ( int i = 0; i < LOCK_STRIPES; i++ ) {
+            locks[i] = new ReentrantLock ( );
+        }
+        return locks;
+    }
+}
@@ -0,0 +1,106 @@
+package medical_clinics.schedule.services;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// One-off cleanup before the unique start time constraint, enabled only for the deployment that needs it
+@Slf4j
+@Component
+@AllArgsConstructor
+@ConditionalOnProperty(name = "schedule.time-slots.deduplicate", havingValue = "true")
+public class TimeSlotDeduplication implements InitializingBean {
+    private static final String SELECT_DUPLICATES = """
+            select t.id, t.daily_schedule_id, t.status from time_slot t
+            where t.patient_id is null and exists (
+                select 1 from time_slot k
+                where k.daily_schedule_id = t.daily_schedule_id and k.start_time = t.start_time and k.id <> t.id
+                and (k.patient_id is not null or k.id < t.id)
+            )
+            """;
+
+    private static final String COUNT_REMAINING = """
+            select count(*) from (
+                select t.daily_schedule_id from time_slot t
+                group by t.daily_schedule_id, t.start_time having count(*) > 1
+            ) d
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Runs before the schema update, a fresh database has no time_slot table yet
+    @Override
+    public void afterPropertiesSet () {
+        List<Duplicate> duplicates;
+
+        try {
+            duplicates = jdbcTemplate.query ( SELECT_DUPLICATES, ( resultSet, row ) -> new Duplicate (
+                    resultSet.getBytes ( 1 ), resultSet.getBytes ( 2 ), resultSet.getString ( 3 )
+            ) );
+        } catch (BadSqlGrammarException e) {
+            return;
+        }
+
+        if ( !duplicates.isEmpty ( ) ) {
+            removeDuplicates ( duplicates );
+        }
+
+        Integer remaining = jdbcTemplate.queryForObject ( COUNT_REMAINING, Integer.class );
+
+        if ( remaining != null && remaining > 0 ) {
+            log.warn ( "{} start times have more than one reserved time slot, " +
+                    "the UniqueScheduleStartTime constraint is not added until they are resolved", remaining );
+        }
+    }
+
+    private void removeDuplicates ( List<Duplicate> duplicates ) {
+        int[] deleted = jdbcTemplate.batchUpdate ( "delete from time_slot where id = ?",
+                duplicates.stream ( ).map ( duplicate -> new Object[]{duplicate.id} ).toList ( )
+        );
+
+        // A row deleted by another starting node is not subtracted twice
+        List<Object[]> counts = new ArrayList<> ( );
+
+        for ( int i = 0; i < deleted.length; i++ ) {
+            if ( deleted[i] == 0 ) {
+                continue;
+            }
+
+            Duplicate duplicate = duplicates.get ( i );
+            counts.add ( new Object[]{
+                    "FREE".equals ( duplicate.status ) ? 1 : 0,
+                    "INACTIVE".equals ( duplicate.status ) ? 1 : 0,
+                    duplicate.scheduleId
+            } );
+        }
+
+        jdbcTemplate.batchUpdate ( """
+                update daily_schedule
+                set free_slots = free_slots - ?, inactive_slots = inactive_slots - ?
+                where id = ?
+                """, counts );
+
+        log.info ( "Removed {} duplicate time slots before adding the UniqueScheduleStartTime constraint",
+                Arrays.stream ( deleted ).filter ( count -> count > 0 ).count ( ) );
+    }
+
+    private static class Duplicate {
+        private final byte[] id;
+        private final byte[] scheduleId;
+        private final String status;
+
+        private Duplicate ( byte[] id, byte[] scheduleId, String status ) {
+            this.id = id;
+            this.scheduleId = scheduleId;
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package medical_clinics.schedule.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import medical_clinics.schedule.mapper.VirtualTimeSlots;
+import medical_clinics.schedule.models.Status;
+import medical_clinics.schedule.projections.SeededScheduleRow;
+import medical_clinics.schedule.repositories.DailyScheduleRepository;
+import medical_clinics.schedule.repositories.TimeSlotRepository;
+import medical_clinics.web.dto.events.ScheduleDayChangeEvent;
+import medical_clinics.web.dto.events.TimeSlotStatusChangeEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.*;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TimeSlotExpiryScheduler {
+    private static final Duration FIRST_RETRY_DELAY = Duration.ofSeconds ( 1 );
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes ( 1 );
+
+    private final TimeSlotRepository timeSlotRepository;
+    private final DailyScheduleRepository dailyScheduleRepository;
+    private final TimeSlotService timeSlotService;
+
+    private final NavigableSet<LocalTime> dueStartTimes = new ConcurrentSkipListSet<> ( );
+    private final ScheduledExecutorService timer =
+            Executors.newSingleThreadScheduledExecutor ( Thread.ofVirtual ( ).factory ( ) );
+
+    private volatile LocalDate day;
+    private ScheduledFuture<?> nextExpiry;
+    private LocalTime nextExpiryTime;
+    private Duration retryDelay;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 00 00 * * *")
+    public synchronized void reload () {
+        day = LocalDate.now ( );
+        dueStartTimes.clear ( );
+
+        dueStartTimes.addAll ( timeSlotRepository.findFreeStartTimesOfDate ( day ) );
+        dailyScheduleRepository.findVirtualSchedulesOfDate ( day ).forEach ( this::addVirtualStartTimes );
+
+        log.info ( "Time slot expiry loaded {} start times for [{}]", dueStartTimes.size ( ), day );
+
+        arm ( );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onScheduleDayChange ( ScheduleDayChangeEvent dayChange ) {
+        if ( !dayChange.getDate ( ).equals ( day ) ) {
+            return;
+        }
+
+        timeSlotRepository.findFreeTimeSlotStartsOfDay ( dayChange.getPhysicianId ( ), dayChange.getDate ( ) )
+                .forEach ( timeSlot -> dueStartTimes.add ( timeSlot.getStartTime ( ) ) );
+
+        dailyScheduleRepository.findVirtualScheduleOfDay ( dayChange.getPhysicianId ( ), dayChange.getDate ( ) )
+                .ifPresent ( this::addVirtualStartTimes );
+
+        arm ( );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onTimeSlotStatusChange ( TimeSlotStatusChangeEvent statusChange ) {
+        if ( Status.FREE.equals ( statusChange.getStatus ( ) ) && statusChange.getDate ( ).equals ( day ) ) {
+            dueStartTimes.add ( statusChange.getStartTime ( ) );
+            arm ( );
+        }
+    }
+
+    @PreDestroy
+    void shutdown () {
+        timer.shutdownNow ( );
+    }
+
+    private void expire () {
+        synchronized (this) {
+            nextExpiry = null;
+        }
+
+        LocalDate today = LocalDate.now ( );
+        LocalTime now = LocalTime.now ( );
+
+        if ( !today.equals ( day ) ) {
+            reload ( );
+            return;
+        }
+
+        NavigableSet<LocalTime> started = dueStartTimes.headSet ( now, false );
+
+        if ( !started.isEmpty ( ) ) {
+            List<LocalTime> sweptStartTimes = List.copyOf ( started );
+            started.clear ( );
+
+            try {
+                timeSlotService.markTimeSlotsPassed ( today, now );
+            } catch (RuntimeException e) {
+                // Start times added while sweeping stay due, the swept ones go back for the retry
+                dueStartTimes.addAll ( sweptStartTimes );
+                retry ( now, e );
+                return;
+            }
+        }
+
+        synchronized (this) {
+            retryDelay = null;
+        }
+
+        arm ( );
+    }
+
+    private synchronized void retry ( LocalTime failedAt, RuntimeException failure ) {
+        retryDelay = retryDelay == null ? FIRST_RETRY_DELAY : retryDelay.multipliedBy ( 2 );
+
+        if ( retryDelay.compareTo ( MAX_RETRY_DELAY ) > 0 ) {
+            retryDelay = MAX_RETRY_DELAY;
+        }
+
+        log.error ( "Time slot expiry at [{}] failed, retrying in {}", failedAt, retryDelay, failure );
+
+        if ( nextExpiry != null ) {
+            nextExpiry.cancel ( false );
+        }
+
+        nextExpiryTime = null;
+        nextExpiry = timer.schedule ( this::expire, retryDelay.toMillis ( ), TimeUnit.MILLISECONDS );
+    }
+
+    private synchronized void arm () {
+        // A pending retry is not brought forward, its backoff would be lost
+        if ( dueStartTimes.isEmpty ( ) || retryDelay != null && nextExpiry != null ) {
+            return;
+        }
+
+        LocalTime first = dueStartTimes.first ( );
+
+        if ( nextExpiry != null ) {
+            if ( !nextExpiryTime.isAfter ( first ) ) {
+                return;
+            }
+            nextExpiry.cancel ( false );
+        }
+
+        long delayMillis = Math.max ( 0, Duration.between ( LocalTime.now ( ), first ).toMillis ( ) );
+
+        nextExpiryTime = first;
+        nextExpiry = timer.schedule ( this::expire, delayMillis, TimeUnit.MILLISECONDS );
+    }
+
+    private void addVirtualStartTimes ( SeededScheduleRow schedule ) {
+        dueStartTimes.addAll ( VirtualTimeSlots.startTimes (
+                schedule.getStartTime ( ), schedule.getEndTime ( ), schedule.getTimeSlotInterval ( )
+        ) );
+    }
+}
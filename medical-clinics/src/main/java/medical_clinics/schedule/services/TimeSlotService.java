@@ -1,38 +1,123 @@
 package medical_clinics.schedule.services;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import medical_clinics.patient.model.Patient;
 import medical_clinics.patient.service.PatientService;
+import medical_clinics.physician.model.Physician;
 import medical_clinics.schedule.exceptions.ScheduleConflictException;
 import medical_clinics.schedule.exceptions.ScheduleNotFoundException;
 import medical_clinics.schedule.mapper.DailyScheduleMapper;
+import medical_clinics.schedule.mapper.VirtualTimeSlots;
 import medical_clinics.schedule.models.DailySchedule;
+import medical_clinics.schedule.models.SlotHold;
 import medical_clinics.schedule.models.Status;
 import medical_clinics.schedule.models.TimeSlot;
+import medical_clinics.schedule.projections.FreeAppointmentRow;
+import medical_clinics.schedule.projections.PrivateTimeSlotRow;
+import medical_clinics.schedule.projections.PublicTimeSlotRow;
+import medical_clinics.schedule.projections.SeededScheduleRow;
+import medical_clinics.schedule.projections.SlotCountRow;
+import medical_clinics.schedule.projections.StartedSlotCountRow;
+import medical_clinics.schedule.repositories.DailyScheduleRepository;
 import medical_clinics.schedule.repositories.TimeSlotRepository;
+import medical_clinics.web.dto.events.PassedTimeSlotsEvent;
+import medical_clinics.web.dto.events.ScheduleDayChangeEvent;
+import medical_clinics.web.dto.events.TimeSlotStatusChangeEvent;
+import medical_clinics.web.dto.response.FreeAppointment;
 import medical_clinics.web.dto.response.PatientAppointment;
-import org.springframework.scheduling.annotation.Scheduled;
+import medical_clinics.web.dto.response.SlotHoldResponse;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Service
 @AllArgsConstructor
 public class TimeSlotService {
+    private static final int MAX_FREE_APPOINTMENTS_PAGE = 100;
+    private static final int RECOUNT_CHUNK_SIZE = 500;
+    private static final int SEEDED_SEARCH_WINDOW_DAYS = 7;
+    private static final UUID FIRST_TIMESLOT_ID = new UUID ( Long.MIN_VALUE, Long.MIN_VALUE );
+
+    private static final Comparator<UUID> TIMESLOT_ID_ORDER = Comparator
+            .comparing ( UUID::getMostSignificantBits, Long::compareUnsigned )
+            .thenComparing ( UUID::getLeastSignificantBits, Long::compareUnsigned );
+
+    private static final Comparator<FreeAppointmentRow> FREE_APPOINTMENT_ORDER = Comparator
+            .comparing ( FreeAppointmentRow::getDate )
+            .thenComparing ( FreeAppointmentRow::getStartTime )
+            .thenComparing ( FreeAppointmentRow::getTimeSlotId, TIMESLOT_ID_ORDER );
+
+    private static final String APPOINTMENT_NOT_AVAILABLE =
+            "The appointment hour you are trying to preserve is not available.";
+
     private final TimeSlotRepository timeSlotRepository;
+    private final DailyScheduleRepository dailyScheduleRepository;
     private final PatientService patientService;
+    private final SlotHoldService slotHoldService;
+    private final UtilizationRollupService utilizationRollupService;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSlotCounts () {
+        LocalDate today = LocalDate.now ( );
+        List<UUID> scheduleIds = dailyScheduleRepository.findIdsWithoutSlotCountsFrom ( today );
+
+        if ( scheduleIds.isEmpty ( ) ) {
+            return;
+        }
+
+        for ( int from = 0; from < scheduleIds.size ( ); from += RECOUNT_CHUNK_SIZE ) {
+            timeSlotRepository.recountSlotsOfSchedules (
+                    scheduleIds.subList ( from, Math.min ( from + RECOUNT_CHUNK_SIZE, scheduleIds.size ( ) ) )
+            );
+        }
 
+        Set<UUID> recounted = new HashSet<> ( scheduleIds );
+        Map<UUID, Integer> storedSlots = new HashMap<> ( );
+
+        timeSlotRepository.findRowsOfVirtualSchedulesFrom ( today )
+                .forEach ( row -> storedSlots.merge ( row.getScheduleId ( ), 1, Integer::sum ) );
+
+        for ( SeededScheduleRow schedule : dailyScheduleRepository.findVirtualSchedulesFrom ( today ) ) {
+            if ( !recounted.contains ( schedule.getScheduleId ( ) ) ) {
+                continue;
+            }
+
+            int gridSlots = VirtualTimeSlots.startTimes (
+                    schedule.getStartTime ( ), schedule.getEndTime ( ), schedule.getTimeSlotInterval ( )
+            ).size ( );
+
+            timeSlotRepository.addSlotCountsOfSchedule ( schedule.getScheduleId ( ),
+                    gridSlots - storedSlots.getOrDefault ( schedule.getScheduleId ( ), 0 ), 0, 0 );
+        }
+
+        log.info ( "Slot counters backfilled for {} schedules", scheduleIds.size ( ) );
+    }
+
+    @Transactional
     public void inactivate ( UUID timeSlotId ) {
-        Optional<TimeSlot> timeSlotOptional = timeSlotRepository.findById ( timeSlotId );
+        Optional<TimeSlot> timeSlotOptional = findTimeSlot ( timeSlotId );
 
         if ( timeSlotOptional.isEmpty ( ) ) {
             throw new ScheduleNotFoundException ( "TimeSlot with id " + timeSlotId + " not found" );
         }
 
         TimeSlot timeSlot = timeSlotOptional.get ( );
+        Status previousStatus = timeSlot.getStatus ( );
 
         if ( timeSlot.getPatient ( ) != null ) {
             String names = timeSlot.getPatient ( ).getFirstName ( ) + " " + timeSlot.getPatient ( ).getLastName ( );
@@ -50,35 +135,79 @@ public class TimeSlotService {
             );
         }
 
-        timeSlot.setStatus ( Status.INACTIVE );
-        timeSlotRepository.save ( timeSlot );
+        String reservedMeanwhile = "Timeslot cannot be inactivated because it was reserved meanwhile.";
+
+        if ( timeSlot.getId ( ) == null ) {
+            materialize ( timeSlot );
+        }
+
+        if ( timeSlotRepository.inactivateIfNotReserved ( timeSlot.getId ( ), previousStatus ) == 0 ) {
+            throw new ScheduleConflictException ( reservedMeanwhile );
+        }
+
+        moveSlotCount ( timeSlot.getDailySchedule ( ).getId ( ), previousStatus, Status.INACTIVE );
+        publishStatusChange ( timeSlot, previousStatus, Status.INACTIVE );
     }
 
+    @Transactional(dontRollbackOn = ScheduleConflictException.class)
     public void makeAppointment ( UUID accountId, UUID timeSlotId ) {
         TimeSlot timeSlot = getIfExist ( timeSlotId );
 
-        boolean errorFlag = false;
-
         if ( isPassed ( timeSlot ) ) {
-            timeSlot.setStatus ( Status.PASSED );
+            if ( timeSlot.getId ( ) != null && timeSlotRepository.markPassedIfFree ( timeSlot.getId ( ) ) > 0 ) {
+                moveSlotCount ( timeSlot.getDailySchedule ( ).getId ( ), Status.FREE, Status.PASSED );
+                publishStatusChange ( timeSlot, Status.FREE, Status.PASSED );
+            }
+            throw new ScheduleConflictException ( APPOINTMENT_NOT_AVAILABLE );
         }
 
         if ( !timeSlot.getStatus ( ).equals ( Status.FREE ) ) {
-            errorFlag = true;
+            throw new ScheduleConflictException ( APPOINTMENT_NOT_AVAILABLE );
         }
 
-        if ( timeSlot.getStatus ( ).equals ( Status.FREE ) ) {
-            Patient patient = patientService.getPatientByUserAccountId ( accountId );
+        slotHoldService.checkNotHeldByOther ( accountId, timeSlotId );
 
-            timeSlot.setPatient ( patient );
-            timeSlot.setStatus ( Status.RESERVED );
+        Patient patient = patientService.getPatientByUserAccountId ( accountId );
+
+        if ( timeSlot.getId ( ) == null ) {
+            materialize ( timeSlot );
         }
 
-        timeSlotRepository.save ( timeSlot );
+        int reserved = timeSlotRepository.reserveIfFreeAndNotHeld (
+                timeSlot.getId ( ), patient, timeSlotId, accountId, LocalDateTime.now ( )
+        );
 
-        if ( errorFlag ) {
-            throw new ScheduleConflictException ( "The appointment hour you are trying to preserve is not available." );
+        if ( reserved == 0 ) {
+            throw new ScheduleConflictException ( APPOINTMENT_NOT_AVAILABLE );
         }
+
+        moveSlotCount ( timeSlot.getDailySchedule ( ).getId ( ), Status.FREE, Status.RESERVED );
+        slotHoldService.release ( accountId, timeSlotId );
+        publishStatusChange ( timeSlot, Status.FREE, Status.RESERVED );
+    }
+
+    public SlotHoldResponse holdAppointment ( UUID accountId, UUID timeSlotId ) {
+        TimeSlot timeSlot = getIfExist ( timeSlotId );
+
+        if ( isPassed ( timeSlot ) || !timeSlot.getStatus ( ).equals ( Status.FREE ) ) {
+            throw new ScheduleConflictException ( APPOINTMENT_NOT_AVAILABLE );
+        }
+
+        SlotHold slotHold = slotHoldService.hold ( accountId, timeSlotId );
+
+        return SlotHoldResponse.builder ( )
+                .timeslotId ( slotHold.getTimeSlotId ( ) )
+                .expiresAt ( slotHold.getExpiresAt ( ) )
+                .build ( );
+    }
+
+    public Optional<TimeSlot> findOpenTimeSlot ( UUID timeSlotId ) {
+        return findTimeSlot ( timeSlotId )
+                .filter ( timeSlot -> Status.FREE.equals ( timeSlot.getStatus ( ) ) && !isPassed ( timeSlot ) );
+    }
+
+    public void releaseHold ( UUID accountId, UUID timeSlotId ) {
+        slotHoldService.release ( accountId, timeSlotId );
     }
 
     public List<PatientAppointment> getPatientAppointments ( UUID patientId ) {
@@ -88,10 +217,72 @@ public class TimeSlotService {
                 .toList ( );
     }
 
+    public List<PublicTimeSlotRow> getPublicTimeSlotRows ( Collection<UUID> scheduleIds ) {
+        if ( scheduleIds.isEmpty ( ) ) {
+            return List.of ( );
+        }
+        return timeSlotRepository.findPublicRowsOfSchedules ( scheduleIds );
+    }
+
+    public List<PrivateTimeSlotRow> getPrivateTimeSlotRows ( Collection<UUID> scheduleIds ) {
+        if ( scheduleIds.isEmpty ( ) ) {
+            return List.of ( );
+        }
+        return timeSlotRepository.findPrivateRowsOfSchedules ( scheduleIds );
+    }
+
+    public List<FreeAppointment> getFreeAppointments (
+            UUID clinicId, UUID specialtyId,
+            LocalDate from, LocalDate to, int limit,
+            LocalDate afterDate, LocalTime afterTime, UUID afterId ) {
+
+        LocalDate today = LocalDate.now ( );
+
+        if ( from.isBefore ( today ) ) {
+            from = today;
+        }
+
+        if ( afterDate == null || afterTime == null || afterId == null ) {
+            afterDate = from.minusDays ( 1 );
+            afterTime = LocalTime.MIN;
+            afterId = FIRST_TIMESLOT_ID;
+        }
+
+        int pageSize = Math.clamp ( limit, 1, MAX_FREE_APPOINTMENTS_PAGE );
+        LocalTime now = LocalTime.now ( );
+
+        List<FreeAppointmentRow> freeAppointments = new ArrayList<> ( timeSlotRepository.findFreeAppointments (
+                clinicId, specialtyId, from, to, today, now,
+                afterDate, afterTime, afterId, PageRequest.of ( 0, pageSize )
+        ) );
+
+        LocalDate seededFrom = afterDate.isAfter ( from ) ? afterDate : from;
+        LocalDate seededTo = to;
+
+        // A full page of stored rows caps the seeded search at the date of its last row
+        if ( freeAppointments.size ( ) == pageSize && freeAppointments.getLast ( ).getDate ( ).isBefore ( to ) ) {
+            seededTo = freeAppointments.getLast ( ).getDate ( );
+        }
+
+        FreeAppointmentRow after = new FreeAppointmentRow ( afterId, null, null, null, afterDate, afterTime, null );
+
+        freeAppointments.addAll ( findSeededFreeAppointments (
+                clinicId, specialtyId, seededFrom, seededTo, today, now, after, pageSize
+        ) );
+
+        return freeAppointments.stream ( )
+                .sorted ( FREE_APPOINTMENT_ORDER )
+                .limit ( pageSize )
+                .map ( DailyScheduleMapper::mapToFreeAppointment )
+                .toList ( );
+    }
+
+    @Transactional
     public void releaseAppointment ( UUID accountId, UUID appointmentId ) {
         TimeSlot timeSlot = getIfExist ( appointmentId );
+        Patient patient = timeSlot.getPatient ( );
 
-        if ( !accountId.equals ( timeSlot.getPatient ( ).getUserAccount ( ).getId ( ) ) ) {
+        if ( patient == null || !accountId.equals ( patient.getUserAccount ( ).getId ( ) ) ) {
             throw new ScheduleConflictException (
                     "The appointment hour you are trying to release not belong to user account: " + accountId
             );
@@ -101,9 +292,13 @@ public class TimeSlotService {
             return;
         }
 
-        timeSlot.setStatus ( Status.FREE );
-        timeSlot.setPatient ( null );
-        timeSlotRepository.save ( timeSlot );
+        if ( timeSlotRepository.releaseIfReservedBy ( timeSlot.getId ( ), patient ) == 0 ) {
+            throw new ScheduleConflictException ( "The appointment hour you are trying to release is no longer reserved." );
+        }
+
+        moveSlotCount ( timeSlot.getDailySchedule ( ).getId ( ), Status.RESERVED, Status.FREE );
+
+        publishStatusChange ( timeSlot, Status.RESERVED, Status.FREE );
     }
 
     Collection<TimeSlot> generateTimeSlots (
@@ -122,36 +317,327 @@ public class TimeSlotService {
                     .dailySchedule ( schedule )
                     .build ( );
 
-            timeSlots.add ( timeSlotRepository.save ( timeSlot ) );
+            timeSlots.add ( timeSlot );
             startTime = startTime.plusMinutes ( timeSlotInterval );
         }
+        return timeSlotRepository.saveAll ( timeSlots );
+    }
+
+    void saveTimeSlots ( Collection<TimeSlot> timeSlots ) {
+        if ( timeSlots.isEmpty ( ) ) {
+            return;
+        }
+
+        timeSlotRepository.saveAll ( timeSlots );
+
+        Map<UUID, Integer> newSlotsBySchedule = new HashMap<> ( );
+        for ( TimeSlot timeSlot : timeSlots ) {
+            newSlotsBySchedule.merge ( timeSlot.getDailySchedule ( ).getId ( ), 1, Integer::sum );
+        }
+
+        newSlotsBySchedule.forEach ( ( scheduleId, slots ) ->
+                timeSlotRepository.addSlotCountsOfSchedule ( scheduleId, slots, 0, 0 )
+        );
+    }
+
+    void inactivateAll ( DailySchedule schedule ) {
+        if ( timeSlotRepository.existsByDailySchedule_IdAndPatientIsNotNull ( schedule.getId ( ) ) ) {
+            throw new ScheduleConflictException ( "Schedule cannot be inactivated because it has reserved timeslots." +
+                    " Contact the Patients to release the appointments then inactivate the schedule." );
+        }
+
+        materializeTimeSlots ( schedule );
+
+        // One update per previous status, so the counts are exactly the rows each update moved
+        int free = timeSlotRepository.inactivateAllOfScheduleIfNotReserved ( schedule.getId ( ), Status.FREE );
+        int passed = timeSlotRepository.inactivateAllOfScheduleIfNotReserved ( schedule.getId ( ), Status.PASSED );
+
+        timeSlotRepository.recountSlotsOfSchedules ( List.of ( schedule.getId ( ) ) );
+
+        log.debug ( "Inactivated {} time slots of schedule [{}]", free + passed, schedule.getId ( ) );
+
+        if ( free + passed == 0 ) {
+            return;
+        }
+
+        Physician physician = schedule.getPhysician ( );
+
+        utilizationRollupService.recordInactivated ( physician, schedule.getDate ( ), free, passed );
+        eventPublisher.publishEvent ( new ScheduleDayChangeEvent ( physician.getId ( ), schedule.getDate ( ) ) );
+    }
+
+    Collection<TimeSlot> materializeTimeSlots ( DailySchedule schedule ) {
+        if ( !schedule.isVirtualSlots ( ) ) {
+            return new ArrayList<> ( schedule.getTimeSlots ( ) );
+        }
+
+        dailyScheduleRepository.findByIdForUpdate ( schedule.getId ( ) );
+
+        List<TimeSlot> timeSlots = new ArrayList<> (
+                timeSlotRepository.findAllByDailySchedule_Id ( schedule.getId ( ) )
+        );
+
+        Set<LocalTime> storedStartTimes = new HashSet<> ( );
+        timeSlots.forEach ( timeSlot -> storedStartTimes.add ( timeSlot.getStartTime ( ) ) );
+
+        List<TimeSlot> virtualTimeSlots = new ArrayList<> ( );
+
+        for ( LocalTime startTime : VirtualTimeSlots.startTimes ( schedule ) ) {
+            if ( !storedStartTimes.contains ( startTime ) ) {
+                virtualTimeSlots.add ( buildVirtualTimeSlot ( schedule, startTime ) );
+            }
+        }
+
+        timeSlots.addAll ( timeSlotRepository.saveAll ( virtualTimeSlots ) );
+        timeSlots.sort ( Comparator.comparing ( TimeSlot::getStartTime ) );
+
+        schedule.setVirtualSlots ( false );
+        schedule.setTimeSlots ( timeSlots );
+
         return timeSlots;
     }
 
+    long countStoredSlotsStartedBefore ( UUID scheduleId, LocalTime time ) {
+        return timeSlotRepository.countByDailySchedule_IdAndStartTimeBefore ( scheduleId, time );
+    }
+
     void delete ( TimeSlot timeSlot ) {
         timeSlotRepository.delete ( timeSlot );
     }
 
-    @Scheduled(cron = "0 */15 06-22 * * *")
-    void checkForPassedTimeSlots () {
-        List<TimeSlot> passedFreeTimeSlots = timeSlotRepository
-                .findAllByStatusEqualsAndStartTimeBeforeAndDailySchedule_Date (
-                        Status.FREE, LocalTime.now ( ), LocalDate.now ( )
-                );
+    @Transactional
+    void markTimeSlotsPassed ( LocalDate date, LocalTime startedBefore ) {
+        long startNanos = System.nanoTime ( );
+
+        // Started slots can no longer be booked or released, so a plain grouped count under the UPDATE's
+        // predicate matches what the UPDATE moves without holding row locks between the two statements
+        List<StartedSlotCountRow> startedSlots = timeSlotRepository.countFreeStartedBeforeBySchedule (
+                startedBefore, date
+        );
 
-        for ( TimeSlot timeSlot : passedFreeTimeSlots ) {
-            timeSlot.setStatus ( Status.PASSED );
+        int passed = timeSlotRepository.markAllPassedStartedBefore ( startedBefore, date );
+
+        Set<UUID> storedSchedules = new LinkedHashSet<> ( );
+        Map<UUID, Integer> passedOfVirtualSchedules = new HashMap<> ( );
+        Map<UUID, SlotCountRow> passedByPhysician = new LinkedHashMap<> ( );
+        long counted = 0;
+
+        for ( StartedSlotCountRow row : startedSlots ) {
+            if ( row.isVirtualSlots ( ) ) {
+                passedOfVirtualSchedules.merge ( row.getScheduleId ( ), row.getSlots ( ).intValue ( ), Integer::sum );
+            } else {
+                storedSchedules.add ( row.getScheduleId ( ) );
+            }
+
+            passedByPhysician.merge ( row.getPhysicianId ( ),
+                    new SlotCountRow ( row.getPhysicianId ( ), row.getClinicId ( ), row.getSlots ( ) ),
+                    ( total, added ) -> new SlotCountRow (
+                            total.getPhysicianId ( ), total.getClinicId ( ), total.getSlots ( ) + added.getSlots ( ) )
+            );
+            counted += row.getSlots ( );
         }
 
-        timeSlotRepository.saveAll ( passedFreeTimeSlots );
+        if ( counted != passed ) {
+            log.warn ( "Passed time slots expiry counted {} started slots but updated {}", counted, passed );
+        }
+
+        List<UUID> recounted = new ArrayList<> ( storedSchedules );
+
+        for ( int from = 0; from < recounted.size ( ); from += RECOUNT_CHUNK_SIZE ) {
+            timeSlotRepository.recountSlotsOfSchedules (
+                    recounted.subList ( from, Math.min ( from + RECOUNT_CHUNK_SIZE, recounted.size ( ) ) )
+            );
+        }
+
+        // Virtual days count their unstored grid slots as free, so a recount would drop them
+        passedOfVirtualSchedules.forEach ( ( scheduleId, slots ) ->
+                timeSlotRepository.addSlotCountsOfSchedule ( scheduleId, -slots, 0, 0 )
+        );
+
+        Collection<SlotCountRow> passedSlots = passedByPhysician.values ( );
+
+        long durationNanos = System.nanoTime ( ) - startNanos;
+
+        meterRegistry.counter ( "schedule.timeslots.passed" ).increment ( passed );
+        meterRegistry.timer ( "schedule.timeslots.passed.expiry" ).record ( durationNanos, TimeUnit.NANOSECONDS );
+
+        log.debug ( "Passed time slots expiry updated {} rows in {} ms",
+                passed, TimeUnit.NANOSECONDS.toMillis ( durationNanos ) );
+
+        utilizationRollupService.recordPassed ( date, passedSlots );
+
+        eventPublisher.publishEvent ( new PassedTimeSlotsEvent ( date, startedBefore ) );
     }
 
     private TimeSlot getIfExist ( UUID timeSlotId ) {
-        return timeSlotRepository.findById ( timeSlotId ).orElseThrow ( () ->
+        return findTimeSlot ( timeSlotId ).orElseThrow ( () ->
                 new ScheduleNotFoundException ( "The appointment hour you are trying to preserve does not exist." )
         );
     }
 
+    private Optional<TimeSlot> findTimeSlot ( UUID timeSlotId ) {
+        if ( !VirtualTimeSlots.isSeeded ( timeSlotId ) ) {
+            return timeSlotRepository.findById ( timeSlotId );
+        }
+
+        Optional<DailySchedule> scheduleOptional = dailyScheduleRepository.findBySlotSeed (
+                VirtualTimeSlots.slotSeedOf ( timeSlotId )
+        );
+
+        if ( scheduleOptional.isEmpty ( ) ) {
+            return Optional.empty ( );
+        }
+
+        DailySchedule schedule = scheduleOptional.get ( );
+        LocalTime startTime = VirtualTimeSlots.startTimeOf ( timeSlotId );
+
+        for ( TimeSlot timeSlot : schedule.getTimeSlots ( ) ) {
+            if ( timeSlot.getStartTime ( ).equals ( startTime ) ) {
+                return Optional.of ( timeSlot );
+            }
+        }
+
+        if ( schedule.isVirtualSlots ( ) && VirtualTimeSlots.isOnGrid ( schedule, startTime ) ) {
+            return Optional.of ( buildVirtualTimeSlot ( schedule, startTime ) );
+        }
+
+        return Optional.empty ( );
+    }
+
+    private TimeSlot buildVirtualTimeSlot ( DailySchedule schedule, LocalTime startTime ) {
+        return TimeSlot.builder ( )
+                .startTime ( startTime )
+                .durationInMinutes ( schedule.getTimeSlotInterval ( ) )
+                .status ( Status.FREE )
+                .dailySchedule ( schedule )
+                .build ( );
+    }
+
+    private void materialize ( TimeSlot timeSlot ) {
+        UUID scheduleId = timeSlot.getDailySchedule ( ).getId ( );
+
+        dailyScheduleRepository.findByIdForUpdate ( scheduleId );
+
+        TimeSlot stored = timeSlotRepository
+                .findByDailySchedule_IdAndStartTime ( scheduleId, timeSlot.getStartTime ( ) )
+                .orElseGet ( () -> timeSlotRepository.saveAndFlush ( timeSlot ) );
+
+        timeSlot.setId ( stored.getId ( ) );
+    }
+
+    private void moveSlotCount ( UUID scheduleId, Status from, Status to ) {
+        if ( from == to ) {
+            return;
+        }
+        timeSlotRepository.addSlotCountsOfSchedule ( scheduleId,
+                countDelta ( Status.FREE, from, to ),
+                countDelta ( Status.RESERVED, from, to ),
+                countDelta ( Status.INACTIVE, from, to )
+        );
+    }
+
+    private static int countDelta ( Status counted, Status from, Status to ) {
+        return ( counted == to ? 1 : 0 ) - ( counted == from ? 1 : 0 );
+    }
+
+    private List<FreeAppointmentRow> findSeededFreeAppointments (
+            UUID clinicId, UUID specialtyId, LocalDate from, LocalDate to,
+            LocalDate today, LocalTime now, FreeAppointmentRow after, int pageSize ) {
+
+        List<FreeAppointmentRow> freeAppointments = new ArrayList<> ( );
+        LocalDate windowStart = from;
+
+        // A week is loaded at a time, days of a later week cannot come before a full page of an earlier one
+        while (!windowStart.isAfter ( to ) && freeAppointments.size ( ) < pageSize) {
+            LocalDate windowEnd = windowStart.plusDays ( SEEDED_SEARCH_WINDOW_DAYS - 1 );
+
+            if ( windowEnd.isAfter ( to ) ) {
+                windowEnd = to;
+            }
+
+            List<SeededScheduleRow> schedules = dailyScheduleRepository.findSeededSchedulesOfClinicAndSpecialty (
+                    clinicId, specialtyId, windowStart, windowEnd
+            );
+
+            if ( !schedules.isEmpty ( ) ) {
+                addSeededFreeAppointments ( schedules, today, now, after, pageSize, freeAppointments );
+            }
+
+            windowStart = windowEnd.plusDays ( 1 );
+        }
+
+        return freeAppointments;
+    }
+
+    private void addSeededFreeAppointments (
+            List<SeededScheduleRow> schedules, LocalDate today, LocalTime now,
+            FreeAppointmentRow after, int pageSize, List<FreeAppointmentRow> freeAppointments ) {
+
+        Map<UUID, Map<LocalTime, Status>> storedStatuses = new HashMap<> ( );
+
+        timeSlotRepository.findPublicRowsOfSchedules (
+                schedules.stream ( ).map ( SeededScheduleRow::getScheduleId ).toList ( )
+        ).forEach ( row -> storedStatuses
+                .computeIfAbsent ( row.getScheduleId ( ), id -> new HashMap<> ( ) )
+                .put ( row.getStartTime ( ), row.getStatus ( ) )
+        );
+
+        for ( SeededScheduleRow schedule : schedules ) {
+            if ( freeAppointments.size ( ) >= pageSize &&
+                    schedule.getDate ( ).isAfter ( freeAppointments.getLast ( ).getDate ( ) ) ) {
+                break;
+            }
+
+            Map<LocalTime, Status> statuses = storedStatuses.getOrDefault ( schedule.getScheduleId ( ), Map.of ( ) );
+
+            Collection<LocalTime> startTimes = schedule.isVirtualSlots ( )
+                    ? VirtualTimeSlots.startTimes (
+                    schedule.getStartTime ( ), schedule.getEndTime ( ), schedule.getTimeSlotInterval ( ) )
+                    : statuses.keySet ( );
+
+            for ( LocalTime startTime : startTimes ) {
+                Status status = statuses.getOrDefault ( startTime, Status.FREE );
+                boolean started = schedule.getDate ( ).equals ( today ) && !startTime.isAfter ( now );
+
+                if ( !Status.FREE.equals ( status ) || started ) {
+                    continue;
+                }
+
+                FreeAppointmentRow freeAppointment = new FreeAppointmentRow (
+                        VirtualTimeSlots.timeSlotId ( schedule.getSlotSeed ( ), startTime ),
+                        schedule.getPhysicianId ( ),
+                        schedule.getPhysicianFirstName ( ),
+                        schedule.getPhysicianLastName ( ),
+                        schedule.getDate ( ),
+                        startTime,
+                        schedule.getTimeSlotInterval ( )
+                );
+
+                if ( FREE_APPOINTMENT_ORDER.compare ( freeAppointment, after ) > 0 ) {
+                    freeAppointments.add ( freeAppointment );
+                }
+            }
+        }
+    }
+
+    private void publishStatusChange ( TimeSlot timeSlot, Status previousStatus, Status status ) {
+        DailySchedule schedule = timeSlot.getDailySchedule ( );
+        Physician physician = schedule.getPhysician ( );
+
+        utilizationRollupService.recordStatusChange ( physician, schedule.getDate ( ), previousStatus, status );
+
+        UUID clinicId = physician.getWorkplace ( ) != null ? physician.getWorkplace ( ).getId ( ) : null;
+
+        eventPublisher.publishEvent ( new TimeSlotStatusChangeEvent (
+                VirtualTimeSlots.timeSlotId ( timeSlot ),
+                physician.getId ( ),
+                clinicId,
+                schedule.getDate ( ),
+                timeSlot.getStartTime ( ),
+                status
+        ) );
+    }
+
     private boolean isPassed ( TimeSlot timeSlot ) {
         LocalDate currentDate = LocalDate.now ( );
         LocalTime currentTime = LocalTime.now ( );
@@ -0,0 +1,187 @@
+package medical_clinics.schedule.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import medical_clinics.web.dto.events.PassedTimeSlotsEvent;
+import medical_clinics.web.dto.events.ScheduleDayChangeEvent;
+import medical_clinics.web.dto.events.TimeSlotStatusChangeEvent;
+import medical_clinics.web.dto.events.WaitlistOfferEvent;
+import medical_clinics.web.dto.response.PassedTimeSlotsDelta;
+import medical_clinics.web.dto.response.ScheduleDayDelta;
+import medical_clinics.web.dto.response.TimeSlotStatusDelta;
+import medical_clinics.web.dto.response.WaitlistOfferDelta;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class TimeSlotStreamService {
+    private static final long STREAM_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis ( 30 );
+    private static final int MAX_PENDING_EVENTS = 1000;
+
+    private final Map<UUID, Set<Subscriber>> physicianSubscribers = new ConcurrentHashMap<> ( );
+    private final Map<UUID, Set<Subscriber>> clinicSubscribers = new ConcurrentHashMap<> ( );
+    private final Map<UUID, Set<Subscriber>> accountSubscribers = new ConcurrentHashMap<> ( );
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor ( );
+
+    public SseEmitter subscribeToPhysician ( UUID physicianId ) {
+        return subscribe ( physicianSubscribers, physicianId );
+    }
+
+    public SseEmitter subscribeToClinic ( UUID clinicId ) {
+        return subscribe ( clinicSubscribers, clinicId );
+    }
+
+    public SseEmitter subscribeToWaitlistOffers ( UUID accountId ) {
+        return subscribe ( accountSubscribers, accountId );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onTimeSlotStatusChange ( TimeSlotStatusChangeEvent event ) {
+        TimeSlotStatusDelta delta = TimeSlotStatusDelta.builder ( )
+                .timeslotId ( event.getTimeSlotId ( ) )
+                .physicianId ( event.getPhysicianId ( ) )
+                .date ( event.getDate ( ) )
+                .status ( event.getStatus ( ) )
+                .build ( );
+
+        send ( physicianSubscribers.get ( event.getPhysicianId ( ) ), "slot", delta );
+
+        if ( event.getClinicId ( ) != null ) {
+            send ( clinicSubscribers.get ( event.getClinicId ( ) ), "slot", delta );
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onPassedTimeSlots ( PassedTimeSlotsEvent event ) {
+        PassedTimeSlotsDelta delta = new PassedTimeSlotsDelta ( event.getDate ( ), event.getStartedBefore ( ) );
+
+        physicianSubscribers.values ( ).forEach ( subscribers -> send ( subscribers, "passed", delta ) );
+        clinicSubscribers.values ( ).forEach ( subscribers -> send ( subscribers, "passed", delta ) );
+    }
+
+    // Whole-day changes (e.g. an inactivated day) are sent once instead of slot by slot
+    @TransactionalEventListener(fallbackExecution = true)
+    void onScheduleDayChange ( ScheduleDayChangeEvent event ) {
+        send ( physicianSubscribers.get ( event.getPhysicianId ( ) ), "day",
+                new ScheduleDayDelta ( event.getPhysicianId ( ), event.getDate ( ) ) );
+    }
+
+    @EventListener
+    void onWaitlistOffer ( WaitlistOfferEvent event ) {
+        send ( accountSubscribers.get ( event.getAccountId ( ) ), "offer", WaitlistOfferDelta.builder ( )
+                .entryId ( event.getEntryId ( ) )
+                .timeslotId ( event.getTimeSlotId ( ) )
+                .expiresAt ( event.getExpiresAt ( ) )
+                .build ( )
+        );
+    }
+
+    @Scheduled(fixedDelay = 25, timeUnit = TimeUnit.SECONDS)
+    void sendHeartbeat () {
+        physicianSubscribers.values ( ).forEach ( subscribers -> subscribers.forEach ( this::sendHeartbeat ) );
+        clinicSubscribers.values ( ).forEach ( subscribers -> subscribers.forEach ( this::sendHeartbeat ) );
+        accountSubscribers.values ( ).forEach ( subscribers -> subscribers.forEach ( this::sendHeartbeat ) );
+    }
+
+    @PreDestroy
+    void shutdown () {
+        physicianSubscribers.values ( ).forEach ( subscribers -> subscribers.forEach ( Subscriber::complete ) );
+        clinicSubscribers.values ( ).forEach ( subscribers -> subscribers.forEach ( Subscriber::complete ) );
+        accountSubscribers.values ( ).forEach ( subscribers -> subscribers.forEach ( Subscriber::complete ) );
+        sender.shutdown ( );
+    }
+
+    private SseEmitter subscribe ( Map<UUID, Set<Subscriber>> subscriptions, UUID key ) {
+        Subscriber subscriber = new Subscriber ( new SseEmitter ( STREAM_TIMEOUT_MILLIS ) );
+        SseEmitter emitter = subscriber.emitter;
+
+        subscriptions.computeIfAbsent ( key, k -> ConcurrentHashMap.newKeySet ( ) ).add ( subscriber );
+
+        Runnable unsubscribe = () -> subscriptions.computeIfPresent ( key, ( k, subscribers ) -> {
+            subscribers.remove ( subscriber );
+            return subscribers.isEmpty ( ) ? null : subscribers;
+        } );
+
+        emitter.onCompletion ( unsubscribe );
+        emitter.onTimeout ( emitter::complete );
+        emitter.onError ( error -> unsubscribe.run ( ) );
+
+        return emitter;
+    }
+
+    private void send ( Set<Subscriber> subscribers, String name, Object delta ) {
+        if ( subscribers == null ) {
+            return;
+        }
+        subscribers.forEach ( subscriber -> subscriber.enqueue ( SseEmitter.event ( ).name ( name ).data ( delta ) ) );
+    }
+
+    private void sendHeartbeat ( Subscriber subscriber ) {
+        subscriber.enqueue ( SseEmitter.event ( ).comment ( "heartbeat" ) );
+    }
+
+    private void send ( SseEmitter emitter, SseEmitter.SseEventBuilder event ) {
+        try {
+            emitter.send ( event );
+        } catch (IOException | IllegalStateException e) {
+            log.debug ( "Dropping time slot stream subscriber: {}", e.getMessage ( ) );
+            emitter.completeWithError ( e );
+        }
+    }
+
+    // Events of one subscriber are sent by at most one task at a time, in the order they were queued
+    private class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending;
+        private final AtomicBoolean draining = new AtomicBoolean ( );
+
+        private Subscriber ( SseEmitter emitter ) {
+            this.emitter = emitter;
+            this.pending = new LinkedBlockingQueue<> ( MAX_PENDING_EVENTS );
+        }
+
+        private void enqueue ( SseEmitter.SseEventBuilder event ) {
+            if ( !pending.offer ( event ) ) {
+                log.debug ( "Dropping time slot stream subscriber with {} pending events", MAX_PENDING_EVENTS );
+                complete ( );
+                return;
+            }
+
+            if ( draining.compareAndSet ( false, true ) ) {
+                sender.execute ( this::drain );
+            }
+        }
+
+        private void drain () {
+            do {
+                SseEmitter.SseEventBuilder event;
+
+                while ((event = pending.poll ( )) != null) {
+                    send ( emitter, event );
+                }
+                draining.set ( false );
+            } while (!pending.isEmpty ( ) && draining.compareAndSet ( false, true ));
+        }
+
+        private void complete () {
+            pending.clear ( );
+            emitter.complete ( );
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package medical_clinics.schedule.services;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import medical_clinics.physician.model.Physician;
+import medical_clinics.schedule.models.RollupScope;
+import medical_clinics.schedule.models.Status;
+import medical_clinics.schedule.models.UtilizationRollup;
+import medical_clinics.schedule.projections.SlotCountRow;
+import medical_clinics.schedule.projections.UtilizationCounts;
+import medical_clinics.schedule.repositories.UtilizationRollupRepository;
+import medical_clinics.web.dto.response.UtilizationReport;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@AllArgsConstructor
+public class UtilizationRollupService {
+    private static final int DEFAULT_REPORT_WINDOW_DAYS = 31;
+
+    private final UtilizationRollupRepository utilizationRollupRepository;
+
+    public UtilizationReport getPhysicianUtilization ( UUID physicianId, LocalDate from, LocalDate to ) {
+        LocalDate windowEnd = resolveWindowEnd ( to );
+        LocalDate windowStart = resolveWindowStart ( from, windowEnd );
+
+        return toReport ( windowStart, windowEnd, utilizationRollupRepository.sumCounts (
+                RollupScope.PHYSICIAN, physicianId, windowStart, windowEnd
+        ) );
+    }
+
+    // Clinic totals are summed from the physician rows, so bookings never share a clinic-wide row lock
+    public UtilizationReport getClinicUtilization ( UUID clinicId, LocalDate from, LocalDate to ) {
+        LocalDate windowEnd = resolveWindowEnd ( to );
+        LocalDate windowStart = resolveWindowStart ( from, windowEnd );
+
+        return toReport ( windowStart, windowEnd, utilizationRollupRepository.sumCountsOfClinic (
+                clinicId, windowStart, windowEnd
+        ) );
+    }
+
+    void recordGenerated ( Physician physician, LocalDate date, int slots ) {
+        apply ( physician.getId ( ), clinicIdOf ( physician ), date, slots, 0, 0, 0 );
+    }
+
+    void recordStatusChange ( Physician physician, LocalDate date, Status from, Status to ) {
+        if ( from == to ) {
+            return;
+        }
+
+        apply ( physician.getId ( ), clinicIdOf ( physician ), date,
+                delta ( Status.FREE, from, to ),
+                delta ( Status.RESERVED, from, to ),
+                delta ( Status.PASSED, from, to ),
+                delta ( Status.INACTIVE, from, to )
+        );
+    }
+
+    void recordInactivated ( Physician physician, LocalDate date, int free, int passed ) {
+        apply ( physician.getId ( ), clinicIdOf ( physician ), date, -free, 0, -passed, free + passed );
+    }
+
+    void recordPassed ( LocalDate date, Collection<SlotCountRow> passedSlots ) {
+        for ( SlotCountRow row : passedSlots ) {
+            int slots = row.getSlots ( ).intValue ( );
+            apply ( row.getPhysicianId ( ), row.getClinicId ( ), date, -slots, 0, slots, 0 );
+        }
+    }
+
+    void removeFutureOfPhysician ( UUID physicianId, LocalDate after ) {
+        List<UtilizationRollup> rollups = utilizationRollupRepository.findAllByScopeAndScopeIdAndDateAfter (
+                RollupScope.PHYSICIAN, physicianId, after
+        );
+
+        utilizationRollupRepository.deleteAllInBatch ( rollups );
+    }
+
+    void closeDaysBefore ( LocalDate date ) {
+        int closed = utilizationRollupRepository.closeDaysBefore ( date );
+
+        log.debug ( "Closed {} utilization rollups before [{}]", closed, date );
+    }
+
+    private LocalDate resolveWindowEnd ( LocalDate to ) {
+        return to != null ? to : LocalDate.now ( );
+    }
+
+    private LocalDate resolveWindowStart ( LocalDate from, LocalDate windowEnd ) {
+        return from != null ? from : windowEnd.minusDays ( DEFAULT_REPORT_WINDOW_DAYS - 1 );
+    }
+
+    private UtilizationReport toReport ( LocalDate windowStart, LocalDate windowEnd, UtilizationCounts counts ) {
+        long offered = counts.getFreeSlots ( ) + counts.getReservedSlots ( ) + counts.getPassedSlots ( );
+
+        return UtilizationReport.builder ( )
+                .from ( windowStart )
+                .to ( windowEnd )
+                .freeSlots ( counts.getFreeSlots ( ) )
+                .reservedSlots ( counts.getReservedSlots ( ) )
+                .passedSlots ( counts.getPassedSlots ( ) )
+                .inactiveSlots ( counts.getInactiveSlots ( ) )
+                .bookedPercentage ( offered == 0 ? 0 : 100.0 * counts.getReservedSlots ( ) / offered )
+                .build ( );
+    }
+
+    private void apply ( UUID physicianId, UUID clinicId, LocalDate date,
+                         int free, int reserved, int passed, int inactive ) {
+
+        if ( free == 0 && reserved == 0 && passed == 0 && inactive == 0 ) {
+            return;
+        }
+
+        RollupScope scope = RollupScope.PHYSICIAN;
+
+        utilizationRollupRepository.upsertCounts ( rollupId ( scope, physicianId, date ), scope.name ( ),
+                physicianId, clinicId, date, free, reserved, passed, inactive );
+    }
+
+    private static int delta ( Status status, Status from, Status to ) {
+        return (status == to ? 1 : 0) - (status == from ? 1 : 0);
+    }
+
+    private static UUID clinicIdOf ( Physician physician ) {
+        return physician.getWorkplace ( ) != null ? physician.getWorkplace ( ).getId ( ) : null;
+    }
+
+    private static UUID rollupId ( RollupScope scope, UUID scopeId, LocalDate date ) {
+        return UUID.nameUUIDFromBytes ( (scope + ":" + scopeId + ":" + date).getBytes ( StandardCharsets.UTF_8 ) );
+    }
+}
@@ -0,0 +1,85 @@
+package medical_clinics.schedule.services;
+
+import medical_clinics.schedule.models.WaitlistEntry;
+
+import java.time.LocalDate;
+import java.util.*;
+
+class WaitlistIndex {
+    private static final Comparator<WaitlistEntry> WAITING_ORDER = Comparator
+            .comparing ( WaitlistEntry::getCreatedAt )
+            .thenComparing ( WaitlistEntry::getId );
+
+    private final Map<String, NavigableMap<LocalDate, NavigableSet<WaitlistEntry>>> waiters = new HashMap<> ( );
+
+    static String physicianKey ( UUID physicianId ) {
+        return "physician:" + physicianId;
+    }
+
+    static String specialtyKey ( UUID clinicId, UUID specialtyId ) {
+        return "specialty:" + clinicId + ":" + specialtyId;
+    }
+
+    static String keyOf ( WaitlistEntry entry ) {
+        return entry.getPhysicianId ( ) != null
+                ? physicianKey ( entry.getPhysicianId ( ) )
+                : specialtyKey ( entry.getClinicId ( ), entry.getSpecialtyId ( ) );
+    }
+
+    boolean isEmpty () {
+        return waiters.isEmpty ( );
+    }
+
+    void add ( WaitlistEntry entry ) {
+        NavigableMap<LocalDate, NavigableSet<WaitlistEntry>> days =
+                waiters.computeIfAbsent ( keyOf ( entry ), key -> new TreeMap<> ( ) );
+
+        for ( LocalDate date : daysOf ( entry ) ) {
+            days.computeIfAbsent ( date, day -> new TreeSet<> ( WAITING_ORDER ) ).add ( entry );
+        }
+    }
+
+    void remove ( WaitlistEntry entry ) {
+        String key = keyOf ( entry );
+        NavigableMap<LocalDate, NavigableSet<WaitlistEntry>> days = waiters.get ( key );
+
+        if ( days == null ) {
+            return;
+        }
+
+        for ( LocalDate date : daysOf ( entry ) ) {
+            NavigableSet<WaitlistEntry> entries = days.get ( date );
+
+            if ( entries != null && entries.remove ( entry ) && entries.isEmpty ( ) ) {
+                days.remove ( date );
+            }
+        }
+
+        if ( days.isEmpty ( ) ) {
+            waiters.remove ( key );
+        }
+    }
+
+    Optional<WaitlistEntry> first ( String key, LocalDate date ) {
+        NavigableMap<LocalDate, NavigableSet<WaitlistEntry>> days = waiters.get ( key );
+
+        if ( days == null || !days.containsKey ( date ) ) {
+            return Optional.empty ( );
+        }
+
+        return Optional.of ( days.get ( date ).first ( ) );
+    }
+
+    void removeDaysBefore ( LocalDate date ) {
+        waiters.values ( ).forEach ( days -> days.headMap ( date, false ).clear ( ) );
+        waiters.values ( ).removeIf ( Map::isEmpty );
+    }
+
+    void clear () {
+        waiters.clear ( );
+    }
+
+    private static List<LocalDate> daysOf ( WaitlistEntry entry ) {
+        return entry.getFromDate ( ).datesUntil ( entry.getToDate ( ).plusDays ( 1 ) ).toList ( );
+    }
+}
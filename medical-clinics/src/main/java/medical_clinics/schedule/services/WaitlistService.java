@@ -0,0 +1,276 @@
+package medical_clinics.schedule.services;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import medical_clinics.physician.model.Physician;
+import medical_clinics.physician.repository.PhysicianRepository;
+import medical_clinics.schedule.exceptions.ScheduleConflictException;
+import medical_clinics.schedule.exceptions.ScheduleNotFoundException;
+import medical_clinics.schedule.mapper.DailyScheduleMapper;
+import medical_clinics.schedule.models.SlotHold;
+import medical_clinics.schedule.models.DailySchedule;
+import medical_clinics.schedule.models.Status;
+import medical_clinics.schedule.models.TimeSlot;
+import medical_clinics.schedule.models.WaitlistEntry;
+import medical_clinics.schedule.repositories.WaitlistEntryRepository;
+import medical_clinics.web.dto.NewWaitlistEntry;
+import medical_clinics.web.dto.events.SlotHoldExpiredEvent;
+import medical_clinics.web.dto.events.TimeSlotStatusChangeEvent;
+import medical_clinics.web.dto.events.WaitlistOfferEvent;
+import medical_clinics.web.dto.response.WaitlistEntryResponse;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WaitlistService {
+    private static final int MAX_WAITLIST_DAYS = 92;
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final PhysicianRepository physicianRepository;
+    private final SlotHoldService slotHoldService;
+    private final TimeSlotService timeSlotService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final WaitlistIndex waitlistIndex = new WaitlistIndex ( );
+    private final Lock lock = new ReentrantLock ( );
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load () {
+        List<WaitlistEntry> entries = waitlistEntryRepository.findAllByOfferedTimeSlotIdIsNullAndToDateGreaterThanEqual (
+                LocalDate.now ( )
+        );
+
+        lock.lock ( );
+        try {
+            waitlistIndex.clear ( );
+            entries.forEach ( waitlistIndex::add );
+        } finally {
+            lock.unlock ( );
+        }
+
+        log.info ( "Waitlist loaded {} waiting entries", entries.size ( ) );
+    }
+
+    public WaitlistEntryResponse join ( UUID accountId, NewWaitlistEntry newEntry ) {
+        boolean byPhysician = newEntry.getPhysicianId ( ) != null;
+        boolean bySpecialty = newEntry.getClinicId ( ) != null && newEntry.getSpecialtyId ( ) != null;
+
+        if ( byPhysician == bySpecialty ) {
+            throw new ScheduleConflictException ( "Waitlist must target either a physician or a clinic and specialty" );
+        }
+
+        if ( newEntry.getFrom ( ).isAfter ( newEntry.getTo ( ) ) ) {
+            throw new ScheduleConflictException ( "First day of the waitlist must not be after the last day" );
+        }
+
+        if ( ChronoUnit.DAYS.between ( newEntry.getFrom ( ), newEntry.getTo ( ) ) >= MAX_WAITLIST_DAYS ) {
+            throw new ScheduleConflictException ( "Waitlist can span at most %d days".formatted ( MAX_WAITLIST_DAYS ) );
+        }
+
+        WaitlistEntry entry = waitlistEntryRepository.save ( WaitlistEntry.builder ( )
+                .accountId ( accountId )
+                .physicianId ( newEntry.getPhysicianId ( ) )
+                .clinicId ( byPhysician ? null : newEntry.getClinicId ( ) )
+                .specialtyId ( byPhysician ? null : newEntry.getSpecialtyId ( ) )
+                .fromDate ( newEntry.getFrom ( ) )
+                .toDate ( newEntry.getTo ( ) )
+                .createdAt ( LocalDateTime.now ( ) )
+                .build ( )
+        );
+
+        lock.lock ( );
+        try {
+            waitlistIndex.add ( entry );
+        } finally {
+            lock.unlock ( );
+        }
+
+        return DailyScheduleMapper.mapToWaitlistEntryResponse ( entry );
+    }
+
+    public void leave ( UUID accountId, UUID entryId ) {
+        WaitlistEntry entry = waitlistEntryRepository.findById ( entryId )
+                .filter ( found -> found.getAccountId ( ).equals ( accountId ) )
+                .orElseThrow ( () -> new ScheduleNotFoundException ( "Waitlist entry " + entryId + " not found" ) );
+
+        lock.lock ( );
+        try {
+            waitlistIndex.remove ( entry );
+        } finally {
+            lock.unlock ( );
+        }
+
+        waitlistEntryRepository.delete ( entry );
+    }
+
+    public List<WaitlistEntryResponse> getEntries ( UUID accountId ) {
+        return waitlistEntryRepository.findAllByAccountIdAndToDateGreaterThanEqualOrderByCreatedAt (
+                        accountId, LocalDate.now ( )
+                ).stream ( )
+                .map ( DailyScheduleMapper::mapToWaitlistEntryResponse )
+                .toList ( );
+    }
+
+    // Runs after the release has committed, so the offer needs a transaction of its own to be persisted
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    @TransactionalEventListener(fallbackExecution = true)
+    void onTimeSlotStatusChange ( TimeSlotStatusChangeEvent statusChange ) {
+        if ( !Status.FREE.equals ( statusChange.getStatus ( ) ) || isStarted ( statusChange ) ) {
+            return;
+        }
+
+        lock.lock ( );
+        try {
+            if ( waitlistIndex.isEmpty ( ) ) {
+                return;
+            }
+
+            findFirstWaiting ( statusChange ).ifPresent ( entry -> offer ( entry, statusChange.getTimeSlotId ( ) ) );
+        } finally {
+            lock.unlock ( );
+        }
+    }
+
+    @EventListener
+    void onSlotHoldExpired ( SlotHoldExpiredEvent event ) {
+        List<WaitlistEntry> lapsed = waitlistEntryRepository.findAllByOfferedTimeSlotIdAndAccountId (
+                event.getTimeSlotId ( ), event.getAccountId ( )
+        );
+
+        if ( lapsed.isEmpty ( ) ) {
+            return;
+        }
+
+        lapsed.forEach ( entry -> {
+            entry.setOfferedTimeSlotId ( null );
+            entry.setOfferExpiresAt ( null );
+        } );
+        waitlistEntryRepository.saveAll ( lapsed );
+
+        Optional<TimeSlot> timeSlot = timeSlotService.findOpenTimeSlot ( event.getTimeSlotId ( ) );
+        LocalDate today = LocalDate.now ( );
+
+        lock.lock ( );
+        try {
+            // The slot goes to the next waiter first, the lapsed entries keep their place for later slots
+            timeSlot.map ( found -> freed ( event.getTimeSlotId ( ), found ) )
+                    .flatMap ( this::findFirstWaiting )
+                    .ifPresent ( entry -> offer ( entry, event.getTimeSlotId ( ) ) );
+
+            lapsed.stream ( )
+                    .filter ( entry -> !entry.getToDate ( ).isBefore ( today ) )
+                    .forEach ( waitlistIndex::add );
+        } finally {
+            lock.unlock ( );
+        }
+
+        log.info ( "Offer of timeslot [{}] to account [{}] lapsed, {} waitlist entries restored",
+                event.getTimeSlotId ( ), event.getAccountId ( ), lapsed.size ( ) );
+    }
+
+    @Scheduled(cron = "0 10 00 * * *")
+    void removeExpired () {
+        LocalDate today = LocalDate.now ( );
+
+        lock.lock ( );
+        try {
+            waitlistIndex.removeDaysBefore ( today );
+        } finally {
+            lock.unlock ( );
+        }
+
+        log.info ( "Removed {} expired waitlist entries", waitlistEntryRepository.deleteAllByToDateBefore ( today ) );
+    }
+
+    private Optional<WaitlistEntry> findFirstWaiting ( TimeSlotStatusChangeEvent statusChange ) {
+        Optional<WaitlistEntry> byPhysician = waitlistIndex.first (
+                WaitlistIndex.physicianKey ( statusChange.getPhysicianId ( ) ), statusChange.getDate ( )
+        );
+
+        Optional<WaitlistEntry> bySpecialty = Optional.empty ( );
+
+        if ( statusChange.getClinicId ( ) != null ) {
+            bySpecialty = physicianRepository.findById ( statusChange.getPhysicianId ( ) )
+                    .map ( Physician::getSpecialty )
+                    .flatMap ( specialty -> waitlistIndex.first (
+                            WaitlistIndex.specialtyKey ( statusChange.getClinicId ( ), specialty.getId ( ) ),
+                            statusChange.getDate ( )
+                    ) );
+        }
+
+        if ( byPhysician.isEmpty ( ) ) {
+            return bySpecialty;
+        }
+
+        if ( bySpecialty.isEmpty ( ) ) {
+            return byPhysician;
+        }
+
+        return byPhysician.get ( ).getCreatedAt ( ).isAfter ( bySpecialty.get ( ).getCreatedAt ( ) )
+                ? bySpecialty
+                : byPhysician;
+    }
+
+    private void offer ( WaitlistEntry entry, UUID timeSlotId ) {
+        SlotHold slotHold;
+
+        try {
+            slotHold = slotHoldService.hold ( entry.getAccountId ( ), timeSlotId );
+        } catch (ScheduleConflictException e) {
+            log.debug ( "Released timeslot [{}] is already held, waitlist offer skipped", timeSlotId );
+            return;
+        }
+
+        entry.setOfferedTimeSlotId ( timeSlotId );
+        entry.setOfferExpiresAt ( slotHold.getExpiresAt ( ) );
+
+        waitlistIndex.remove ( entry );
+        waitlistEntryRepository.save ( entry );
+
+        eventPublisher.publishEvent ( new WaitlistOfferEvent (
+                entry.getId ( ), entry.getAccountId ( ), timeSlotId, slotHold.getExpiresAt ( )
+        ) );
+
+        log.info ( "Timeslot [{}] offered to waitlist entry [{}] until {}",
+                timeSlotId, entry.getId ( ), slotHold.getExpiresAt ( ) );
+    }
+
+    private TimeSlotStatusChangeEvent freed ( UUID timeSlotId, TimeSlot timeSlot ) {
+        DailySchedule schedule = timeSlot.getDailySchedule ( );
+        Physician physician = schedule.getPhysician ( );
+
+        return new TimeSlotStatusChangeEvent (
+                timeSlotId,
+                physician.getId ( ),
+                physician.getWorkplace ( ) != null ? physician.getWorkplace ( ).getId ( ) : null,
+                schedule.getDate ( ),
+                timeSlot.getStartTime ( ),
+                Status.FREE
+        );
+    }
+
+    private boolean isStarted ( TimeSlotStatusChangeEvent statusChange ) {
+        LocalDate today = LocalDate.now ( );
+
+        if ( statusChange.getDate ( ).equals ( today ) ) {
+            return !statusChange.getStartTime ( ).isAfter ( LocalTime.now ( ) );
+        }
+
+        return statusChange.getDate ( ).isBefore ( today );
+    }
+}
@@ -0,0 +1,22 @@
+package medical_clinics.shared.cache;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.*;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+
+@Entity
+public class ResourceVersion {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    private long version;
+}
@@ -0,0 +1,25 @@
+package medical_clinics.shared.cache;
+
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ResourceVersionRepository extends JpaRepository<ResourceVersion, String> {
+
+    @Query("select v.version from ResourceVersion v where v.name = :name")
+    Optional<Long> findVersion ( @Param("name") String name );
+
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = """
+            insert into resource_version (name, version) values (:name, 1)
+            on duplicate key update version = version + 1
+            """)
+    int increment ( @Param("name") String name );
+}
@@ -0,0 +1,82 @@
+package medical_clinics.shared.cache;
+
+import lombok.AllArgsConstructor;
+import medical_clinics.web.dto.events.PassedTimeSlotsEvent;
+import medical_clinics.web.dto.events.ScheduleDayChangeEvent;
+import medical_clinics.web.dto.events.TimeSlotStatusChangeEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Component
+@AllArgsConstructor
+public class ResourceVersions {
+    private static final String CLINICS = "clinics";
+    private static final String SCHEDULES = "schedules";
+
+    private final ResourceVersionRepository resourceVersionRepository;
+
+    public String getClinicsETag () {
+        return toETag ( "c-%d".formatted ( versionOf ( CLINICS ) ) );
+    }
+
+    public String getClinicPhysiciansETag ( UUID clinicId, UUID specialityId ) {
+        return toETag ( "p-%d-%s".formatted ( versionOf ( clinicPhysicians ( clinicId ) ), specialityId ) );
+    }
+
+    public String getPhysicianScheduleETag (
+            UUID physicianId, LocalDate today, LocalDate from, LocalDate to, Integer limit ) {
+
+        return toETag ( "s-%d-%d-%s-%s-%s-%s".formatted (
+                versionOf ( SCHEDULES ), versionOf ( physicianSchedule ( physicianId ) ), today, from, to, limit
+        ) );
+    }
+
+    public void clinicsChanged () {
+        resourceVersionRepository.increment ( CLINICS );
+    }
+
+    public void clinicPhysiciansChanged ( UUID clinicId ) {
+        resourceVersionRepository.increment ( clinicPhysicians ( clinicId ) );
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    void onTimeSlotStatusChange ( TimeSlotStatusChangeEvent event ) {
+        physicianScheduleChanged ( event.getPhysicianId ( ) );
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    void onScheduleDayChange ( ScheduleDayChangeEvent event ) {
+        physicianScheduleChanged ( event.getPhysicianId ( ) );
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    void onPassedTimeSlots ( PassedTimeSlotsEvent event ) {
+        resourceVersionRepository.increment ( SCHEDULES );
+    }
+
+    private void physicianScheduleChanged ( UUID physicianId ) {
+        if ( physicianId != null ) {
+            resourceVersionRepository.increment ( physicianSchedule ( physicianId ) );
+        }
+    }
+
+    private long versionOf ( String name ) {
+        return resourceVersionRepository.findVersion ( name ).orElse ( 0L );
+    }
+
+    private static String clinicPhysicians ( UUID clinicId ) {
+        return "physicians-" + clinicId;
+    }
+
+    private static String physicianSchedule ( UUID physicianId ) {
+        return "schedule-" + physicianId;
+    }
+
+    private String toETag ( String version ) {
+        return "\"" + version + "\"";
+    }
+}
@@ -0,0 +1,18 @@
+package medical_clinics.shared.config;
+
+import medical_clinics.schedule.services.TimeSlotDeduplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SchemaConfig {
+
+    // Duplicates have to be gone before ddl-auto adds the unique constraint of the time slots
+    @Bean
+    @ConditionalOnProperty(name = "schedule.time-slots.deduplicate", havingValue = "true")
+    public static EntityManagerFactoryDependsOnPostProcessor timeSlotDeduplicationDependency () {
+        return new EntityManagerFactoryDependsOnPostProcessor ( TimeSlotDeduplication.class );
+    }
+}
@@ -0,0 +1,7 @@
+package medical_clinics.shared.exception;
+
+public class IdempotencyKeyInUseException extends IllegalStateException {
+    public IdempotencyKeyInUseException ( String message ) {
+        super ( message );
+    }
+}
@@ -0,0 +1,7 @@
+package medical_clinics.shared.exception;
+
+public class IdempotencyKeyReusedException extends IllegalArgumentException {
+    public IdempotencyKeyReusedException ( String message ) {
+        super ( message );
+    }
+}
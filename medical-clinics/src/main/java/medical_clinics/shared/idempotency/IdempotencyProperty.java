@@ -0,0 +1,20 @@
+package medical_clinics.shared.idempotency;
+
+import lombok.*;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Setter
+
+@ConfigurationProperties("idempotency")
+public class IdempotencyProperty {
+
+    private Duration ttl;
+
+    private int maxEntries;
+}
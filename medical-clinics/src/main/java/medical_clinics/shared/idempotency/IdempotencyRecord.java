@@ -0,0 +1,32 @@
+package medical_clinics.shared.idempotency;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter
+
+@Entity
+@Table(indexes = @Index(name = "idx_idempotency_record_expires_at", columnList = "expires_at"))
+public class IdempotencyRecord {
+
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Basic(optional = false)
+    private Integer status;
+
+    private String location;
+
+    @Column(length = 64)
+    private String fingerprint;
+
+    @Basic(optional = false)
+    private LocalDateTime expiresAt;
+}
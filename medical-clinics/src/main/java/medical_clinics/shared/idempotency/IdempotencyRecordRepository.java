@@ -0,0 +1,56 @@
+package medical_clinics.shared.idempotency;
+
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    Optional<IdempotencyRecord> findByIdAndExpiresAtAfter ( String id, LocalDateTime now );
+
+    @Modifying
+    @Transactional
+    @Query("""
+            insert into IdempotencyRecord (id, status, fingerprint, expiresAt)
+            values (:id, :status, :fingerprint, :expiresAt)
+            """)
+    int claim (
+            @Param("id") String id,
+            @Param("status") Integer status,
+            @Param("fingerprint") String fingerprint,
+            @Param("expiresAt") LocalDateTime expiresAt );
+
+    @Modifying
+    @Transactional
+    @Query("""
+            update IdempotencyRecord r set r.status = :status, r.location = :location, r.expiresAt = :expiresAt
+            where r.id = :id
+            """)
+    int complete (
+            @Param("id") String id,
+            @Param("status") Integer status,
+            @Param("location") String location,
+            @Param("expiresAt") LocalDateTime expiresAt );
+
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.id = :id")
+    int release ( @Param("id") String id );
+
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.id = :id and r.expiresAt <= :now")
+    int deleteExpiredById ( @Param("id") String id, @Param("now") LocalDateTime now );
+
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.expiresAt <= :now")
+    int deleteExpired ( @Param("now") LocalDateTime now );
+}
@@ -0,0 +1,212 @@
+package medical_clinics.shared.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import medical_clinics.shared.exception.IdempotencyKeyInUseException;
+import medical_clinics.shared.exception.IdempotencyKeyReusedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+public class IdempotencyService {
+    private static final int LOCK_STRIPES = 64;
+    private static final int IN_PROGRESS = 0;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final IdempotencyProperty idempotencyProperty;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, IdempotencyRecord> records;
+    private final Lock[] locks = createLocks ( );
+
+    public IdempotencyService ( IdempotencyRecordRepository idempotencyRecordRepository,
+                                IdempotencyProperty idempotencyProperty,
+                                ObjectMapper objectMapper ) {
+
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.idempotencyProperty = idempotencyProperty;
+        this.objectMapper = objectMapper;
+        this.records = Collections.synchronizedMap ( new LinkedHashMap<> ( 16, 0.75f, true ) {
+            @Override
+            protected boolean removeEldestEntry ( Map.Entry<String, IdempotencyRecord> eldest ) {
+                return size ( ) > idempotencyProperty.getMaxEntries ( );
+            }
+        } );
+    }
+
+    public ResponseEntity<Void> execute ( String idempotencyKey, String operation, Object payload,
+                                          Supplier<ResponseEntity<Void>> action ) {
+
+        if ( idempotencyKey == null || idempotencyKey.isBlank ( ) ) {
+            return action.get ( );
+        }
+
+        String id = hash ( operation + "\n" + idempotencyKey );
+        String fingerprint = fingerprint ( payload );
+        Lock lock = locks[Math.floorMod ( id.hashCode ( ), LOCK_STRIPES )];
+        lock.lock ( );
+
+        try {
+            Optional<IdempotencyRecord> stored = find ( id ).or ( () -> claim ( id, fingerprint ) );
+
+            if ( stored.isPresent ( ) ) {
+                return replay ( stored.get ( ), fingerprint, operation );
+            }
+
+            ResponseEntity<Void> response;
+
+            try {
+                response = action.get ( );
+            } catch (RuntimeException e) {
+                idempotencyRecordRepository.release ( id );
+                throw e;
+            }
+
+            store ( id, fingerprint, response );
+
+            return response;
+        } finally {
+            lock.unlock ( );
+        }
+    }
+
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.HOURS)
+    void evictExpiredRecords () {
+        LocalDateTime now = LocalDateTime.now ( );
+
+        synchronized (records) {
+            records.values ( ).removeIf ( record -> !record.getExpiresAt ( ).isAfter ( now ) );
+        }
+
+        int evicted = idempotencyRecordRepository.deleteExpired ( now );
+        log.debug ( "Evicted {} expired idempotency records", evicted );
+    }
+
+    private Optional<IdempotencyRecord> find ( String id ) {
+        LocalDateTime now = LocalDateTime.now ( );
+        IdempotencyRecord record = records.get ( id );
+
+        if ( record != null && record.getExpiresAt ( ).isAfter ( now ) ) {
+            return Optional.of ( record );
+        }
+
+        Optional<IdempotencyRecord> stored = idempotencyRecordRepository.findByIdAndExpiresAtAfter ( id, now );
+        stored.filter ( storedRecord -> storedRecord.getStatus ( ) != IN_PROGRESS )
+                .ifPresent ( storedRecord -> records.put ( id, storedRecord ) );
+
+        return stored;
+    }
+
+    // The key is claimed by a committed row before the action runs, so a retry on another node sees it
+    private Optional<IdempotencyRecord> claim ( String id, String fingerprint ) {
+        LocalDateTime now = LocalDateTime.now ( );
+        LocalDateTime expiresAt = now.plus ( idempotencyProperty.getTtl ( ) );
+
+        try {
+            idempotencyRecordRepository.claim ( id, IN_PROGRESS, fingerprint, expiresAt );
+            return Optional.empty ( );
+        } catch (DataIntegrityViolationException e) {
+            Optional<IdempotencyRecord> claimed = idempotencyRecordRepository.findByIdAndExpiresAtAfter ( id, now );
+
+            if ( claimed.isPresent ( ) ) {
+                return claimed;
+            }
+        }
+
+        idempotencyRecordRepository.deleteExpiredById ( id, now );
+
+        try {
+            idempotencyRecordRepository.claim ( id, IN_PROGRESS, fingerprint, expiresAt );
+            return Optional.empty ( );
+        } catch (DataIntegrityViolationException e) {
+            throw new IdempotencyKeyInUseException ( "Request with the same Idempotency-Key is in progress" );
+        }
+    }
+
+    private ResponseEntity<Void> replay ( IdempotencyRecord record, String fingerprint, String operation ) {
+        if ( record.getFingerprint ( ) != null && !record.getFingerprint ( ).equals ( fingerprint ) ) {
+            throw new IdempotencyKeyReusedException ( "Idempotency-Key was already used with a different body" );
+        }
+
+        if ( record.getStatus ( ) == IN_PROGRESS ) {
+            throw new IdempotencyKeyInUseException ( "Request with the same Idempotency-Key is in progress" );
+        }
+
+        log.debug ( "Replaying stored response for idempotent [{}]", operation );
+        return toResponse ( record );
+    }
+
+    private void store ( String id, String fingerprint, ResponseEntity<Void> response ) {
+        if ( !response.getStatusCode ( ).is2xxSuccessful ( ) ) {
+            idempotencyRecordRepository.release ( id );
+            return;
+        }
+
+        URI location = response.getHeaders ( ).getLocation ( );
+
+        IdempotencyRecord record = IdempotencyRecord.builder ( )
+                .id ( id )
+                .status ( response.getStatusCode ( ).value ( ) )
+                .location ( location != null ? location.toString ( ) : null )
+                .fingerprint ( fingerprint )
+                .expiresAt ( LocalDateTime.now ( ).plus ( idempotencyProperty.getTtl ( ) ) )
+                .build ( );
+
+        idempotencyRecordRepository.complete (
+                id, record.getStatus ( ), record.getLocation ( ), record.getExpiresAt ( )
+        );
+        records.put ( id, record );
+    }
+
+    private String fingerprint ( Object payload ) {
+        try {
+            return hash ( payload == null ? "" : objectMapper.writeValueAsString ( payload ) );
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException ( e );
+        }
+    }
+
+    private ResponseEntity<Void> toResponse ( IdempotencyRecord record ) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status ( record.getStatus ( ) );
+
+        if ( record.getLocation ( ) != null ) {
+            response.header ( HttpHeaders.LOCATION, record.getLocation ( ) );
+        }
+
+        return response.build ( );
+    }
+
+    private static String hash ( String value ) {
+        try {
+            byte[] digest = MessageDigest.getInstance ( "SHA-256" ).digest ( value.getBytes ( StandardCharsets.UTF_8 ) );
+            return HexFormat.of ( ).formatHex ( digest );
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException ( e );
+        }
+    }
+
+    private static Lock[] createLocks () {
+        Lock[] locks = new Lock[LOCK_STRIPES];
+
+        for ( int i = 0; i < LOCK_STRIPES; i++ ) {
+            locks[i] = new ReentrantLock ( );
+        }
+        return locks;
+    }
+}
@@ -10,17 +10,23 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import medical_clinics.clinic.services.ClinicService;
+import medical_clinics.schedule.services.DailyScheduleService;
+import medical_clinics.shared.cache.ResourceVersions;
 import medical_clinics.web.dto.CreateEditClinicRequest;
 import medical_clinics.web.dto.response.ClinicDetails;
 import medical_clinics.web.dto.response.ClinicShortInfo;
+import medical_clinics.web.dto.response.schedule_private.ClinicDaySchedule;
 import medical_clinics.web.exception_handler.ExceptionResponse;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,16 +36,28 @@ import java.util.UUID;
 public class ClinicController {
 
     private final ClinicService clinicService;
+    private final DailyScheduleService dailyScheduleService;
+    private final ResourceVersions resourceVersions;
 
     @Operation(summary = "Get all clinics short information")
-    @ApiResponses(
+    @ApiResponses({
             @ApiResponse(responseCode = "200",
                     content = @Content(schema = @Schema(implementation = ClinicShortInfo[].class))
-            )
-    )
+            ),
+            @ApiResponse(responseCode = "304", description = "Clinics not modified since the provided ETag")
+    })
     @GetMapping("/")
-    public ResponseEntity<List<ClinicShortInfo>> getAllClinics () {
-        return ResponseEntity.ok ( clinicService.getAllClinics ( ) );
+    public ResponseEntity<List<ClinicShortInfo>> getAllClinics ( WebRequest request ) {
+        String eTag = resourceVersions.getClinicsETag ( );
+
+        if ( request.checkNotModified ( eTag ) ) {
+            return null;
+        }
+
+        return ResponseEntity.ok ( )
+                .eTag ( eTag )
+                .cacheControl ( CacheControl.noCache ( ) )
+                .body ( clinicService.getAllClinics ( ) );
     }
 
     @Operation(
@@ -96,6 +114,29 @@ public class ClinicController {
         return ResponseEntity.ok ( clinicService.getClinicById ( clinicId ) );
     }
 
+    @Operation(
+            summary = "Get schedules of all clinic physicians for a day with appointed patients",
+            security = @SecurityRequirement(name = "Bearer token", scopes = {"ROLE_ADMIN", "ROLE_PHYSICIAN"})
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    content = @Content(schema = @Schema(implementation = ClinicDaySchedule.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            ),
+            @ApiResponse(responseCode = "403", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            )
+    })
+    @GetMapping("/clinic/{clinicId}/day/{date}")
+    @PreAuthorize("hasAnyRole('ADMIN','PHYSICIAN')")
+    public ResponseEntity<ClinicDaySchedule> getClinicDaySchedule (
+            @PathVariable UUID clinicId, @PathVariable LocalDate date ) {
+
+        return ResponseEntity.ok ( dailyScheduleService.getClinicDaySchedule ( clinicId, date ) );
+    }
+
     @Operation(
             summary = "Update clinic information",
             security = @SecurityRequirement(name = "Bearer token", scopes = "ROLE_ADMIN")
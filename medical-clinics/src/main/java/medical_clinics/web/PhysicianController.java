@@ -10,14 +10,17 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import medical_clinics.physician.service.PhysicianService;
+import medical_clinics.shared.cache.ResourceVersions;
 import medical_clinics.web.dto.CreatePhysician;
 import medical_clinics.web.dto.PhysicianEditRequest;
 import medical_clinics.web.dto.response.PhysicianInfo;
 import medical_clinics.web.exception_handler.ExceptionResponse;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -30,6 +33,7 @@ import java.util.UUID;
 @RequestMapping("/physicians")
 public class PhysicianController {
     private final PhysicianService physicianService;
+    private final ResourceVersions resourceVersions;
 
     @Operation(
             summary = "Create new physician",
@@ -131,16 +135,26 @@ public class PhysicianController {
     }
 
     @Operation(summary = "Get list of physicians by there workplace ( clinicId ) and speciality (specialityId)")
-    @ApiResponses(
+    @ApiResponses({
             @ApiResponse(responseCode = "200",
                     content = @Content(schema = @Schema(implementation = PhysicianInfo[].class))
-            )
-    )
+            ),
+            @ApiResponse(responseCode = "304", description = "Physicians not modified since the provided ETag")
+    })
     @GetMapping("/{clinicId}/{specialityId}")
     public ResponseEntity<List<PhysicianInfo>> getPhysiciansByClinicAndSpeciality (
-            @PathVariable UUID clinicId, @PathVariable UUID specialityId ) {
+            @PathVariable UUID clinicId, @PathVariable UUID specialityId, WebRequest request ) {
+
+        String eTag = resourceVersions.getClinicPhysiciansETag ( clinicId, specialityId );
+
+        if ( request.checkNotModified ( eTag ) ) {
+            return null;
+        }
 
-        return ResponseEntity.ok ( physicianService.getPhysiciansByClinicAndSpeciality ( clinicId, specialityId ) );
+        return ResponseEntity.ok ( )
+                .eTag ( eTag )
+                .cacheControl ( CacheControl.noCache ( ) )
+                .body ( physicianService.getPhysiciansByClinicAndSpeciality ( clinicId, specialityId ) );
     }
 
     @Operation(summary = "Get specific physician information")
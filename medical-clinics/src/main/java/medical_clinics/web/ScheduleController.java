@@ -11,19 +11,42 @@ import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import medical_clinics.physician.service.PhysicianService;
 import medical_clinics.schedule.services.DailyScheduleService;
+import medical_clinics.schedule.services.ScheduleChangeLog;
 import medical_clinics.schedule.services.TimeSlotService;
+import medical_clinics.schedule.services.TimeSlotStreamService;
+import medical_clinics.schedule.services.UtilizationRollupService;
+import medical_clinics.schedule.services.WaitlistService;
+import medical_clinics.shared.cache.ResourceVersions;
+import medical_clinics.shared.idempotency.IdempotencyService;
 import medical_clinics.web.dto.NewDaySchedule;
+import medical_clinics.web.dto.NewWaitlistEntry;
+import medical_clinics.web.dto.ScheduleTemplate;
+import medical_clinics.web.dto.response.ArchivedAppointment;
+import medical_clinics.web.dto.response.FreeAppointment;
 import medical_clinics.web.dto.response.PatientAppointment;
+import medical_clinics.web.dto.response.ScheduleChanges;
+import medical_clinics.web.dto.response.SlotHoldResponse;
+import medical_clinics.web.dto.response.TimeSlotStatusDelta;
+import medical_clinics.web.dto.response.UtilizationReport;
+import medical_clinics.web.dto.response.WaitlistEntryResponse;
+import medical_clinics.web.dto.response.WaitlistOfferDelta;
 import medical_clinics.web.dto.response.schedule_private.PhysicianDaySchedulePrivate;
+import medical_clinics.web.dto.response.schedule_public.PhysicianDayScheduleCompact;
 import medical_clinics.web.dto.response.schedule_public.PhysicianDaySchedulePublic;
+import medical_clinics.web.dto.response.schedule_public.ScheduleDayOverview;
 import medical_clinics.web.exception_handler.ExceptionResponse;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -32,9 +55,17 @@ import java.util.UUID;
 @RestController
 @RequestMapping("/schedules")
 public class ScheduleController {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final DailyScheduleService dailyScheduleService;
     private final TimeSlotService timeSlotService;
     private final PhysicianService physicianService;
+    private final ResourceVersions resourceVersions;
+    private final TimeSlotStreamService timeSlotStreamService;
+    private final IdempotencyService idempotencyService;
+    private final UtilizationRollupService utilizationRollupService;
+    private final WaitlistService waitlistService;
+    private final ScheduleChangeLog scheduleChangeLog;
 
     @Operation(
             summary = "Generate physician schedule",
@@ -68,17 +99,72 @@ public class ScheduleController {
                     content = @Content(schema = @Schema(implementation = NewDaySchedule[].class))
             )
             @RequestBody List<@Valid NewDaySchedule> newDaySchedule,
-            @PathVariable UUID accountId ) {
+            @PathVariable UUID accountId,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey ) {
+
+        String operation = "POST /schedules/new/physician/" + accountId;
 
-        physicianService.generateSchedule ( accountId, newDaySchedule );
+        return idempotencyService.execute ( idempotencyKey, operation, newDaySchedule, () -> {
+            physicianService.generateSchedule ( accountId, newDaySchedule );
 
-        String path = "http://localhost:8080/api/v0/schedules/physician/" + accountId;
+            String path = "http://localhost:8080/api/v0/schedules/physician/" + accountId;
 
-        return ResponseEntity.status ( HttpStatus.CREATED ).header ( HttpHeaders.LOCATION, path ).build ( );
+            return ResponseEntity.status ( HttpStatus.CREATED ).header ( HttpHeaders.LOCATION, path ).build ( );
+        } );
+    }
+
+    @Operation(
+            summary = "Generate physician schedule from recurring template",
+            description = "Creates or extends schedules on the selected days of week for the given number of weeks " +
+                    "starting from start date",
+            security = @SecurityRequirement(name = "Bearer token", scopes = {"ROLE_ADMIN", "ROLE_PHYSICIAN"})
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Physician schedule created successfully",
+                    headers = @Header(name = HttpHeaders.LOCATION, description = "Link to created schedule")
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid input provided",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            ),
+            @ApiResponse(responseCode = "403", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            ),
+            @ApiResponse(responseCode = "404", description = "Physician not found. ",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            ),
+            @ApiResponse(responseCode = "409", description = "Conflict with clinic workdays or time",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            )
+    })
+    @PostMapping("/new/physician/{accountId}/template")
+    @PreAuthorize("hasAnyRole('ADMIN','PHYSICIAN')")
+    public ResponseEntity<Void> generateScheduleFromTemplate (
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Recurring template for physician schedule creation", required = true,
+                    content = @Content(schema = @Schema(implementation = ScheduleTemplate.class))
+            )
+            @RequestBody @Valid ScheduleTemplate template,
+            @PathVariable UUID accountId,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey ) {
+
+        String operation = "POST /schedules/new/physician/" + accountId + "/template";
+
+        return idempotencyService.execute ( idempotencyKey, operation, template, () -> {
+            physicianService.generateScheduleFromTemplate ( accountId, template );
+
+            String path = "http://localhost:8080/api/v0/schedules/physician/" + accountId;
+
+            return ResponseEntity.status ( HttpStatus.CREATED ).header ( HttpHeaders.LOCATION, path ).build ( );
+        } );
     }
 
     @Operation(
             summary = "Get list of physician schedules with appointed patients",
+            description = "Schedules from date (default today) to date (default 31 days later) inclusive, " +
+                    "at most limit days (max 92). For the next page pass the day after the last returned date as from",
             security = @SecurityRequirement(name = "Bearer token", scopes = {"ROLE_ADMIN", "ROLE_PHYSICIAN"})
     )
     @ApiResponses({
@@ -94,25 +180,247 @@ public class ScheduleController {
     })
     @GetMapping("/physician/{accountId}")
     @PreAuthorize("hasAnyRole('ADMIN','PHYSICIAN')")
-    public ResponseEntity<List<PhysicianDaySchedulePrivate>> getPhysicianSchedules ( @PathVariable UUID accountId ) {
-        return ResponseEntity.ok ( dailyScheduleService.getPrivatePhysicianSchedules ( accountId ) );
+    public ResponseEntity<List<PhysicianDaySchedulePrivate>> getPhysicianSchedules (
+            @PathVariable UUID accountId,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) Integer limit ) {
+
+        return ResponseEntity.ok ( dailyScheduleService.getPrivatePhysicianSchedules ( accountId, from, to, limit ) );
     }
 
     @Operation(
             summary = "Get list of physician schedules",
+            description = "Schedules from date (default today) to date (default 31 days later) inclusive, " +
+                    "at most limit days (max 92). For the next page pass the day after the last returned date as from",
             security = @SecurityRequirement(name = "Bearer token")
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200",
                     content = @Content(schema = @Schema(implementation = PhysicianDaySchedulePublic[].class))
             ),
+            @ApiResponse(responseCode = "304", description = "Schedules not modified since the provided ETag"),
             @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
                     content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
             )
     })
     @GetMapping("/")
-    public ResponseEntity<List<PhysicianDaySchedulePublic>> getPublicPhysicianSchedules ( @RequestParam UUID physicianId ) {
-        return ResponseEntity.ok ( dailyScheduleService.getPublicPhysicianSchedules ( physicianId ) );
+    public ResponseEntity<List<PhysicianDaySchedulePublic>> getPublicPhysicianSchedules (
+            @RequestParam UUID physicianId,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request ) {
+
+        String eTag = resourceVersions.getPhysicianScheduleETag (
+                physicianId, LocalDate.now ( ), from, to, limit
+        );
+
+        if ( request.checkNotModified ( eTag ) ) {
+            return null;
+        }
+
+        return ResponseEntity.ok ( )
+                .eTag ( eTag )
+                .cacheControl ( CacheControl.noCache ( ) )
+                .body ( dailyScheduleService.getPublicPhysicianSchedules ( physicianId, from, to, limit ) );
+    }
+
+    @Operation(
+            summary = "Get list of physician schedules in compact form",
+            description = "Same window and paging as the list of physician schedules. Each day is sent as grid " +
+                    "start time, interval in seconds and base64 packed slot states instead of one object per slot",
+            security = @SecurityRequirement(name = "Bearer token")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    content = @Content(schema = @Schema(implementation = PhysicianDayScheduleCompact[].class))
+            ),
+            @ApiResponse(responseCode = "304", description = "Schedules not modified since the provided ETag"),
+            @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            )
+    })
+    @GetMapping(value = "/", params = "format=compact")
+    public ResponseEntity<List<PhysicianDayScheduleCompact>> getCompactPhysicianSchedules (
+            @RequestParam UUID physicianId,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request ) {
+
+        String eTag = resourceVersions.getPhysicianScheduleETag (
+                physicianId, LocalDate.now ( ), from, to, limit
+        );
+
+        if ( request.checkNotModified ( eTag ) ) {
+            return null;
+        }
+
+        return ResponseEntity.ok ( )
+                .eTag ( eTag )
+                .cacheControl ( CacheControl.noCache ( ) )
+                .body ( dailyScheduleService.getCompactPhysicianSchedules ( physicianId, from, to, limit ) );
+    }
+
+    @Operation(
+            summary = "Get schedule changes of physician since sequence",
+            description = "Slot and day changes recorded after since. Without since, when since is no longer " +
+                    "retained or when epoch differs, resync is true: load the full schedule and continue from " +
+                    "the returned epoch and sequence. Changes are kept in memory of a single node, so a restart " +
+                    "or a request served by another node resyncs",
+            security = @SecurityRequirement(name = "Bearer token")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    content = @Content(schema = @Schema(implementation = ScheduleChanges.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            )
+    })
+    @GetMapping("/changes/physician/{physicianId}")
+    public ResponseEntity<ScheduleChanges> getScheduleChanges (
+            @PathVariable UUID physicianId,
+            @RequestParam(required = false) String epoch,
+            @RequestParam(required = false) Long since ) {
+
+        return ResponseEntity.ok ( )
+                .cacheControl ( CacheControl.noStore ( ) )
+                .body ( scheduleChangeLog.getChangesSince ( physicianId, epoch, since ) );
+    }
+
+    @Operation(
+            summary = "Get days with free timeslots of physician in date range",
+            security = @SecurityRequirement(name = "Bearer token")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    content = @Content(schema = @Schema(implementation = LocalDate[].class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            )
+    })
+    @GetMapping("/availability")
+    public ResponseEntity<List<LocalDate>> getDaysWithFreeSlots (
+            @RequestParam UUID physicianId,
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to ) {
+
+        return ResponseEntity.ok ( dailyScheduleService.getDaysWithFreeSlots ( physicianId, from, to ) );
+    }
+
+    @Operation(
+            summary = "Get free, reserved and inactive slot counts of physician schedules",
+            description = "Schedules from date (default today) to date (default 92 days later) inclusive, " +
+                    "at most 366 days",
+            security = @SecurityRequirement(name = "Bearer token")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    content = @Content(schema = @Schema(implementation = ScheduleDayOverview[].class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            )
+    })
+    @GetMapping("/overview/physician/{physicianId}")
+    public ResponseEntity<List<ScheduleDayOverview>> getScheduleOverview (
+            @PathVariable UUID physicianId,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to ) {
+
+        return ResponseEntity.ok ( dailyScheduleService.getScheduleOverview ( physicianId, from, to ) );
+    }
+
+    @Operation(
+            summary = "Find first free timeslots in clinic for speciality in date range",
+            description = "Results are ordered by date, start time and timeslot id. " +
+                    "To get the next page pass date, start time and timeslot id of the last result " +
+                    "as afterDate, afterTime and afterId",
+            security = @SecurityRequirement(name = "Bearer token")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    content = @Content(schema = @Schema(implementation = FreeAppointment[].class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            )
+    })
+    @GetMapping("/free")
+    public ResponseEntity<List<FreeAppointment>> getFreeAppointments (
+            @RequestParam UUID clinicId,
+            @RequestParam UUID specialtyId,
+            @RequestParam LocalDate from,
+            @RequestParam LocalDate to,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) LocalDate afterDate,
+            @RequestParam(required = false) LocalTime afterTime,
+            @RequestParam(required = false) UUID afterId ) {
+
+        return ResponseEntity.ok ( timeSlotService.getFreeAppointments (
+                clinicId, specialtyId, from, to, limit, afterDate, afterTime, afterId
+        ) );
+    }
+
+    @Operation(
+            summary = "Subscribe to timeslot status changes of physician",
+            description = "Server-Sent Events stream. Event 'slot' carries timeslot id and its new status, " +
+                    "event 'passed' marks all free timeslots on date started before given time as passed, " +
+                    "event 'day' marks a whole day of the physician as changed and to be reloaded",
+            security = @SecurityRequirement(name = "Bearer token")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                    schema = @Schema(implementation = TimeSlotStatusDelta.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            )
+    })
+    @GetMapping(value = "/stream/physician/{physicianId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPhysicianTimeSlots ( @PathVariable UUID physicianId ) {
+        return timeSlotStreamService.subscribeToPhysician ( physicianId );
+    }
+
+    @Operation(
+            summary = "Subscribe to timeslot status changes of all physicians in clinic",
+            description = "Server-Sent Events stream. Event 'slot' carries timeslot id and its new status, " +
+                    "event 'passed' marks all free timeslots on date started before given time as passed",
+            security = @SecurityRequirement(name = "Bearer token")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                    schema = @Schema(implementation = TimeSlotStatusDelta.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            )
+    })
+    @GetMapping(value = "/stream/clinic/{clinicId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamClinicTimeSlots ( @PathVariable UUID clinicId ) {
+        return timeSlotStreamService.subscribeToClinic ( clinicId );
+    }
+
+    @Operation(
+            summary = "Subscribe to waitlist offers of patient",
+            description = "Server-Sent Events stream. Event 'offer' carries the waitlist entry, the offered " +
+                    "timeslot and when its hold expires. An offer not taken in time goes to the next waiting patient",
+            security = @SecurityRequirement(name = "Bearer token")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                    schema = @Schema(implementation = WaitlistOfferDelta.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            )
+    })
+    @GetMapping(value = "/stream/waitlist", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamWaitlistOffers ( @RequestParam UUID accountId ) {
+        return timeSlotStreamService.subscribeToWaitlistOffers ( accountId );
     }
 
     @Operation(
@@ -132,8 +440,120 @@ public class ScheduleController {
             )
     })
     @PatchMapping("/appointments/{timeslotId}")
-    public ResponseEntity<Void> makeAppointment ( @RequestParam UUID accountId, @PathVariable UUID timeslotId ) {
-        timeSlotService.makeAppointment ( accountId, timeslotId );
+    public ResponseEntity<Void> makeAppointment (
+            @RequestParam UUID accountId, @PathVariable UUID timeslotId,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey ) {
+
+        String operation = "PATCH /schedules/appointments/" + timeslotId + "?accountId=" + accountId;
+
+        return idempotencyService.execute ( idempotencyKey, operation, null, () -> {
+            timeSlotService.makeAppointment ( accountId, timeslotId );
+            return ResponseEntity.noContent ( ).build ( );
+        } );
+    }
+
+    @Operation(
+            summary = "Hold timeslot for a short time before reservation",
+            security = @SecurityRequirement(name = "Bearer token")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Timeslot held until the returned time",
+                    content = @Content(schema = @Schema(implementation = SlotHoldResponse.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            ),
+            @ApiResponse(responseCode = "404", description = "Timeslot not found.",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            ),
+            @ApiResponse(responseCode = "409", description = "Timeslot not available or held by another patient",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            )
+    })
+    @PostMapping("/appointments/{timeslotId}/hold")
+    public ResponseEntity<SlotHoldResponse> holdAppointment (
+            @RequestParam UUID accountId, @PathVariable UUID timeslotId ) {
+
+        return ResponseEntity.ok ( timeSlotService.holdAppointment ( accountId, timeslotId ) );
+    }
+
+    @Operation(
+            summary = "Release timeslot hold",
+            security = @SecurityRequirement(name = "Bearer token")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Hold released"),
+            @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            )
+    })
+    @DeleteMapping("/appointments/{timeslotId}/hold")
+    public ResponseEntity<Void> releaseHold ( @RequestParam UUID accountId, @PathVariable UUID timeslotId ) {
+        timeSlotService.releaseHold ( accountId, timeslotId );
+        return ResponseEntity.noContent ( ).build ( );
+    }
+
+    @Operation(
+            summary = "Join waitlist for a physician or a clinic specialty",
+            description = "When a matching timeslot is released it is held for the earliest waiting patient, " +
+                    "returned as offeredTimeslotId of the waitlist entry and sent on the waitlist offer stream. " +
+                    "When the hold expires the entry waits again and the timeslot is offered to the next patient",
+            security = @SecurityRequirement(name = "Bearer token")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    content = @Content(schema = @Schema(implementation = WaitlistEntryResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid input provided",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            ),
+            @ApiResponse(responseCode = "409", description = "Invalid waitlist target or date range",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            )
+    })
+    @PostMapping("/waitlist")
+    public ResponseEntity<WaitlistEntryResponse> joinWaitlist (
+            @RequestParam UUID accountId, @Valid @RequestBody NewWaitlistEntry newWaitlistEntry ) {
+
+        return ResponseEntity.ok ( waitlistService.join ( accountId, newWaitlistEntry ) );
+    }
+
+    @Operation(
+            summary = "Get waitlist entries and offers of patient",
+            security = @SecurityRequirement(name = "Bearer token")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    content = @Content(schema = @Schema(implementation = WaitlistEntryResponse[].class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            )
+    })
+    @GetMapping("/waitlist")
+    public ResponseEntity<List<WaitlistEntryResponse>> getWaitlistEntries ( @RequestParam UUID accountId ) {
+        return ResponseEntity.ok ( waitlistService.getEntries ( accountId ) );
+    }
+
+    @Operation(
+            summary = "Leave waitlist",
+            security = @SecurityRequirement(name = "Bearer token")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Waitlist entry removed"),
+            @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            ),
+            @ApiResponse(responseCode = "404", description = "Waitlist entry not found.",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            )
+    })
+    @DeleteMapping("/waitlist/{entryId}")
+    public ResponseEntity<Void> leaveWaitlist ( @RequestParam UUID accountId, @PathVariable UUID entryId ) {
+        waitlistService.leave ( accountId, entryId );
         return ResponseEntity.noContent ( ).build ( );
     }
 
@@ -154,9 +574,136 @@ public class ScheduleController {
             )
     })
     @DeleteMapping("/appointments/{timeslotId}")
-    public ResponseEntity<Void> releaseAppointment ( @RequestParam UUID accountId, @PathVariable UUID timeslotId ) {
-        timeSlotService.releaseAppointment ( accountId, timeslotId );
-        return ResponseEntity.noContent ( ).build ( );
+    public ResponseEntity<Void> releaseAppointment (
+            @RequestParam UUID accountId, @PathVariable UUID timeslotId,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey ) {
+
+        String operation = "DELETE /schedules/appointments/" + timeslotId + "?accountId=" + accountId;
+
+        return idempotencyService.execute ( idempotencyKey, operation, null, () -> {
+            timeSlotService.releaseAppointment ( accountId, timeslotId );
+            return ResponseEntity.noContent ( ).build ( );
+        } );
+    }
+
+    @Operation(
+            summary = "Get visit history of patient",
+            description = "Archived timeslots from date (default one year back) to date (default yesterday) " +
+                    "inclusive, ordered by date, start time and timeslot id, at most limit entries (max 500). " +
+                    "For the next page pass date, startTime and timeslotId of the last returned entry as " +
+                    "afterDate, afterTime and afterId",
+            security = @SecurityRequirement(name = "Bearer token")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    content = @Content(schema = @Schema(implementation = ArchivedAppointment[].class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            )
+    })
+    @GetMapping("/history/patient/{patientId}")
+    public ResponseEntity<List<ArchivedAppointment>> getPatientHistory (
+            @PathVariable UUID patientId,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) LocalDate afterDate,
+            @RequestParam(required = false) LocalTime afterTime,
+            @RequestParam(required = false) UUID afterId ) {
+
+        return ResponseEntity.ok ( dailyScheduleService.getPatientHistory (
+                patientId, from, to, limit, afterDate, afterTime, afterId
+        ) );
+    }
+
+    @Operation(
+            summary = "Get visit history of physician",
+            description = "Archived timeslots from date (default one year back) to date (default yesterday) " +
+                    "inclusive, ordered by date, start time and timeslot id, at most limit entries (max 500). " +
+                    "For the next page pass date, startTime and timeslotId of the last returned entry as " +
+                    "afterDate, afterTime and afterId",
+            security = @SecurityRequirement(name = "Bearer token", scopes = {"ROLE_ADMIN", "ROLE_PHYSICIAN"})
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    content = @Content(schema = @Schema(implementation = ArchivedAppointment[].class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            ),
+            @ApiResponse(responseCode = "403", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            )
+    })
+    @GetMapping("/history/physician/{physicianId}")
+    @PreAuthorize("hasAnyRole('ADMIN','PHYSICIAN')")
+    public ResponseEntity<List<ArchivedAppointment>> getPhysicianHistory (
+            @PathVariable UUID physicianId,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) LocalDate afterDate,
+            @RequestParam(required = false) LocalTime afterTime,
+            @RequestParam(required = false) UUID afterId ) {
+
+        return ResponseEntity.ok ( dailyScheduleService.getPhysicianHistory (
+                physicianId, from, to, limit, afterDate, afterTime, afterId
+        ) );
+    }
+
+    @Operation(
+            summary = "Get slot utilization of physician",
+            description = "Free, reserved, passed and inactive slot counts from date (default 30 days back) " +
+                    "to date (default today) inclusive",
+            security = @SecurityRequirement(name = "Bearer token", scopes = {"ROLE_ADMIN", "ROLE_PHYSICIAN"})
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    content = @Content(schema = @Schema(implementation = UtilizationReport.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            ),
+            @ApiResponse(responseCode = "403", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            )
+    })
+    @GetMapping("/utilization/physician/{physicianId}")
+    @PreAuthorize("hasAnyRole('ADMIN','PHYSICIAN')")
+    public ResponseEntity<UtilizationReport> getPhysicianUtilization (
+            @PathVariable UUID physicianId,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to ) {
+
+        return ResponseEntity.ok ( utilizationRollupService.getPhysicianUtilization ( physicianId, from, to ) );
+    }
+
+    @Operation(
+            summary = "Get slot utilization of clinic",
+            description = "Free, reserved, passed and inactive slot counts from date (default 30 days back) " +
+                    "to date (default today) inclusive",
+            security = @SecurityRequirement(name = "Bearer token", scopes = "ROLE_ADMIN")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200",
+                    content = @Content(schema = @Schema(implementation = UtilizationReport.class))
+            ),
+            @ApiResponse(responseCode = "401", description = "Bearer token not found or invalid",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            ),
+            @ApiResponse(responseCode = "403", description = "Unauthorized",
+                    content = @Content(schema = @Schema(implementation = ExceptionResponse.class))
+            )
+    })
+    @GetMapping("/utilization/clinic/{clinicId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<UtilizationReport> getClinicUtilization (
+            @PathVariable UUID clinicId,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to ) {
+
+        return ResponseEntity.ok ( utilizationRollupService.getClinicUtilization ( clinicId, from, to ) );
     }
 
     @Operation(
@@ -0,0 +1,30 @@
+package medical_clinics.web.dto;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+
+public class NewWaitlistEntry {
+
+    private UUID physicianId;
+
+    private UUID clinicId;
+
+    private UUID specialtyId;
+
+    @NotNull(message = "{not.blank}")
+    @FutureOrPresent(message = "{waitlist.date}")
+    private LocalDate from;
+
+    @NotNull(message = "{not.blank}")
+    private LocalDate to;
+}
@@ -0,0 +1,53 @@
+package medical_clinics.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+import lombok.*;
+import medical_clinics.clinic.models.DaysOfWeek;
+import medical_clinics.web.validation.day_of_week.DayOfWeekName;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+
+public class ScheduleTemplate {
+
+    @NotEmpty(message = "{schedule.template.days}")
+    @ArraySchema(schema = @Schema(type = "enum", example = "monday", description = "case insensitive",
+            implementation = DaysOfWeek.class))
+    private Set<@NotNull(message = "{not.blank}") @DayOfWeekName(message = "{day.of.week}") String> daysOfWeek;
+
+    @NotNull(message = "{not.blank}")
+    @Future(message = "{schedule.date}")
+    private LocalDate startDate;
+
+    @NotNull(message = "{not.blank}")
+    @Schema(type = "integer", pattern = "\\d+", example = "12", maximum = "26", minimum = "1")
+    @Min(value = 1, message = "{schedule.template.weeks}")
+    @Max(value = 26, message = "{schedule.template.weeks}")
+    private Integer weeks;
+
+    @NotNull(message = "{not.blank}")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm:ss")
+    @Schema(type = "string", pattern = "HH:mm:ss", example = "09:00:00")
+    private LocalTime startTime;
+
+    @NotNull(message = "{not.blank}")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "HH:mm:ss")
+    @Schema(type = "string", pattern = "HH:mm:ss", example = "13:00:00")
+    private LocalTime endTime;
+
+    @NotNull(message = "{not.blank}")
+    @Schema(type = "integer", pattern = "\\d+", example = "15", maximum = "60", minimum = "15")
+    @Min(value = 15, message = "{schedule.interval}")
+    @Max(value = 60, message = "{schedule.interval}")
+    private Integer timeSlotInterval;
+}
@@ -0,0 +1,16 @@
+package medical_clinics.web.dto.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@AllArgsConstructor
+@Getter
+
+public class PassedTimeSlotsEvent {
+    private LocalDate date;
+
+    private LocalTime startedBefore;
+}
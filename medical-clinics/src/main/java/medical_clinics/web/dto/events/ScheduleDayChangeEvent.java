@@ -0,0 +1,16 @@
+package medical_clinics.web.dto.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+
+public class ScheduleDayChangeEvent {
+    private UUID physicianId;
+
+    private LocalDate date;
+}
@@ -0,0 +1,15 @@
+package medical_clinics.web.dto.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+
+public class SlotHoldExpiredEvent {
+    private UUID timeSlotId;
+
+    private UUID accountId;
+}
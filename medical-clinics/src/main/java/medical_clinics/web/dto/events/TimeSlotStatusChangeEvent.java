@@ -0,0 +1,26 @@
+package medical_clinics.web.dto.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import medical_clinics.schedule.models.Status;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+
+public class TimeSlotStatusChangeEvent {
+    private UUID timeSlotId;
+
+    private UUID physicianId;
+
+    private UUID clinicId;
+
+    private LocalDate date;
+
+    private LocalTime startTime;
+
+    private Status status;
+}
@@ -0,0 +1,20 @@
+package medical_clinics.web.dto.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@AllArgsConstructor
+@Getter
+
+public class WaitlistOfferEvent {
+    private UUID entryId;
+
+    private UUID accountId;
+
+    private UUID timeSlotId;
+
+    private LocalDateTime expiresAt;
+}
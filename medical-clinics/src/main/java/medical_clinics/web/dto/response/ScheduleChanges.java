@@ -0,0 +1,30 @@
+package medical_clinics.web.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Builder
+
+public class ScheduleChanges {
+    @Schema(description = "The requested sequence is no longer retained, reload the full schedule")
+    private boolean resync;
+
+    @Schema(description = "Epoch of the node that recorded the changes, to pass as epoch on the next request")
+    private String epoch;
+
+    @Schema(description = "Sequence to pass as since on the next request")
+    private long sequence;
+
+    private List<ScheduleChange> changes;
+
+    @Schema(description = "Latest passed time slots marker recorded after since, if any")
+    private PassedTimeSlotsDelta passed;
+}
@@ -0,0 +1,20 @@
+package medical_clinics.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Builder
+
+public class ScheduleDayDelta {
+    private UUID physicianId;
+
+    private LocalDate date;
+}
@@ -0,0 +1,25 @@
+package medical_clinics.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import medical_clinics.schedule.models.Status;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Builder
+
+public class TimeSlotStatusDelta {
+    private UUID timeslotId;
+
+    private UUID physicianId;
+
+    private LocalDate date;
+
+    private Status status;
+}
@@ -0,0 +1,29 @@
+package medical_clinics.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Builder
+
+public class UtilizationReport {
+    private LocalDate from;
+
+    private LocalDate to;
+
+    private long freeSlots;
+
+    private long reservedSlots;
+
+    private long passedSlots;
+
+    private long inactiveSlots;
+
+    private double bookedPercentage;
+}
@@ -0,0 +1,33 @@
+package medical_clinics.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Builder
+
+public class WaitlistEntryResponse {
+    private UUID id;
+
+    private UUID physicianId;
+
+    private UUID clinicId;
+
+    private UUID specialtyId;
+
+    private LocalDate from;
+
+    private LocalDate to;
+
+    private UUID offeredTimeslotId;
+
+    private LocalDateTime offerExpiresAt;
+}
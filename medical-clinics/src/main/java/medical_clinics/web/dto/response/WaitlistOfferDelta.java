@@ -0,0 +1,22 @@
+package medical_clinics.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Builder
+
+public class WaitlistOfferDelta {
+    private UUID entryId;
+
+    private UUID timeslotId;
+
+    private LocalDateTime expiresAt;
+}
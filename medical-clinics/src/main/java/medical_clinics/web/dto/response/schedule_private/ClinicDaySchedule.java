@@ -0,0 +1,23 @@
+package medical_clinics.web.dto.response.schedule_private;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+
+public class ClinicDaySchedule {
+    private UUID clinicId;
+
+    private LocalDate date;
+
+    private List<PhysicianDayColumn> physicians;
+}
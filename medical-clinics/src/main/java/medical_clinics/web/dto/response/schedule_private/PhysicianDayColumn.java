@@ -0,0 +1,26 @@
+package medical_clinics.web.dto.response.schedule_private;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+
+public class PhysicianDayColumn {
+    private UUID physicianId;
+
+    private String firstName;
+
+    private String lastName;
+
+    private UUID scheduleId;
+
+    private List<DayAppointmentPrivate> schedule;
+}
@@ -0,0 +1,45 @@
+package medical_clinics.web.dto.response.schedule_public;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+
+public class PhysicianDayScheduleCompact {
+    private UUID scheduleId;
+
+    private LocalDate date;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    @Schema(type = "string", example = "09:00:00", description = "Start time of the first grid position")
+    private LocalTime startTime;
+
+    @Schema(example = "600", description = "Seconds between two grid positions")
+    private int interval;
+
+    @Schema(example = "ERERERIiEREREUQz",
+            description = "Base64 of 4 bits per grid position, high nibble first: " +
+                    "0 no slot, 1 FREE, 2 RESERVED, 3 PASSED, 4 INACTIVE")
+    private String states;
+
+    @Schema(example = "5f0c9a1e-3b7d-4c21",
+            description = "Slot id is prefix + \"-0000-\" + second of day of the slot start as 12 hex digits")
+    private String slotIdPrefix;
+
+    @Schema(description = "Ids of the slots in start time order, sent only for days without slotIdPrefix")
+    private List<UUID> timeslotIds;
+}
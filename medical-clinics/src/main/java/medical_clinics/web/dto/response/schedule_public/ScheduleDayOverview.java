@@ -0,0 +1,37 @@
+package medical_clinics.web.dto.response.schedule_public;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+
+public class ScheduleDayOverview {
+    private UUID scheduleId;
+
+    private LocalDate date;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    @Schema(type = "string", example = "09:00:00")
+    private LocalTime startTime;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    @Schema(type = "string", example = "17:00:00")
+    private LocalTime endTime;
+
+    private int freeSlots;
+
+    private int reservedSlots;
+
+    private int inactiveSlots;
+}
@@ -12,6 +12,8 @@ import medical_clinics.physician.exceptions.PhysicianNotFoundException;
 import medical_clinics.records.exceptions.NoteException;
 import medical_clinics.schedule.exceptions.ScheduleConflictException;
 import medical_clinics.schedule.exceptions.ScheduleNotFoundException;
+import medical_clinics.shared.exception.IdempotencyKeyInUseException;
+import medical_clinics.shared.exception.IdempotencyKeyReusedException;
 import medical_clinics.shared.exception.PersonalInformationDontMatchException;
 import medical_clinics.specialty.exceptions.SpecialityException;
 import medical_clinics.user_account.exceptions.UserAccountNotFoundException;
@@ -119,12 +121,18 @@ public class GlobalExceptionHandler {
             PersonalInformationDontMatchException.class,
             PhysicianAlreadyExistException.class,
             UserAlreadyExistsException.class,
-            ScheduleConflictException.class
+            ScheduleConflictException.class,
+            IdempotencyKeyInUseException.class
     })
     public ResponseEntity<ExceptionResponse> handleScheduleConflictException ( IllegalArgumentException e ) {
         return buildResponseError ( HttpStatus.CONFLICT, e );
     }
 
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ExceptionResponse> handleException ( IdempotencyKeyReusedException e ) {
+        return buildResponseError ( HttpStatus.UNPROCESSABLE_ENTITY, e );
+    }
+
     @ExceptionHandler(HandlerMethodValidationException.class)
     public ResponseEntity<ExceptionResponse> handleException ( HandlerMethodValidationException e ) {
         logException ( e );
@@ -11,7 +11,7 @@ import java.lang.annotation.Target;
 @Constraint(
         validatedBy = {DayOfWeekNameValidator.class}
 )
-@Target({ElementType.METHOD, ElementType.FIELD})
+@Target({ElementType.METHOD, ElementType.FIELD, ElementType.TYPE_USE})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface DayOfWeekName {
     String message () default "";
@@ -5,6 +5,7 @@ import medical_clinics.clinic.exceptions.NoSuchClinicException;
 import medical_clinics.clinic.models.Clinic;
 import medical_clinics.clinic.models.DaysOfWeek;
 import medical_clinics.clinic.repositories.ClinicRepository;
+import medical_clinics.shared.cache.ResourceVersions;
 import medical_clinics.web.dto.CreateEditClinicRequest;
 import medical_clinics.web.dto.WorkDayDto;
 import medical_clinics.web.dto.response.ClinicDetails;
@@ -33,6 +34,9 @@ public class ClinicServiceUTest {
     @Mock
     private WorkDayService workDayService;
 
+    @Mock
+    private ResourceVersions resourceVersions;
+
     @InjectMocks
     private ClinicService clinicService;
 
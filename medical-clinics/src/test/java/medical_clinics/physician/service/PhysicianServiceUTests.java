@@ -6,6 +6,7 @@ import medical_clinics.physician.exceptions.PhysicianNotFoundException;
 import medical_clinics.physician.model.Physician;
 import medical_clinics.physician.repository.PhysicianRepository;
 import medical_clinics.schedule.services.DailyScheduleService;
+import medical_clinics.shared.cache.ResourceVersions;
 import medical_clinics.specialty.model.Specialty;
 import medical_clinics.specialty.model.SpecialtyName;
 import medical_clinics.web.dto.CreatePhysician;
@@ -34,6 +35,9 @@ public class PhysicianServiceUTests {
     @Mock
     DailyScheduleService dailyScheduleService;
 
+    @Mock
+    ResourceVersions resourceVersions;
+
     @InjectMocks
     PhysicianService physicianService;
 
@@ -113,7 +117,7 @@ public class PhysicianServiceUTests {
     }
 
     @Test
-    void when_generateSchedule_withPhysician_thenForEachScheduledServiceIsCalled () {
+    void when_generateSchedule_withPhysician_thenAllSchedulesArePassedAtOnce () {
         UUID accountId = UUID.randomUUID ( );
 
         List<NewDaySchedule> daySchedules = List.of (
@@ -125,7 +129,7 @@ public class PhysicianServiceUTests {
         physicianService.generateSchedule ( accountId, daySchedules );
 
         verify ( physicianRepository, times ( 1 ) ).findByUserAccount_Id ( accountId );
-        verify ( dailyScheduleService, times ( daySchedules.size ( ) ) ).generateDaySchedule ( any ( ), any ( ) );
+        verify ( dailyScheduleService, times ( 1 ) ).generateDaySchedules ( any ( ), eq ( daySchedules ) );
     }
 
     @Test
@@ -0,0 +1,131 @@
+package medical_clinics.schedule.services;
+
+import medical_clinics.schedule.mapper.CompactSlotStates;
+import medical_clinics.schedule.models.Status;
+import medical_clinics.schedule.projections.ArchiveUsage;
+import medical_clinics.schedule.projections.ArchivedScheduleRow;
+import medical_clinics.schedule.property.ArchiveExportProperty;
+import medical_clinics.schedule.repositories.ArchivedSchedulesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ArchiveSegmentServiceUTests {
+    private static final YearMonth MONTH = YearMonth.of ( 2025, 3 );
+
+    @Mock
+    ArchivedSchedulesRepository archivedSchedulesRepository;
+
+    @TempDir
+    Path directory;
+
+    ArchiveSegmentService archiveSegmentService;
+
+    UUID firstPhysician = UUID.randomUUID ( );
+    UUID secondPhysician = UUID.randomUUID ( );
+    UUID patient = UUID.randomUUID ( );
+
+    @BeforeEach
+    void setUp () {
+        archiveSegmentService = new ArchiveSegmentService (
+                archivedSchedulesRepository, new ArchiveExportProperty ( directory )
+        );
+    }
+
+    @Test
+    void when_exportMonth_shouldWriteSegmentReadableBack () {
+        ArchivedScheduleRow reserved = new ArchivedScheduleRow (
+                MONTH.atDay ( 3 ), LocalTime.of ( 9, 30 ), 30, Status.RESERVED, firstPhysician, patient );
+        ArchivedScheduleRow passed = new ArchivedScheduleRow (
+                MONTH.atDay ( 31 ), LocalTime.of ( 17, 45 ), 15, Status.PASSED, secondPhysician, null );
+
+        when ( archivedSchedulesRepository.streamRowsBetween ( MONTH.atDay ( 1 ), MONTH.atEndOfMonth ( ) ) )
+                .thenReturn ( Stream.of ( reserved, passed ) );
+
+        Path path = archiveSegmentService.exportMonth ( MONTH );
+        ArchiveSegment segment = ArchiveSegment.read ( path );
+
+        assertTrue ( Files.exists ( path ) );
+        assertEquals ( MONTH, segment.getMonth ( ) );
+        assertEquals ( 2, segment.getRows ( ) );
+        assertEquals ( 31, segment.getDays ( )[1] );
+        assertEquals ( 9 * 60 + 30, segment.getStartMinutes ( )[0] );
+        assertEquals ( 15, segment.getDurations ( )[1] );
+        assertEquals ( Status.RESERVED, segment.getStatus ( 0 ) );
+        assertEquals ( secondPhysician, segment.getPhysicians ( )[segment.getPhysicianRefs ( )[1]] );
+        assertEquals ( patient, segment.getPatients ( )[segment.getPatientRefs ( )[0]] );
+        assertEquals ( ArchiveSegmentWriter.NO_PATIENT, segment.getPatientRefs ( )[1] );
+    }
+
+    @Test
+    void when_getUsage_shouldAggregateSegmentsOfRange () {
+        when ( archivedSchedulesRepository.streamRowsBetween ( any ( LocalDate.class ), any ( LocalDate.class ) ) )
+                .thenReturn ( Stream.of (
+                        new ArchivedScheduleRow ( MONTH.atDay ( 1 ), LocalTime.of ( 8, 0 ), 30,
+                                Status.RESERVED, firstPhysician, patient ),
+                        new ArchivedScheduleRow ( MONTH.atDay ( 1 ), LocalTime.of ( 8, 30 ), 30,
+                                Status.PASSED, firstPhysician, null ) ) )
+                .thenReturn ( Stream.of (
+                        new ArchivedScheduleRow ( MONTH.plusMonths ( 1 ).atDay ( 2 ), LocalTime.of ( 10, 0 ), 20,
+                                Status.RESERVED, secondPhysician, patient ) ) );
+
+        archiveSegmentService.exportMonth ( MONTH );
+        archiveSegmentService.exportMonth ( MONTH.plusMonths ( 1 ) );
+
+        ArchiveUsage all = archiveSegmentService.getUsage ( MONTH, MONTH.plusMonths ( 2 ), null );
+        ArchiveUsage ofFirst = archiveSegmentService.getUsage ( MONTH, MONTH.plusMonths ( 2 ), firstPhysician );
+
+        assertEquals ( 3, all.getSlots ( ) );
+        assertEquals ( 2, all.getSlotsByStatus ( ).get ( Status.RESERVED ) );
+        assertEquals ( 50, all.getMinutesByStatus ( ).get ( Status.RESERVED ) );
+        assertEquals ( 1, all.getPatients ( ) );
+        assertEquals ( 2, ofFirst.getSlots ( ) );
+        assertEquals ( 30, ofFirst.getMinutesByStatus ( ).get ( Status.PASSED ) );
+    }
+
+    @Test
+    void when_exportMonth_shouldStoreExplicitStatusCodes () {
+        when ( archivedSchedulesRepository.streamRowsBetween ( MONTH.atDay ( 1 ), MONTH.atEndOfMonth ( ) ) )
+                .thenReturn ( Stream.of ( new ArchivedScheduleRow (
+                        MONTH.atDay ( 3 ), LocalTime.of ( 9, 30 ), 30, Status.RESERVED, firstPhysician, patient ) ) );
+
+        ArchiveSegment segment = ArchiveSegment.read ( archiveSegmentService.exportMonth ( MONTH ) );
+
+        assertEquals ( CompactSlotStates.RESERVED, segment.getStatuses ( )[0] );
+        assertEquals ( Status.RESERVED, segment.getStatus ( 0 ) );
+    }
+
+    @Test
+    void when_read_withColumnShorterThanDeclared_shouldThrowException () throws IOException {
+        when ( archivedSchedulesRepository.streamRowsBetween ( MONTH.atDay ( 1 ), MONTH.atEndOfMonth ( ) ) )
+                .thenReturn ( Stream.of ( new ArchivedScheduleRow (
+                        MONTH.atDay ( 3 ), LocalTime.of ( 9, 30 ), 30, Status.RESERVED, firstPhysician, patient ) ) );
+
+        Path path = archiveSegmentService.exportMonth ( MONTH );
+        ByteBuffer content = ByteBuffer.wrap ( Files.readAllBytes ( path ) );
+
+        // header, then one physician and one patient, then the raw length of the days column
+        int daysLength = 5 * Integer.BYTES + 2 * ( Integer.BYTES + 2 * Long.BYTES );
+        content.putInt ( daysLength, content.getInt ( daysLength ) + 10 );
+        Files.write ( path, content.array ( ) );
+
+        assertThrows ( IllegalStateException.class, () -> ArchiveSegment.read ( path ) );
+    }
+}
@@ -3,29 +3,44 @@ package medical_clinics.schedule.services;
 import medical_clinics.clinic.models.Clinic;
 import medical_clinics.clinic.models.DaysOfWeek;
 import medical_clinics.clinic.models.WorkDay;
-import medical_clinics.patient.model.Patient;
 import medical_clinics.physician.model.Physician;
 import medical_clinics.schedule.exceptions.ScheduleConflictException;
 import medical_clinics.schedule.exceptions.ScheduleNotFoundException;
+import medical_clinics.schedule.mapper.VirtualTimeSlots;
+import medical_clinics.schedule.models.ArchivedSchedules;
 import medical_clinics.schedule.models.DailySchedule;
 import medical_clinics.schedule.models.Status;
 import medical_clinics.schedule.models.TimeSlot;
+import medical_clinics.schedule.projections.ClinicDayRow;
+import medical_clinics.schedule.projections.PrivateTimeSlotRow;
+import medical_clinics.schedule.projections.PublicTimeSlotRow;
+import medical_clinics.schedule.projections.ScheduleDay;
+import medical_clinics.schedule.projections.ScheduleOverviewRow;
+import medical_clinics.schedule.property.TimeSlotProperty;
+import medical_clinics.schedule.repositories.ArchivedSchedulesRepository;
 import medical_clinics.schedule.repositories.DailyScheduleRepository;
 import medical_clinics.web.dto.NewDaySchedule;
+import medical_clinics.web.dto.ScheduleTemplate;
+import medical_clinics.web.dto.events.ScheduleDayChangeEvent;
+import medical_clinics.web.dto.response.ArchivedAppointment;
+import medical_clinics.web.dto.response.schedule_private.ClinicDaySchedule;
 import medical_clinics.web.dto.response.schedule_private.PhysicianDaySchedulePrivate;
+import medical_clinics.web.dto.response.schedule_public.PhysicianDayScheduleCompact;
 import medical_clinics.web.dto.response.schedule_public.PhysicianDaySchedulePublic;
+import medical_clinics.web.dto.response.schedule_public.ScheduleDayOverview;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -39,109 +54,184 @@ public class DailyScheduleServiceUTests {
     @Mock
     TimeSlotService timeSlotService;
 
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    TimeSlotProperty timeSlotProperty;
+
+    @Mock
+    ScheduleArchiveService scheduleArchiveService;
+
+    @Mock
+    ArchivedSchedulesRepository archivedSchedulesRepository;
+
+    @Mock
+    UtilizationRollupService utilizationRollupService;
+
     @InjectMocks
     DailyScheduleService dailyScheduleService;
 
     @Test
     void when_getPrivatePhysicianSchedules_withSchedules_ReturnPrivateSchedules () {
         UUID physicianId = UUID.randomUUID ( );
+        UUID scheduleId = UUID.randomUUID ( );
+        UUID patientId = UUID.randomUUID ( );
 
-        List<DailySchedule> dailySchedules = List.of (
-                DailySchedule.builder ( )
-                        .date ( LocalDate.of ( 2025, 5, 5 ) )
-                        .timeSlots ( List.of (
-                                TimeSlot.builder ( )
-                                        .startTime ( LocalTime.of ( 10, 0 ) )
-                                        .status ( Status.FREE )
-                                        .durationInMinutes ( 15 )
-                                        .patient ( new Patient ( ) )
-                                        .build ( ),
-                                TimeSlot.builder ( )
-                                        .startTime ( LocalTime.of ( 10, 15 ) )
-                                        .status ( Status.FREE )
-                                        .durationInMinutes ( 15 )
-                                        .patient ( new Patient ( ) )
-                                        .build ( )
-                        ) )
-                        .build ( )
+        List<ScheduleDay> scheduleDays = List.of (
+                new ScheduleDay ( scheduleId, LocalDate.of ( 2025, 5, 5 ), null, null, null, false, null )
         );
 
-        when ( dailyScheduleRepository.findAllByPhysician_UserAccount_IdOrderByDateAsc ( physicianId ) )
-                .thenReturn ( dailySchedules );
+        List<PrivateTimeSlotRow> rows = List.of (
+                new PrivateTimeSlotRow ( scheduleId, UUID.randomUUID ( ), LocalTime.of ( 10, 0 ), Status.RESERVED,
+                        patientId, "First", "Last", "Country", "0000000000", "City", "Address", "0888888888",
+                        "patient@example.com" ),
+                new PrivateTimeSlotRow ( scheduleId, UUID.randomUUID ( ), LocalTime.of ( 10, 15 ), Status.FREE,
+                        null, null, null, null, null, null, null, null, null )
+        );
 
-        List<PhysicianDaySchedulePrivate> schedules = dailyScheduleService.getPrivatePhysicianSchedules ( physicianId );
+        when ( dailyScheduleRepository.findScheduleDaysOfPhysicianAccount (
+                eq ( physicianId ), any ( ), any ( ), any ( ) ) )
+                .thenReturn ( scheduleDays );
+        when ( timeSlotService.getPrivateTimeSlotRows ( List.of ( scheduleId ) ) ).thenReturn ( rows );
 
-        assertEquals ( dailySchedules.size ( ), schedules.size ( ) );
-        assertEquals ( dailySchedules.getFirst ( ).getDate ( ), schedules.getFirst ( ).getDate ( ) );
-        assertEquals ( dailySchedules.getFirst ( ).getTimeSlots ( ).size ( ), schedules.getFirst ( ).getSchedule ( ).size ( ) );
-        assertNotNull ( schedules.getFirst ( ).getSchedule ( ).getFirst ( ).getPatientInfo ( ) );
+        List<PhysicianDaySchedulePrivate> schedules = dailyScheduleService.getPrivatePhysicianSchedules ( physicianId, null, null, null );
+
+        assertEquals ( scheduleDays.size ( ), schedules.size ( ) );
+        assertEquals ( scheduleDays.getFirst ( ).getDate ( ), schedules.getFirst ( ).getDate ( ) );
+        assertEquals ( rows.size ( ), schedules.getFirst ( ).getSchedule ( ).size ( ) );
+        assertEquals ( patientId, schedules.getFirst ( ).getSchedule ( ).getFirst ( ).getPatientInfo ( ).getPatientId ( ) );
+        assertNull ( schedules.getFirst ( ).getSchedule ( ).getLast ( ).getPatientInfo ( ) );
 
         verify ( dailyScheduleRepository, times ( 1 ) )
-                .findAllByPhysician_UserAccount_IdOrderByDateAsc ( physicianId );
+                .findScheduleDaysOfPhysicianAccount ( eq ( physicianId ), any ( ), any ( ), any ( ) );
+        verify ( timeSlotService, times ( 1 ) ).getPrivateTimeSlotRows ( List.of ( scheduleId ) );
     }
 
     @Test
     void when_getPrivatePhysicianSchedules_withNoSchedules_ReturnPrivateSchedulesEmpty () {
         UUID physicianId = UUID.randomUUID ( );
 
-        when ( dailyScheduleRepository.findAllByPhysician_UserAccount_IdOrderByDateAsc ( physicianId ) )
+        when ( dailyScheduleRepository.findScheduleDaysOfPhysicianAccount (
+                eq ( physicianId ), any ( ), any ( ), any ( ) ) )
                 .thenReturn ( new ArrayList<> ( ) );
 
-        List<PhysicianDaySchedulePrivate> schedules = dailyScheduleService.getPrivatePhysicianSchedules ( physicianId );
+        List<PhysicianDaySchedulePrivate> schedules = dailyScheduleService.getPrivatePhysicianSchedules ( physicianId, null, null, null );
 
         assertTrue ( schedules.isEmpty ( ) );
         verify ( dailyScheduleRepository, times ( 1 ) )
-                .findAllByPhysician_UserAccount_IdOrderByDateAsc ( physicianId );
+                .findScheduleDaysOfPhysicianAccount ( eq ( physicianId ), any ( ), any ( ), any ( ) );
     }
 
     @Test
     void when_getPublicPhysicianSchedules_withSchedules_ReturnPrivateSchedules () {
         UUID physicianId = UUID.randomUUID ( );
+        UUID firstScheduleId = UUID.randomUUID ( );
+        UUID secondScheduleId = UUID.randomUUID ( );
+
+        List<ScheduleDay> scheduleDays = List.of (
+                new ScheduleDay ( firstScheduleId, LocalDate.of ( 2025, 5, 5 ), null, null, null, false, null ),
+                new ScheduleDay ( secondScheduleId, LocalDate.of ( 2025, 5, 6 ), null, null, null, false, null )
+        );
 
-        List<DailySchedule> dailySchedules = List.of (
-                DailySchedule.builder ( )
-                        .date ( LocalDate.of ( 2025, 5, 5 ) )
-                        .timeSlots ( List.of (
-                                TimeSlot.builder ( )
-                                        .startTime ( LocalTime.of ( 10, 0 ) )
-                                        .status ( Status.FREE )
-                                        .durationInMinutes ( 15 )
-                                        .patient ( new Patient ( ) )
-                                        .build ( ),
-                                TimeSlot.builder ( )
-                                        .startTime ( LocalTime.of ( 10, 15 ) )
-                                        .status ( Status.FREE )
-                                        .durationInMinutes ( 15 )
-                                        .patient ( new Patient ( ) )
-                                        .build ( )
-                        ) )
-                        .build ( )
+        List<PublicTimeSlotRow> rows = List.of (
+                new PublicTimeSlotRow ( secondScheduleId, UUID.randomUUID ( ), LocalTime.of ( 9, 0 ), Status.FREE ),
+                new PublicTimeSlotRow ( firstScheduleId, UUID.randomUUID ( ), LocalTime.of ( 10, 0 ), Status.FREE ),
+                new PublicTimeSlotRow ( firstScheduleId, UUID.randomUUID ( ), LocalTime.of ( 10, 15 ), Status.RESERVED )
         );
 
-        when ( dailyScheduleRepository.findAllByPhysicianIdOrderByDateAsc ( physicianId ) )
-                .thenReturn ( dailySchedules );
+        when ( dailyScheduleRepository.findScheduleDaysOfPhysician (
+                eq ( physicianId ), any ( ), any ( ), any ( ) ) )
+                .thenReturn ( scheduleDays );
+        when ( timeSlotService.getPublicTimeSlotRows ( List.of ( firstScheduleId, secondScheduleId ) ) )
+                .thenReturn ( rows );
 
-        List<PhysicianDaySchedulePublic> schedules = dailyScheduleService.getPublicPhysicianSchedules ( physicianId );
+        List<PhysicianDaySchedulePublic> schedules = dailyScheduleService.getPublicPhysicianSchedules ( physicianId, null, null, null );
 
-        assertEquals ( dailySchedules.size ( ), schedules.size ( ) );
-        assertEquals ( dailySchedules.getFirst ( ).getDate ( ), schedules.getFirst ( ).getDate ( ) );
-        assertEquals ( dailySchedules.getFirst ( ).getTimeSlots ( ).size ( ), schedules.getFirst ( ).getSchedule ( ).size ( ) );
+        assertEquals ( scheduleDays.size ( ), schedules.size ( ) );
+        assertEquals ( firstScheduleId, schedules.getFirst ( ).getScheduleId ( ) );
+        assertEquals ( 2, schedules.getFirst ( ).getSchedule ( ).size ( ) );
+        assertEquals ( LocalTime.of ( 10, 0 ), schedules.getFirst ( ).getSchedule ( ).getFirst ( ).getStartTime ( ) );
+        assertEquals ( 1, schedules.getLast ( ).getSchedule ( ).size ( ) );
         verify ( dailyScheduleRepository, times ( 1 ) )
-                .findAllByPhysicianIdOrderByDateAsc ( physicianId );
+                .findScheduleDaysOfPhysician ( eq ( physicianId ), any ( ), any ( ), any ( ) );
     }
 
     @Test
     void when_getPublicPhysicianSchedules_withNoSchedules_ReturnPrivateSchedulesEmpty () {
         UUID physicianId = UUID.randomUUID ( );
 
-        when ( dailyScheduleRepository.findAllByPhysicianIdOrderByDateAsc ( physicianId ) )
+        when ( dailyScheduleRepository.findScheduleDaysOfPhysician (
+                eq ( physicianId ), any ( ), any ( ), any ( ) ) )
                 .thenReturn ( new ArrayList<> ( ) );
 
-        List<PhysicianDaySchedulePublic> schedules = dailyScheduleService.getPublicPhysicianSchedules ( physicianId );
+        List<PhysicianDaySchedulePublic> schedules = dailyScheduleService.getPublicPhysicianSchedules ( physicianId, null, null, null );
 
         assertTrue ( schedules.isEmpty ( ) );
         verify ( dailyScheduleRepository, times ( 1 ) )
-                .findAllByPhysicianIdOrderByDateAsc ( physicianId );
+                .findScheduleDaysOfPhysician ( eq ( physicianId ), any ( ), any ( ), any ( ) );
+    }
+
+    @Test
+    void when_getPublicPhysicianSchedules_withoutDateWindow_shouldQueryFromToday () {
+        UUID physicianId = UUID.randomUUID ( );
+        LocalDate today = LocalDate.now ( );
+
+        when ( dailyScheduleRepository.findScheduleDaysOfPhysician (
+                eq ( physicianId ), any ( ), any ( ), any ( ) ) )
+                .thenReturn ( new ArrayList<> ( ) );
+
+        dailyScheduleService.getPublicPhysicianSchedules ( physicianId, null, null, 500 );
+
+        verify ( dailyScheduleRepository, times ( 1 ) ).findScheduleDaysOfPhysician (
+                eq ( physicianId ), eq ( today ), eq ( today.plusDays ( 30 ) ), argThat ( limit -> limit.max ( ) == 92 )
+        );
+    }
+
+    @Test
+    void when_getCompactPhysicianSchedules_withStoredAndVirtualDays_EncodeStatesOnOneGridPerDay () {
+        UUID physicianId = UUID.randomUUID ( );
+        UUID storedScheduleId = UUID.randomUUID ( );
+        UUID virtualScheduleId = UUID.randomUUID ( );
+        UUID firstSlotId = UUID.randomUUID ( );
+        UUID secondSlotId = UUID.randomUUID ( );
+        LocalDate date = LocalDate.now ( ).plusDays ( 1 );
+
+        List<ScheduleDay> scheduleDays = List.of (
+                new ScheduleDay ( storedScheduleId, date, LocalTime.of ( 9, 0 ), LocalTime.of ( 11, 0 ),
+                        30, false, null ),
+                new ScheduleDay ( virtualScheduleId, date.plusDays ( 1 ), LocalTime.of ( 9, 0 ), LocalTime.of ( 10, 0 ),
+                        20, true, 42L )
+        );
+
+        when ( dailyScheduleRepository.findScheduleDaysOfPhysician (
+                eq ( physicianId ), any ( ), any ( ), any ( ) ) )
+                .thenReturn ( scheduleDays );
+        when ( timeSlotService.getPublicTimeSlotRows ( List.of ( storedScheduleId, virtualScheduleId ) ) )
+                .thenReturn ( List.of (
+                        new PublicTimeSlotRow ( storedScheduleId, secondSlotId, LocalTime.of ( 10, 15 ),
+                                Status.RESERVED ),
+                        new PublicTimeSlotRow ( storedScheduleId, firstSlotId, LocalTime.of ( 9, 0 ), Status.FREE ),
+                        new PublicTimeSlotRow ( virtualScheduleId, UUID.randomUUID ( ), LocalTime.of ( 9, 20 ),
+                                Status.INACTIVE )
+                ) );
+
+        List<PhysicianDayScheduleCompact> schedules =
+                dailyScheduleService.getCompactPhysicianSchedules ( physicianId, null, null, null );
+
+        PhysicianDayScheduleCompact stored = schedules.get ( 0 );
+        assertEquals ( LocalTime.of ( 9, 0 ), stored.getStartTime ( ) );
+        assertEquals ( 15 * 60, stored.getInterval ( ) );
+        assertArrayEquals ( new byte[]{0x10, 0x00, 0x02}, Base64.getDecoder ( ).decode ( stored.getStates ( ) ) );
+        assertEquals ( List.of ( firstSlotId, secondSlotId ), stored.getTimeslotIds ( ) );
+        assertNull ( stored.getSlotIdPrefix ( ) );
+
+        PhysicianDayScheduleCompact virtual = schedules.get ( 1 );
+        assertEquals ( 20 * 60, virtual.getInterval ( ) );
+        assertArrayEquals ( new byte[]{0x14, 0x10}, Base64.getDecoder ( ).decode ( virtual.getStates ( ) ) );
+        assertNull ( virtual.getTimeslotIds ( ) );
+        assertEquals ( VirtualTimeSlots.timeSlotId ( 42L, LocalTime.of ( 9, 40 ) ).toString ( ),
+                virtual.getSlotIdPrefix ( ) + "-0000-%012x".formatted ( LocalTime.of ( 9, 40 ).toSecondOfDay ( ) ) );
     }
 
     @Test
@@ -209,6 +299,175 @@ public class DailyScheduleServiceUTests {
                 () -> dailyScheduleService.generateDaySchedule ( buildPhysician ( workDay ), newDaySchedule ) );
     }
 
+    @Test
+    void when_generateSchedulesFromTemplate_withTemplate_ShouldQueryExistingOnceAndCreateEachMatchingDay () {
+        LocalDate monday = LocalDate.now ( ).with ( TemporalAdjusters.next ( DayOfWeek.MONDAY ) );
+
+        ScheduleTemplate template = ScheduleTemplate.builder ( )
+                .daysOfWeek ( Set.of ( "monday", "Wednesday" ) )
+                .startDate ( monday )
+                .weeks ( 2 )
+                .startTime ( LocalTime.of ( 9, 0 ) )
+                .endTime ( LocalTime.of ( 13, 0 ) )
+                .timeSlotInterval ( 15 )
+                .build ( );
+
+        Physician physician = Physician.builder ( )
+                .id ( UUID.randomUUID ( ) )
+                .workplace ( Clinic.builder ( ).workingDays ( List.of (
+                        buildWorkDay ( DaysOfWeek.MONDAY ), buildWorkDay ( DaysOfWeek.WEDNESDAY )
+                ) ).build ( ) )
+                .build ( );
+
+        when ( dailyScheduleRepository.findAllWithTimeSlotsByPhysicianIdAndDateBetween (
+                physician.getId ( ), monday, monday.plusDays ( 9 ) ) )
+                .thenReturn ( new ArrayList<> ( ) );
+        when ( dailyScheduleRepository.save ( any ( DailySchedule.class ) ) )
+                .thenAnswer ( invocation -> invocation.getArgument ( 0 ) );
+
+        dailyScheduleService.generateSchedulesFromTemplate ( physician, template );
+
+        verify ( dailyScheduleRepository, times ( 1 ) )
+                .findAllWithTimeSlotsByPhysicianIdAndDateBetween ( any ( ), any ( ), any ( ) );
+        verify ( dailyScheduleRepository, times ( 4 ) ).save ( any ( DailySchedule.class ) );
+        verify ( timeSlotService, times ( 4 ) ).generateTimeSlots (
+                eq ( LocalTime.of ( 9, 0 ) ), eq ( LocalTime.of ( 13, 0 ) ), eq ( 15 ), any ( DailySchedule.class ) );
+    }
+
+    @Test
+    void when_generateDaySchedule_withLazyTimeSlots_ShouldCreateVirtualScheduleWithoutRows () {
+        LocalDate monday = LocalDate.now ( ).with ( TemporalAdjusters.next ( DayOfWeek.MONDAY ) );
+
+        NewDaySchedule newDaySchedule = NewDaySchedule.builder ( )
+                .date ( monday )
+                .startTime ( LocalTime.of ( 9, 0 ) )
+                .endTime ( LocalTime.of ( 13, 0 ) )
+                .timeSlotInterval ( 20 )
+                .build ( );
+
+        when ( timeSlotProperty.isLazy ( ) ).thenReturn ( true );
+        when ( dailyScheduleRepository.findAllWithTimeSlotsByPhysicianIdAndDateBetween ( any ( ), any ( ), any ( ) ) )
+                .thenReturn ( new ArrayList<> ( ) );
+        when ( dailyScheduleRepository.save ( any ( DailySchedule.class ) ) )
+                .thenAnswer ( invocation -> invocation.getArgument ( 0 ) );
+
+        dailyScheduleService.generateDaySchedule ( buildPhysician ( buildWorkDay ( DaysOfWeek.MONDAY ) ), newDaySchedule );
+
+        verify ( dailyScheduleRepository, times ( 1 ) ).save ( argThat ( schedule ->
+                schedule.isVirtualSlots ( ) &&
+                        schedule.getSlotSeed ( ) != null &&
+                        schedule.getTimeSlotInterval ( ) == 20 &&
+                        schedule.getTimeSlots ( ).isEmpty ( )
+        ) );
+        verify ( timeSlotService, never ( ) ).generateTimeSlots ( any ( ), any ( ), any ( ), any ( ) );
+        verify ( utilizationRollupService, times ( 1 ) )
+                .recordGenerated ( any ( Physician.class ), eq ( monday ), eq ( 12 ) );
+    }
+
+    @Test
+    void when_generateDaySchedules_withOverlappingExistingDays_ShouldSaveOnlyMissingSlotsInOneBatch () {
+        LocalDate monday = LocalDate.now ( ).with ( TemporalAdjusters.next ( DayOfWeek.MONDAY ) );
+        LocalDate nextMonday = monday.plusWeeks ( 1 );
+
+        DailySchedule first = buildStoredSchedule ( monday, LocalTime.of ( 9, 0 ), LocalTime.of ( 11, 0 ) );
+        DailySchedule second = buildStoredSchedule ( nextMonday, LocalTime.of ( 9, 0 ), LocalTime.of ( 11, 0 ) );
+
+        when ( dailyScheduleRepository.findAllWithTimeSlotsByPhysicianIdAndDateBetween ( any ( ), any ( ), any ( ) ) )
+                .thenReturn ( List.of ( first, second ) );
+
+        dailyScheduleService.generateDaySchedules ( buildPhysician ( buildWorkDay ( DaysOfWeek.MONDAY ) ), List.of (
+                NewDaySchedule.builder ( ).date ( monday ).timeSlotInterval ( 30 )
+                        .startTime ( LocalTime.of ( 10, 0 ) ).endTime ( LocalTime.of ( 12, 0 ) ).build ( ),
+                NewDaySchedule.builder ( ).date ( nextMonday ).timeSlotInterval ( 30 )
+                        .startTime ( LocalTime.of ( 9, 30 ) ).endTime ( LocalTime.of ( 10, 30 ) ).build ( )
+        ) );
+
+        verify ( timeSlotService, times ( 1 ) ).saveTimeSlots ( argThat ( timeSlots -> timeSlots.size ( ) == 2 &&
+                timeSlots.stream ( ).allMatch ( timeSlot -> timeSlot.getDailySchedule ( ) == first &&
+                        !timeSlot.getStartTime ( ).isBefore ( LocalTime.of ( 11, 0 ) ) )
+        ) );
+        verify ( timeSlotService, never ( ) ).generateTimeSlots ( any ( ), any ( ), any ( ), any ( ) );
+        assertEquals ( LocalTime.of ( 12, 0 ), first.getEndTime ( ) );
+        assertEquals ( LocalTime.of ( 11, 0 ), second.getEndTime ( ) );
+        verify ( eventPublisher, times ( 1 ) ).publishEvent ( any ( ScheduleDayChangeEvent.class ) );
+    }
+
+    @Test
+    void when_getClinicDaySchedule_withStoredAndVirtualDays_ReturnColumnPerPhysician () {
+        UUID clinicId = UUID.randomUUID ( );
+        LocalDate date = LocalDate.now ( ).plusDays ( 1 );
+        UUID storedScheduleId = UUID.randomUUID ( );
+        UUID virtualScheduleId = UUID.randomUUID ( );
+        UUID patientId = UUID.randomUUID ( );
+
+        when ( dailyScheduleRepository.findClinicDayRows ( clinicId, date ) ).thenReturn ( List.of (
+                buildClinicDayRow ( storedScheduleId, UUID.randomUUID ( ), LocalTime.of ( 10, 0 ),
+                        Status.RESERVED, patientId ),
+                buildClinicDayRow ( storedScheduleId, UUID.randomUUID ( ), LocalTime.of ( 10, 30 ),
+                        Status.FREE, null ),
+                new ClinicDayRow ( virtualScheduleId, UUID.randomUUID ( ), "Virtual", "Physician",
+                        LocalTime.of ( 9, 0 ), LocalTime.of ( 10, 0 ), 20, true, 42L,
+                        null, null, null, null, null, null, null, null, null, null, null, null )
+        ) );
+
+        ClinicDaySchedule daySchedule = dailyScheduleService.getClinicDaySchedule ( clinicId, date );
+
+        assertEquals ( clinicId, daySchedule.getClinicId ( ) );
+        assertEquals ( 2, daySchedule.getPhysicians ( ).size ( ) );
+        assertEquals ( storedScheduleId, daySchedule.getPhysicians ( ).get ( 0 ).getScheduleId ( ) );
+        assertEquals ( 2, daySchedule.getPhysicians ( ).get ( 0 ).getSchedule ( ).size ( ) );
+        assertEquals ( patientId, daySchedule.getPhysicians ( ).get ( 0 ).getSchedule ( ).get ( 0 )
+                .getPatientInfo ( ).getPatientId ( ) );
+        assertNull ( daySchedule.getPhysicians ( ).get ( 0 ).getSchedule ( ).get ( 1 ).getPatientInfo ( ) );
+        assertEquals ( 3, daySchedule.getPhysicians ( ).get ( 1 ).getSchedule ( ).size ( ) );
+        assertTrue ( daySchedule.getPhysicians ( ).get ( 1 ).getSchedule ( ).stream ( )
+                .allMatch ( appointment -> appointment.getStatus ( ) == Status.FREE ) );
+    }
+
+    @Test
+    void when_getScheduleOverview_withVirtualDayToday_SubtractStartedGridSlots () {
+        UUID physicianId = UUID.randomUUID ( );
+        UUID todayScheduleId = UUID.randomUUID ( );
+        LocalDate today = LocalDate.now ( );
+        LocalTime startTime = LocalTime.MIDNIGHT;
+
+        when ( dailyScheduleRepository.findOverviewOfPhysician (
+                eq ( physicianId ), eq ( today ), eq ( today.plusDays ( 91 ) ), any ( Limit.class ) )
+        ).thenReturn ( List.of (
+                new ScheduleOverviewRow ( todayScheduleId, today, startTime, LocalTime.of ( 0, 1 ), 1,
+                        true, 2, 0, 0 ),
+                new ScheduleOverviewRow ( UUID.randomUUID ( ), today.plusDays ( 1 ), startTime, LocalTime.of ( 1, 0 ),
+                        30, true, 2, 0, 0 )
+        ) );
+        when ( timeSlotService.countStoredSlotsStartedBefore ( eq ( todayScheduleId ), any ( LocalTime.class ) ) )
+                .thenReturn ( 0L );
+
+        List<ScheduleDayOverview> overview = dailyScheduleService.getScheduleOverview ( physicianId, null, null );
+
+        assertEquals ( 2, overview.size ( ) );
+        assertEquals ( 1, overview.get ( 0 ).getFreeSlots ( ) );
+        assertEquals ( 2, overview.get ( 1 ).getFreeSlots ( ) );
+        verify ( timeSlotService, times ( 1 ) ).countStoredSlotsStartedBefore ( eq ( todayScheduleId ), any ( ) );
+    }
+
+    @Test
+    void when_generateSchedulesFromTemplate_withDayWhenClinicDontWork_ShouldThrowException () {
+        ScheduleTemplate template = ScheduleTemplate.builder ( )
+                .daysOfWeek ( Set.of ( "sunday" ) )
+                .startDate ( LocalDate.now ( ).plusDays ( 1 ) )
+                .weeks ( 1 )
+                .startTime ( LocalTime.of ( 9, 0 ) )
+                .endTime ( LocalTime.of ( 13, 0 ) )
+                .timeSlotInterval ( 15 )
+                .build ( );
+
+        assertThrows ( ScheduleConflictException.class,
+                () -> dailyScheduleService.generateSchedulesFromTemplate (
+                        buildPhysician ( buildWorkDay ( DaysOfWeek.MONDAY ) ), template ) );
+
+        verify ( dailyScheduleRepository, never ( ) ).findAllWithTimeSlotsByPhysicianIdAndDateBetween ( any ( ), any ( ), any ( ) );
+    }
+
     @Test
     void when_inactivateDaySchedule_WithNotFoundPhysicianSchedule_ShouldThrowException () {
         when ( dailyScheduleRepository.findAllByPhysician_UserAccount_IdAndDate ( any ( ), any ( ) ) )
@@ -247,7 +506,142 @@ public class DailyScheduleServiceUTests {
         verify ( dailyScheduleRepository, times ( 1 ) )
                 .findAllByPhysician_UserAccount_IdAndDate ( any ( ), any ( ) );
 
-        verify ( timeSlotService,times ( schedule.getTimeSlots ().size () ) ).inactivate ( any ( ) );
+        verify ( timeSlotService, times ( 1 ) ).inactivateAll ( schedule );
+        verify ( timeSlotService, never ( ) ).inactivate ( any ( ) );
+    }
+
+    @Test
+    void when_getPatientHistory_withoutDateWindow_shouldQueryLastYearUntilYesterday () {
+        UUID patientId = UUID.randomUUID ( );
+        LocalDate yesterday = LocalDate.now ( ).minusDays ( 1 );
+
+        ArchivedSchedules archived = ArchivedSchedules.builder ( )
+                .id ( UUID.randomUUID ( ) )
+                .date ( yesterday )
+                .startTime ( LocalTime.of ( 10, 0 ) )
+                .durationInMinutes ( 30 )
+                .status ( Status.RESERVED )
+                .patientId ( patientId )
+                .physicianId ( UUID.randomUUID ( ) )
+                .build ( );
+
+        when ( archivedSchedulesRepository.findHistoryOfPatient (
+                patientId, yesterday.minusDays ( 364 ), yesterday,
+                yesterday.minusDays ( 365 ), LocalTime.MIN, new UUID ( 0, 0 ), Limit.of ( 500 ) ) )
+                .thenReturn ( List.of ( archived ) );
+
+        List<ArchivedAppointment> history = dailyScheduleService.getPatientHistory (
+                patientId, null, null, null, null, null, null
+        );
+
+        assertEquals ( 1, history.size ( ) );
+        assertEquals ( archived.getId ( ), history.getFirst ( ).getTimeslotId ( ) );
+        assertEquals ( Status.RESERVED, history.getFirst ( ).getStatus ( ) );
+    }
+
+    @Test
+    void when_getPhysicianHistory_withLimitAboveMax_shouldClampLimit () {
+        UUID physicianId = UUID.randomUUID ( );
+        LocalDate from = LocalDate.of ( 2025, 1, 1 );
+        LocalDate to = LocalDate.of ( 2025, 3, 31 );
+
+        when ( archivedSchedulesRepository.findHistoryOfPhysician ( physicianId, from, to,
+                from.minusDays ( 1 ), LocalTime.MIN, new UUID ( 0, 0 ), Limit.of ( 500 ) ) )
+                .thenReturn ( List.of ( ) );
+
+        assertTrue ( dailyScheduleService.getPhysicianHistory (
+                physicianId, from, to, 10_000, null, null, null ).isEmpty ( ) );
+    }
+
+    @Test
+    void when_getPhysicianHistory_withCursor_shouldContinueAfterLastEntry () {
+        UUID physicianId = UUID.randomUUID ( );
+        UUID afterId = UUID.randomUUID ( );
+        LocalDate from = LocalDate.of ( 2025, 1, 1 );
+        LocalDate to = LocalDate.of ( 2025, 3, 31 );
+        LocalDate afterDate = LocalDate.of ( 2025, 2, 10 );
+
+        when ( archivedSchedulesRepository.findHistoryOfPhysician ( physicianId, from, to,
+                afterDate, LocalTime.of ( 10, 30 ), afterId, Limit.of ( 20 ) ) )
+                .thenReturn ( List.of ( ) );
+
+        assertTrue ( dailyScheduleService.getPhysicianHistory (
+                physicianId, from, to, 20, afterDate, LocalTime.of ( 10, 30 ), afterId ).isEmpty ( ) );
+    }
+
+    @Test
+    void when_deletePhysicianFutureSchedules_withManySchedules_ShouldArchiveInChunks () {
+        Physician physician = Physician.builder ( ).id ( UUID.randomUUID ( ) ).build ( );
+
+        when ( scheduleArchiveService.archiveFutureChunkOfPhysician (
+                eq ( physician.getId ( ) ), any ( ), anyInt ( ) ) )
+                .thenReturn ( 100 )
+                .thenReturn ( 1 )
+                .thenReturn ( 0 );
+
+        dailyScheduleService.deletePhysicianFutureSchedules ( physician );
+
+        verify ( scheduleArchiveService, times ( 3 ) )
+                .archiveFutureChunkOfPhysician ( eq ( physician.getId ( ) ), any ( ), anyInt ( ) );
+        verify ( scheduleArchiveService, never ( ) ).archive ( anyCollection ( ) );
+        verify ( utilizationRollupService, times ( 1 ) )
+                .removeFutureOfPhysician ( eq ( physician.getId ( ) ), any ( LocalDate.class ) );
+    }
+
+    @Test
+    void when_archiveSchedules_withManySchedules_ShouldCommitEachChunk () {
+        when ( dailyScheduleRepository.findIdsByDateBefore ( any ( ), any ( ) ) )
+                .thenReturn ( List.of ( UUID.randomUUID ( ), UUID.randomUUID ( ) ) )
+                .thenReturn ( List.of ( UUID.randomUUID ( ) ) )
+                .thenReturn ( List.of ( ) );
+
+        dailyScheduleService.archiveSchedules ( );
+
+        verify ( scheduleArchiveService, times ( 2 ) ).archiveInNewTransaction ( anyCollection ( ) );
+        verify ( scheduleArchiveService, never ( ) ).archive ( anyCollection ( ) );
+        verify ( utilizationRollupService, times ( 1 ) ).closeDaysBefore ( any ( LocalDate.class ) );
+    }
+
+    private WorkDay buildWorkDay ( DaysOfWeek dayOfWeek ) {
+        return WorkDay.builder ( )
+                .dayOfWeek ( dayOfWeek )
+                .startOfWorkingDay ( LocalTime.of ( 8, 0 ) )
+                .endOfWorkingDay ( LocalTime.of ( 17, 0 ) )
+                .build ( );
+    }
+
+    private DailySchedule buildStoredSchedule ( LocalDate date, LocalTime startTime, LocalTime endTime ) {
+        DailySchedule schedule = DailySchedule.builder ( )
+                .id ( UUID.randomUUID ( ) )
+                .date ( date )
+                .startTime ( startTime )
+                .endTime ( endTime )
+                .timeSlotInterval ( 30 )
+                .build ( );
+
+        List<TimeSlot> timeSlots = new ArrayList<> ( );
+
+        for ( LocalTime slotStart = startTime; slotStart.isBefore ( endTime );
+              slotStart = slotStart.plusMinutes ( 30 ) ) {
+            timeSlots.add ( TimeSlot.builder ( )
+                    .startTime ( slotStart )
+                    .durationInMinutes ( 30 )
+                    .status ( Status.FREE )
+                    .dailySchedule ( schedule )
+                    .build ( ) );
+        }
+
+        schedule.setTimeSlots ( timeSlots );
+        return schedule;
+    }
+
+    private ClinicDayRow buildClinicDayRow (
+            UUID scheduleId, UUID timeSlotId, LocalTime startTime, Status status, UUID patientId ) {
+
+        return new ClinicDayRow ( scheduleId, UUID.randomUUID ( ), "Stored", "Physician",
+                LocalTime.of ( 10, 0 ), LocalTime.of ( 11, 0 ), 30, false, null,
+                timeSlotId, startTime, status,
+                patientId, null, null, null, null, null, null, null, null );
     }
 
     private Physician buildPhysician ( WorkDay workDay ) {
@@ -25,6 +25,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -271,23 +272,59 @@ public class DailySchedulesITests {
         assertEquals ( beforeUpdate.getEndTime (), afterUpdate.getEndTime () );
     }
 
+    @Test
+    void when_generateDaySchedule_withOverlappingSchedule_thenGenerateOnlyMissingSlots () {
+        LocalTime startTime = LocalTime.of ( 10, 0 );
+        LocalTime endTime = LocalTime.of ( 12, 0 );
+        LocalDate date = LocalDate.now ( ).plusDays ( 1 );
+
+        Physician physician = buildPhysician ( date, startTime, endTime );
+
+        DailySchedule dailySchedules = DailySchedule.builder ( )
+                .startTime ( startTime )
+                .endTime ( LocalTime.of ( 11, 0 ) )
+                .date ( date )
+                .physician ( physician )
+                .build ( );
+
+        dailyScheduleRepository.save ( dailySchedules );
+        buildTimeslots ( dailySchedules );
+
+        NewDaySchedule newDaySchedule = NewDaySchedule.builder ( )
+                .startTime ( LocalTime.of ( 10, 30 ) )
+                .endTime ( endTime )
+                .date ( date )
+                .timeSlotInterval ( 30 )
+                .build ( );
+
+        dailyScheduleService.generateDaySchedule ( physician, newDaySchedule );
+
+        DailySchedule afterUpdate = dailyScheduleRepository.findById ( dailySchedules.getId ( ) ).get ( );
+
+        assertEquals ( 4, afterUpdate.getTimeSlots ( ).size ( ) );
+        assertEquals ( 4, afterUpdate.getTimeSlots ( ).stream ( )
+                .map ( TimeSlot::getStartTime ).distinct ( ).count ( ) );
+        assertEquals ( startTime, afterUpdate.getStartTime ( ) );
+        assertEquals ( endTime, afterUpdate.getEndTime ( ) );
+    }
+
     private void buildTimeslots ( DailySchedule dailySchedule ) {
-        timeSlotRepository.saveAll (
-                List.of (
-                        TimeSlot.builder ( )
-                                .startTime ( LocalTime.of ( 10, 0 ) )
-                                .dailySchedule ( dailySchedule )
-                                .durationInMinutes ( 30 )
-                                .status ( Status.FREE )
-                                .build ( ),
-                        TimeSlot.builder ( )
-                                .startTime ( LocalTime.of ( 10, 30 ) )
-                                .dailySchedule ( dailySchedule )
-                                .durationInMinutes ( 30 )
-                                .status ( Status.FREE )
-                                .build ( )
-                )
-        );
+        List<TimeSlot> timeSlots = new ArrayList<> ( );
+
+        for ( LocalTime startTime = dailySchedule.getStartTime ( );
+              startTime.isBefore ( dailySchedule.getEndTime ( ) );
+              startTime = startTime.plusMinutes ( 30 ) ) {
+
+            timeSlots.add ( TimeSlot.builder ( )
+                    .startTime ( startTime )
+                    .dailySchedule ( dailySchedule )
+                    .durationInMinutes ( 30 )
+                    .status ( Status.FREE )
+                    .build ( )
+            );
+        }
+
+        timeSlotRepository.saveAll ( timeSlots );
     }
 
     private Physician buildPhysician ( LocalDate date, LocalTime startTime, LocalTime endTime ) {
@@ -0,0 +1,200 @@
+package medical_clinics.schedule.services;
+
+import medical_clinics.patient.model.Patient;
+import medical_clinics.patient.repository.PatientRepository;
+import medical_clinics.physician.model.Physician;
+import medical_clinics.physician.repository.PhysicianRepository;
+import medical_clinics.schedule.mapper.VirtualTimeSlots;
+import medical_clinics.schedule.models.ArchivedSchedules;
+import medical_clinics.schedule.models.DailySchedule;
+import medical_clinics.schedule.models.Status;
+import medical_clinics.schedule.models.TimeSlot;
+import medical_clinics.schedule.repositories.ArchivedSchedulesRepository;
+import medical_clinics.schedule.repositories.DailyScheduleRepository;
+import medical_clinics.schedule.repositories.TimeSlotRepository;
+import medical_clinics.specialty.model.SpecialtyName;
+import medical_clinics.specialty.repository.SpecialtyRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@SpringBootTest
+public class ScheduleArchiveServiceITests {
+
+    @Autowired
+    ScheduleArchiveService scheduleArchiveService;
+
+    @Autowired
+    ArchivedSchedulesRepository archivedSchedulesRepository;
+
+    @Autowired
+    TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    DailyScheduleRepository dailyScheduleRepository;
+
+    @Autowired
+    SpecialtyRepository specialtyRepository;
+
+    @Autowired
+    PhysicianRepository physicianRepository;
+
+    @Autowired
+    PatientRepository patientRepository;
+
+    LocalDate yesterday = LocalDate.now ( ).minusDays ( 1 );
+
+    @Test
+    void when_archive_withStoredSchedule_shouldMoveTimeSlotsAndDeleteSchedule () {
+        Physician physician = buildPhysician ( );
+        Patient patient = buildPatient ( );
+
+        DailySchedule schedule = buildSchedule ( physician, yesterday, false, null );
+        DailySchedule kept = buildSchedule ( physician, LocalDate.now ( ).plusDays ( 1 ), false, null );
+
+        TimeSlot free = buildTimeSlot ( schedule, LocalTime.of ( 10, 0 ), Status.PASSED, null );
+        TimeSlot reserved = buildTimeSlot ( schedule, LocalTime.of ( 10, 30 ), Status.RESERVED, patient );
+        TimeSlot keptSlot = buildTimeSlot ( kept, LocalTime.of ( 10, 0 ), Status.FREE, null );
+
+        int archived = scheduleArchiveService.archive ( List.of ( schedule.getId ( ) ) );
+
+        assertEquals ( 2, archived );
+
+        Map<UUID, ArchivedSchedules> rows = archivedById ( );
+
+        assertEquals ( 2, rows.size ( ) );
+        assertEquals ( Status.PASSED, rows.get ( free.getId ( ) ).getStatus ( ) );
+        assertNull ( rows.get ( free.getId ( ) ).getPatientId ( ) );
+
+        ArchivedSchedules reservedRow = rows.get ( reserved.getId ( ) );
+
+        assertEquals ( Status.RESERVED, reservedRow.getStatus ( ) );
+        assertEquals ( patient.getId ( ), reservedRow.getPatientId ( ) );
+        assertEquals ( physician.getId ( ), reservedRow.getPhysicianId ( ) );
+        assertEquals ( yesterday, reservedRow.getDate ( ) );
+        assertEquals ( LocalTime.of ( 10, 30 ), reservedRow.getStartTime ( ) );
+        assertEquals ( 30, reservedRow.getDurationInMinutes ( ) );
+
+        assertFalse ( timeSlotRepository.existsById ( free.getId ( ) ) );
+        assertFalse ( timeSlotRepository.existsById ( reserved.getId ( ) ) );
+        assertFalse ( dailyScheduleRepository.existsById ( schedule.getId ( ) ) );
+
+        assertTrue ( timeSlotRepository.existsById ( keptSlot.getId ( ) ) );
+        assertTrue ( dailyScheduleRepository.existsById ( kept.getId ( ) ) );
+    }
+
+    @Test
+    void when_archive_withSeededSchedule_shouldArchiveWholeGridUnderPublicIds () {
+        Physician physician = buildPhysician ( );
+        Patient patient = buildPatient ( );
+        long slotSeed = 42L;
+
+        DailySchedule schedule = buildSchedule ( physician, yesterday, true, slotSeed );
+        TimeSlot reserved = buildTimeSlot ( schedule, LocalTime.of ( 10, 0 ), Status.RESERVED, patient );
+
+        int archived = scheduleArchiveService.archive ( List.of ( schedule.getId ( ) ) );
+
+        assertEquals ( 2, archived );
+
+        Map<UUID, ArchivedSchedules> rows = archivedById ( );
+        ArchivedSchedules reservedRow = rows.get ( VirtualTimeSlots.timeSlotId ( slotSeed, LocalTime.of ( 10, 0 ) ) );
+        ArchivedSchedules untouchedRow = rows.get ( VirtualTimeSlots.timeSlotId ( slotSeed, LocalTime.of ( 10, 30 ) ) );
+
+        assertEquals ( 2, rows.size ( ) );
+        assertEquals ( Status.RESERVED, reservedRow.getStatus ( ) );
+        assertEquals ( patient.getId ( ), reservedRow.getPatientId ( ) );
+        assertEquals ( Status.PASSED, untouchedRow.getStatus ( ) );
+        assertNull ( untouchedRow.getPatientId ( ) );
+        assertEquals ( 30, untouchedRow.getDurationInMinutes ( ) );
+
+        assertFalse ( timeSlotRepository.existsById ( reserved.getId ( ) ) );
+        assertFalse ( dailyScheduleRepository.existsById ( schedule.getId ( ) ) );
+    }
+
+    @Test
+    void when_archiveFutureChunkOfPhysician_shouldArchiveOnlyEarliestDaysOfChunk () {
+        Physician physician = buildPhysician ( );
+        LocalDate today = LocalDate.now ( );
+
+        DailySchedule first = buildSchedule ( physician, today.plusDays ( 1 ), false, null );
+        DailySchedule second = buildSchedule ( physician, today.plusDays ( 2 ), false, null );
+        DailySchedule current = buildSchedule ( physician, today, false, null );
+        buildTimeSlot ( first, LocalTime.of ( 10, 0 ), Status.FREE, null );
+
+        assertEquals ( 1, scheduleArchiveService.archiveFutureChunkOfPhysician ( physician.getId ( ), today, 1 ) );
+
+        assertFalse ( dailyScheduleRepository.existsById ( first.getId ( ) ) );
+        assertTrue ( dailyScheduleRepository.existsById ( second.getId ( ) ) );
+        assertEquals ( 1, archivedSchedulesRepository.count ( ) );
+
+        assertEquals ( 1, scheduleArchiveService.archiveFutureChunkOfPhysician ( physician.getId ( ), today, 1 ) );
+        assertEquals ( 0, scheduleArchiveService.archiveFutureChunkOfPhysician ( physician.getId ( ), today, 1 ) );
+
+        assertFalse ( dailyScheduleRepository.existsById ( second.getId ( ) ) );
+        assertTrue ( dailyScheduleRepository.existsById ( current.getId ( ) ) );
+    }
+
+    private Map<UUID, ArchivedSchedules> archivedById () {
+        return archivedSchedulesRepository.findAll ( ).stream ( )
+                .collect ( Collectors.toMap ( ArchivedSchedules::getId, Function.identity ( ) ) );
+    }
+
+    private DailySchedule buildSchedule ( Physician physician, LocalDate date, boolean virtualSlots, Long slotSeed ) {
+        return dailyScheduleRepository.save (
+                DailySchedule.builder ( )
+                        .startTime ( LocalTime.of ( 10, 0 ) )
+                        .endTime ( LocalTime.of ( 11, 0 ) )
+                        .timeSlotInterval ( 30 )
+                        .date ( date )
+                        .virtualSlots ( virtualSlots )
+                        .slotSeed ( slotSeed )
+                        .physician ( physician )
+                        .build ( )
+        );
+    }
+
+    private TimeSlot buildTimeSlot ( DailySchedule schedule, LocalTime startTime, Status status, Patient patient ) {
+        return timeSlotRepository.save (
+                TimeSlot.builder ( )
+                        .startTime ( startTime )
+                        .status ( status )
+                        .durationInMinutes ( 30 )
+                        .patient ( patient )
+                        .dailySchedule ( schedule )
+                        .build ( )
+        );
+    }
+
+    private Patient buildPatient () {
+        return patientRepository.save ( Patient.builder ( )
+                .email ( "Some@mail" ).firstName ( "Some" ).lastName ( "One" )
+                .build ( )
+        );
+    }
+
+    private Physician buildPhysician () {
+        return physicianRepository.save (
+                Physician.builder ( )
+                        .email ( "test@test.test" )
+                        .firstName ( "Test" )
+                        .lastName ( "Test" )
+                        .identificationNumber ( "A11111111111" )
+                        .specialty ( specialtyRepository.getByName ( SpecialtyName.ALLERGIST ).get ( ) )
+                        .build ( )
+        );
+    }
+}
@@ -0,0 +1,126 @@
+package medical_clinics.schedule.services;
+
+import medical_clinics.schedule.models.ScheduleChangeType;
+import medical_clinics.schedule.models.Status;
+import medical_clinics.web.dto.events.PassedTimeSlotsEvent;
+import medical_clinics.web.dto.events.ScheduleDayChangeEvent;
+import medical_clinics.web.dto.events.TimeSlotStatusChangeEvent;
+import medical_clinics.web.dto.response.ScheduleChange;
+import medical_clinics.web.dto.response.ScheduleChanges;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleChangeLogUTests {
+    private static final LocalDate DATE = LocalDate.of ( 2025, 5, 5 );
+
+    private final ScheduleChangeLog scheduleChangeLog = new ScheduleChangeLog ( );
+
+    private final String epoch = scheduleChangeLog.getChangesSince ( UUID.randomUUID ( ), null, null ).getEpoch ( );
+
+    @Test
+    void when_getChangesSince_withoutSince_ReturnResyncWithCurrentSequence () {
+        UUID physicianId = UUID.randomUUID ( );
+        scheduleChangeLog.onScheduleDayChange ( new ScheduleDayChangeEvent ( physicianId, DATE ) );
+
+        ScheduleChanges changes = scheduleChangeLog.getChangesSince ( physicianId, epoch, null );
+
+        assertTrue ( changes.isResync ( ) );
+        assertTrue ( changes.getChanges ( ).isEmpty ( ) );
+        assertEquals ( changes.getSequence ( ),
+                scheduleChangeLog.getChangesSince ( physicianId, epoch, null ).getSequence ( ) );
+    }
+
+    @Test
+    void when_getChangesSince_withRetainedSince_ReturnOnlyLaterChangesOfPhysician () {
+        UUID physicianId = UUID.randomUUID ( );
+        UUID otherPhysicianId = UUID.randomUUID ( );
+        UUID timeSlotId = UUID.randomUUID ( );
+
+        scheduleChangeLog.onTimeSlotStatusChange ( statusChange ( physicianId, UUID.randomUUID ( ), Status.RESERVED ) );
+        long since = scheduleChangeLog.getChangesSince ( physicianId, epoch, null ).getSequence ( );
+
+        scheduleChangeLog.onTimeSlotStatusChange (
+                statusChange ( otherPhysicianId, UUID.randomUUID ( ), Status.FREE )
+        );
+        scheduleChangeLog.onTimeSlotStatusChange ( statusChange ( physicianId, timeSlotId, Status.RESERVED ) );
+        scheduleChangeLog.onScheduleDayChange ( new ScheduleDayChangeEvent ( physicianId, DATE.plusDays ( 1 ) ) );
+
+        ScheduleChanges changes = scheduleChangeLog.getChangesSince ( physicianId, epoch, since );
+
+        assertFalse ( changes.isResync ( ) );
+        assertEquals ( 2, changes.getChanges ( ).size ( ) );
+
+        ScheduleChange slotChange = changes.getChanges ( ).get ( 0 );
+        assertEquals ( ScheduleChangeType.SLOT, slotChange.getType ( ) );
+        assertEquals ( timeSlotId, slotChange.getTimeslotId ( ) );
+        assertEquals ( Status.RESERVED, slotChange.getStatus ( ) );
+        assertEquals ( ScheduleChangeType.DAY, changes.getChanges ( ).get ( 1 ).getType ( ) );
+        assertTrue ( slotChange.getSequence ( ) < changes.getChanges ( ).get ( 1 ).getSequence ( ) );
+        assertEquals ( changes.getChanges ( ).get ( 1 ).getSequence ( ), changes.getSequence ( ) );
+        assertNull ( changes.getPassed ( ) );
+
+        assertTrue ( scheduleChangeLog.getChangesSince ( physicianId, epoch, changes.getSequence ( ) )
+                .getChanges ( ).isEmpty ( ) );
+    }
+
+    @Test
+    void when_getChangesSince_afterPassedTimeSlots_ReturnLatestPassedMarker () {
+        UUID physicianId = UUID.randomUUID ( );
+        long since = scheduleChangeLog.getChangesSince ( physicianId, epoch, null ).getSequence ( );
+
+        scheduleChangeLog.onPassedTimeSlots ( new PassedTimeSlotsEvent ( DATE, LocalTime.of ( 10, 0 ) ) );
+        scheduleChangeLog.onPassedTimeSlots ( new PassedTimeSlotsEvent ( DATE, LocalTime.of ( 10, 30 ) ) );
+
+        ScheduleChanges changes = scheduleChangeLog.getChangesSince ( physicianId, epoch, since );
+
+        assertFalse ( changes.isResync ( ) );
+        assertTrue ( changes.getChanges ( ).isEmpty ( ) );
+        assertEquals ( LocalTime.of ( 10, 30 ), changes.getPassed ( ).getStartedBefore ( ) );
+        assertNull ( scheduleChangeLog.getChangesSince ( physicianId, epoch, changes.getSequence ( ) ).getPassed ( ) );
+    }
+
+    @Test
+    void when_getChangesSince_withEvictedOrUnknownSince_ReturnResync () {
+        UUID physicianId = UUID.randomUUID ( );
+        long since = scheduleChangeLog.getChangesSince ( physicianId, epoch, null ).getSequence ( );
+
+        for ( int i = 0; i <= ScheduleChangeLog.MAX_CHANGES_PER_PHYSICIAN; i++ ) {
+            scheduleChangeLog.onTimeSlotStatusChange ( statusChange ( physicianId, UUID.randomUUID ( ), Status.FREE ) );
+        }
+
+        ScheduleChanges current = scheduleChangeLog.getChangesSince ( physicianId, epoch, since + 1 );
+
+        assertFalse ( current.isResync ( ) );
+        assertEquals ( ScheduleChangeLog.MAX_CHANGES_PER_PHYSICIAN, current.getChanges ( ).size ( ) );
+        assertTrue ( scheduleChangeLog.getChangesSince ( physicianId, epoch, since ).isResync ( ) );
+        assertTrue ( scheduleChangeLog.getChangesSince (
+                physicianId, epoch, current.getSequence ( ) + 1 ).isResync ( ) );
+        assertTrue ( scheduleChangeLog.getChangesSince ( physicianId, epoch, 0L ).isResync ( ) );
+    }
+
+    @Test
+    void when_getChangesSince_withSinceOfOtherEpoch_ReturnResync () {
+        UUID physicianId = UUID.randomUUID ( );
+        long since = scheduleChangeLog.getChangesSince ( physicianId, epoch, null ).getSequence ( );
+
+        scheduleChangeLog.onTimeSlotStatusChange ( statusChange ( physicianId, UUID.randomUUID ( ), Status.FREE ) );
+
+        ScheduleChanges changes = new ScheduleChangeLog ( ).getChangesSince ( physicianId, epoch, since );
+
+        assertTrue ( changes.isResync ( ) );
+        assertNotEquals ( epoch, changes.getEpoch ( ) );
+        assertTrue ( scheduleChangeLog.getChangesSince ( physicianId, null, since ).isResync ( ) );
+        assertFalse ( scheduleChangeLog.getChangesSince ( physicianId, epoch, since ).isResync ( ) );
+    }
+
+    private TimeSlotStatusChangeEvent statusChange ( UUID physicianId, UUID timeSlotId, Status status ) {
+        return new TimeSlotStatusChangeEvent (
+                timeSlotId, physicianId, null, DATE, LocalTime.of ( 9, 0 ), status
+        );
+    }
+}
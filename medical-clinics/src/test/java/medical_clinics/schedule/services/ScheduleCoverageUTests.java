@@ -0,0 +1,166 @@
+package medical_clinics.schedule.services;
+
+import medical_clinics.schedule.models.DailySchedule;
+import medical_clinics.schedule.models.Status;
+import medical_clinics.schedule.models.TimeSlot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleCoverageUTests {
+
+    private static final int MINUTES_OF_DAY = 24 * 60;
+
+    @Test
+    void when_fill_withPartialOverlap_ReturnOnlyMissingGridSlots () {
+        ScheduleCoverage coverage = ScheduleCoverage.of (
+                buildSchedule ( LocalTime.of ( 10, 0 ), LocalTime.of ( 11, 0 ) )
+        );
+
+        List<LocalTime> startTimes = coverage.fill ( LocalTime.of ( 10, 30 ), LocalTime.of ( 12, 0 ), 30 );
+
+        assertEquals ( List.of ( LocalTime.of ( 11, 0 ), LocalTime.of ( 11, 30 ) ), startTimes );
+        assertEquals ( 1, coverage.intervalCount ( ) );
+    }
+
+    @Test
+    void when_fill_withMisalignedGap_SkipSlotsThatDoNotFit () {
+        ScheduleCoverage coverage = new ScheduleCoverage ( );
+        coverage.add ( LocalTime.of ( 9, 0 ), 20 );
+        coverage.add ( LocalTime.of ( 10, 10 ), 20 );
+
+        List<LocalTime> startTimes = coverage.fill ( LocalTime.of ( 9, 0 ), LocalTime.of ( 11, 0 ), 30 );
+
+        assertEquals ( List.of ( LocalTime.of ( 9, 30 ), LocalTime.of ( 10, 30 ) ), startTimes );
+    }
+
+    @Test
+    void when_fill_withCoveredRange_ReturnNothing () {
+        ScheduleCoverage coverage = ScheduleCoverage.of (
+                buildSchedule ( LocalTime.of ( 8, 0 ), LocalTime.of ( 12, 0 ) )
+        );
+
+        assertTrue ( coverage.fill ( LocalTime.of ( 9, 0 ), LocalTime.of ( 11, 0 ), 15 ).isEmpty ( ) );
+    }
+
+    @Test
+    void when_fill_withRandomEdits_NeverOverlapAndLeaveNoFittingGap () {
+        Random random = new Random ( 42 );
+
+        for ( int round = 0; round < 200; round++ ) {
+            ScheduleCoverage coverage = new ScheduleCoverage ( );
+            BitSet covered = new BitSet ( MINUTES_OF_DAY );
+
+            for ( int i = random.nextInt ( 6 ); i > 0; i-- ) {
+                int start = random.nextInt ( 20 * 60 );
+                int duration = 5 + random.nextInt ( 60 );
+
+                coverage.add ( LocalTime.ofSecondOfDay ( start * 60L ), duration );
+                covered.set ( start, start + duration );
+            }
+
+            int from = random.nextInt ( 18 * 60 );
+            int to = from + 30 + random.nextInt ( 5 * 60 );
+            int interval = List.of ( 10, 15, 20, 30, 45, 60 ).get ( random.nextInt ( 6 ) );
+
+            List<LocalTime> startTimes = coverage.fill (
+                    LocalTime.ofSecondOfDay ( from * 60L ), LocalTime.ofSecondOfDay ( to * 60L ), interval
+            );
+
+            for ( LocalTime startTime : startTimes ) {
+                int start = startTime.toSecondOfDay ( ) / 60;
+
+                assertEquals ( 0, ( start - from ) % interval );
+                assertTrue ( start >= from && start + interval <= to );
+                assertEquals ( -1, nextSetBit ( covered, start, start + interval ) );
+
+                covered.set ( start, start + interval );
+            }
+
+            for ( int start = from; start + interval <= to; start += interval ) {
+                assertNotEquals ( -1, nextSetBit ( covered, start, start + interval ) );
+            }
+
+            assertTrue ( coverage.fill (
+                    LocalTime.ofSecondOfDay ( from * 60L ), LocalTime.ofSecondOfDay ( to * 60L ), interval
+            ).isEmpty ( ) );
+        }
+    }
+
+    @Test
+    void when_fill_withHundredsOfEdits_KeepCoverageMerged () {
+        ScheduleCoverage coverage = new ScheduleCoverage ( );
+        List<LocalTime> emitted = fillRandomly ( coverage, new Random ( 7 ), 500 );
+
+        BitSet covered = new BitSet ( MINUTES_OF_DAY );
+
+        for ( LocalTime startTime : emitted ) {
+            int start = startTime.toSecondOfDay ( ) / 60;
+
+            assertEquals ( -1, nextSetBit ( covered, start, start + 15 ) );
+            covered.set ( start, start + 15 );
+        }
+
+        assertTrue ( coverage.intervalCount ( ) <= emitted.size ( ) );
+        assertTrue ( emitted.stream ( ).allMatch ( startTime -> coverage.overlaps ( startTime, 15 ) ) );
+    }
+
+    @Test
+    @Tag("benchmark")
+    void when_fill_withHundredsOfEdits_FinishWithinASecond () {
+        ScheduleCoverage coverage = new ScheduleCoverage ( );
+
+        assertTimeout ( Duration.ofSeconds ( 1 ), () -> fillRandomly ( coverage, new Random ( 7 ), 500 ) );
+    }
+
+    private List<LocalTime> fillRandomly ( ScheduleCoverage coverage, Random random, int edits ) {
+        List<LocalTime> emitted = new ArrayList<> ( );
+
+        for ( int edit = 0; edit < edits; edit++ ) {
+            int from = random.nextInt ( 22 * 60 );
+            int to = Math.min ( MINUTES_OF_DAY - 1, from + 15 + random.nextInt ( 120 ) );
+
+            emitted.addAll ( coverage.fill (
+                    LocalTime.ofSecondOfDay ( from * 60L ), LocalTime.ofSecondOfDay ( to * 60L ), 15
+            ) );
+        }
+        return emitted;
+    }
+
+    private int nextSetBit ( BitSet bits, int from, int to ) {
+        int next = bits.nextSetBit ( from );
+        return next != -1 && next < to ? next : -1;
+    }
+
+    private DailySchedule buildSchedule ( LocalTime startTime, LocalTime endTime ) {
+        DailySchedule schedule = DailySchedule.builder ( )
+                .date ( LocalDate.now ( ) )
+                .startTime ( startTime )
+                .endTime ( endTime )
+                .timeSlotInterval ( 30 )
+                .build ( );
+
+        List<TimeSlot> timeSlots = new ArrayList<> ( );
+
+        for ( LocalTime start = startTime; start.isBefore ( endTime ); start = start.plusMinutes ( 30 ) ) {
+            timeSlots.add ( TimeSlot.builder ( )
+                    .startTime ( start )
+                    .durationInMinutes ( 30 )
+                    .status ( Status.FREE )
+                    .dailySchedule ( schedule )
+                    .build ( ) );
+        }
+
+        schedule.setTimeSlots ( timeSlots );
+        return schedule;
+    }
+}
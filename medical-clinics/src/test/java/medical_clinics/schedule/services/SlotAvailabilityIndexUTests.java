@@ -0,0 +1,156 @@
+package medical_clinics.schedule.services;
+
+import medical_clinics.schedule.models.Status;
+import medical_clinics.schedule.projections.FreeTimeSlotStart;
+import medical_clinics.schedule.projections.PublicTimeSlotRow;
+import medical_clinics.schedule.projections.SeededScheduleRow;
+import medical_clinics.schedule.repositories.DailyScheduleRepository;
+import medical_clinics.schedule.repositories.TimeSlotRepository;
+import medical_clinics.web.dto.events.PassedTimeSlotsEvent;
+import medical_clinics.web.dto.events.ScheduleDayChangeEvent;
+import medical_clinics.web.dto.events.TimeSlotStatusChangeEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SlotAvailabilityIndexUTests {
+
+    @Mock
+    TimeSlotRepository timeSlotRepository;
+
+    @Mock
+    DailyScheduleRepository dailyScheduleRepository;
+
+    @InjectMocks
+    SlotAvailabilityIndex slotAvailabilityIndex;
+
+    UUID physicianId = UUID.randomUUID ( );
+    LocalDate tomorrow = LocalDate.now ( ).plusDays ( 1 );
+
+    @Test
+    void when_timeSlotFreedAndTaken_shouldFollowLastStatus () {
+        slotAvailabilityIndex.onTimeSlotStatusChange ( statusChange ( tomorrow, LocalTime.of ( 9, 0 ), Status.FREE ) );
+
+        assertEquals ( List.of ( tomorrow ),
+                slotAvailabilityIndex.getDaysWithFreeSlots ( physicianId, tomorrow, tomorrow.plusDays ( 7 ) ) );
+
+        slotAvailabilityIndex.onTimeSlotStatusChange (
+                statusChange ( tomorrow, LocalTime.of ( 9, 0 ), Status.RESERVED )
+        );
+
+        assertTrue ( slotAvailabilityIndex.getDaysWithFreeSlots ( physicianId, tomorrow, tomorrow ).isEmpty ( ) );
+    }
+
+    @Test
+    void when_timeSlotTaken_ofUnknownPhysician_shouldStayEmpty () {
+        slotAvailabilityIndex.onTimeSlotStatusChange (
+                statusChange ( tomorrow, LocalTime.of ( 9, 0 ), Status.INACTIVE )
+        );
+
+        assertTrue ( slotAvailabilityIndex.getDaysWithFreeSlots ( physicianId, tomorrow, tomorrow ).isEmpty ( ) );
+        assertTrue ( days ( ).isEmpty ( ) );
+    }
+
+    @Test
+    void when_scheduleDayChange_shouldReloadDayFromVirtualGridAndStoredRows () {
+        UUID scheduleId = UUID.randomUUID ( );
+        SeededScheduleRow schedule = new SeededScheduleRow ( scheduleId, 1L, true, physicianId, "First", "Last",
+                tomorrow, LocalTime.of ( 9, 0 ), LocalTime.of ( 10, 0 ), 30 );
+
+        when ( dailyScheduleRepository.findVirtualScheduleOfDay ( physicianId, tomorrow ) )
+                .thenReturn ( Optional.of ( schedule ) );
+        when ( timeSlotRepository.findPublicRowsOfSchedules ( List.of ( scheduleId ) ) ).thenReturn ( List.of (
+                new PublicTimeSlotRow ( scheduleId, UUID.randomUUID ( ), LocalTime.of ( 9, 0 ), Status.RESERVED ),
+                new PublicTimeSlotRow ( scheduleId, UUID.randomUUID ( ), LocalTime.of ( 9, 30 ), Status.INACTIVE )
+        ) );
+        when ( timeSlotRepository.findFreeTimeSlotStartsOfDay ( physicianId, tomorrow ) ).thenReturn ( List.of ( ) );
+
+        slotAvailabilityIndex.onScheduleDayChange ( new ScheduleDayChangeEvent ( physicianId, tomorrow ) );
+
+        assertTrue ( slotAvailabilityIndex.getDaysWithFreeSlots ( physicianId, tomorrow, tomorrow ).isEmpty ( ) );
+        assertTrue ( days ( ).isEmpty ( ) );
+    }
+
+    @Test
+    void when_scheduleDayChange_withFreeStoredSlots_shouldReplaceDay () {
+        LocalDate dayAfter = tomorrow.plusDays ( 1 );
+
+        slotAvailabilityIndex.onTimeSlotStatusChange ( statusChange ( tomorrow, LocalTime.of ( 8, 0 ), Status.FREE ) );
+        slotAvailabilityIndex.onTimeSlotStatusChange ( statusChange ( dayAfter, LocalTime.of ( 8, 0 ), Status.FREE ) );
+
+        when ( dailyScheduleRepository.findVirtualScheduleOfDay ( physicianId, tomorrow ) )
+                .thenReturn ( Optional.empty ( ) );
+        when ( timeSlotRepository.findFreeTimeSlotStartsOfDay ( physicianId, tomorrow ) ).thenReturn ( List.of ( ) );
+
+        slotAvailabilityIndex.onScheduleDayChange ( new ScheduleDayChangeEvent ( physicianId, tomorrow ) );
+
+        assertEquals ( List.of ( dayAfter ),
+                slotAvailabilityIndex.getDaysWithFreeSlots ( physicianId, tomorrow, dayAfter ) );
+
+        when ( timeSlotRepository.findFreeTimeSlotStartsOfDay ( physicianId, tomorrow ) )
+                .thenReturn ( List.of ( new FreeTimeSlotStart ( physicianId, tomorrow, LocalTime.of ( 11, 0 ) ) ) );
+
+        slotAvailabilityIndex.onScheduleDayChange ( new ScheduleDayChangeEvent ( physicianId, tomorrow ) );
+
+        assertEquals ( List.of ( tomorrow, dayAfter ),
+                slotAvailabilityIndex.getDaysWithFreeSlots ( physicianId, tomorrow, dayAfter ) );
+    }
+
+    @Test
+    void when_passedTimeSlots_shouldClearStartedMinutesOnly () {
+        slotAvailabilityIndex.onTimeSlotStatusChange ( statusChange ( tomorrow, LocalTime.of ( 9, 0 ), Status.FREE ) );
+
+        slotAvailabilityIndex.onPassedTimeSlots ( new PassedTimeSlotsEvent ( tomorrow, LocalTime.of ( 8, 59, 30 ) ) );
+
+        assertEquals ( List.of ( tomorrow ),
+                slotAvailabilityIndex.getDaysWithFreeSlots ( physicianId, tomorrow, tomorrow ) );
+
+        slotAvailabilityIndex.onPassedTimeSlots ( new PassedTimeSlotsEvent ( tomorrow, LocalTime.of ( 9, 0, 30 ) ) );
+
+        assertTrue ( slotAvailabilityIndex.getDaysWithFreeSlots ( physicianId, tomorrow, tomorrow ).isEmpty ( ) );
+    }
+
+    @Test
+    void when_evictPastDays_shouldDropPastDaysAndEmptyPhysicians () {
+        UUID otherPhysicianId = UUID.randomUUID ( );
+        LocalDate yesterday = LocalDate.now ( ).minusDays ( 1 );
+
+        slotAvailabilityIndex.onTimeSlotStatusChange ( statusChange ( yesterday, LocalTime.of ( 9, 0 ), Status.FREE ) );
+        slotAvailabilityIndex.onTimeSlotStatusChange ( statusChange ( tomorrow, LocalTime.of ( 9, 0 ), Status.FREE ) );
+        slotAvailabilityIndex.onTimeSlotStatusChange ( new TimeSlotStatusChangeEvent ( UUID.randomUUID ( ),
+                otherPhysicianId, null, yesterday, LocalTime.of ( 9, 0 ), Status.FREE ) );
+
+        slotAvailabilityIndex.evictPastDays ( );
+
+        Map<UUID, Map<LocalDate, ?>> days = days ( );
+
+        assertEquals ( 1, days.size ( ) );
+        assertEquals ( List.of ( tomorrow ), List.copyOf ( days.get ( physicianId ).keySet ( ) ) );
+        assertFalse ( days.containsKey ( otherPhysicianId ) );
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<UUID, Map<LocalDate, ?>> days () {
+        return (Map<UUID, Map<LocalDate, ?>>) ReflectionTestUtils.getField (
+                slotAvailabilityIndex, "freeSlotsByPhysician"
+        );
+    }
+
+    private TimeSlotStatusChangeEvent statusChange ( LocalDate date, LocalTime startTime, Status status ) {
+        return new TimeSlotStatusChangeEvent ( UUID.randomUUID ( ), physicianId, null, date, startTime, status );
+    }
+}
@@ -0,0 +1,149 @@
+package medical_clinics.schedule.services;
+
+import medical_clinics.schedule.exceptions.ScheduleConflictException;
+import medical_clinics.schedule.models.SlotHold;
+import medical_clinics.schedule.property.SlotHoldProperty;
+import medical_clinics.schedule.repositories.SlotHoldRepository;
+import medical_clinics.web.dto.events.SlotHoldExpiredEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SlotHoldServiceUTests {
+
+    @Mock
+    SlotHoldRepository slotHoldRepository;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    SlotHoldProperty slotHoldProperty;
+
+    SlotHoldService slotHoldService;
+
+    @BeforeEach
+    void setUp () {
+        slotHoldProperty = new SlotHoldProperty ( Duration.ofMinutes ( 2 ), false );
+        slotHoldService = new SlotHoldService ( slotHoldRepository, slotHoldProperty, eventPublisher );
+    }
+
+    @Test
+    void when_hold_withSlotHeldByOther_shouldThrowException () {
+        UUID timeSlotId = UUID.randomUUID ( );
+
+        slotHoldService.hold ( UUID.randomUUID ( ), timeSlotId );
+
+        assertThrows ( ScheduleConflictException.class,
+                () -> slotHoldService.hold ( UUID.randomUUID ( ), timeSlotId ) );
+        verifyNoInteractions ( slotHoldRepository );
+    }
+
+    @Test
+    void when_hold_withSlotHeldBySameAccount_shouldExtendHold () {
+        UUID timeSlotId = UUID.randomUUID ( );
+        UUID accountId = UUID.randomUUID ( );
+
+        SlotHold first = slotHoldService.hold ( accountId, timeSlotId );
+        SlotHold second = slotHoldService.hold ( accountId, timeSlotId );
+
+        assertFalse ( second.getExpiresAt ( ).isBefore ( first.getExpiresAt ( ) ) );
+        assertDoesNotThrow ( () -> slotHoldService.checkNotHeldByOther ( accountId, timeSlotId ) );
+    }
+
+    @Test
+    void when_release_withOwnHold_shouldLetOthersHold () {
+        UUID timeSlotId = UUID.randomUUID ( );
+        UUID accountId = UUID.randomUUID ( );
+
+        slotHoldService.hold ( accountId, timeSlotId );
+        slotHoldService.release ( accountId, timeSlotId );
+
+        assertDoesNotThrow ( () -> slotHoldService.hold ( UUID.randomUUID ( ), timeSlotId ) );
+    }
+
+    @Test
+    void when_hold_withExpiredHoldOfOther_shouldHold () {
+        slotHoldProperty.setTtl ( Duration.ZERO );
+        UUID timeSlotId = UUID.randomUUID ( );
+
+        slotHoldService.hold ( UUID.randomUUID ( ), timeSlotId );
+
+        assertDoesNotThrow ( () -> slotHoldService.hold ( UUID.randomUUID ( ), timeSlotId ) );
+    }
+
+    @Test
+    void when_hold_distributedWithSlotHeldOnOtherNode_shouldThrowException () {
+        slotHoldProperty.setDistributed ( true );
+        UUID timeSlotId = UUID.randomUUID ( );
+        UUID accountId = UUID.randomUUID ( );
+
+        when ( slotHoldRepository.renew ( eq ( timeSlotId ), eq ( accountId ), any ( ), any ( ) ) ).thenReturn ( 0 );
+        when ( slotHoldRepository.insert ( eq ( timeSlotId ), eq ( accountId ), any ( ) ) )
+                .thenThrow ( DataIntegrityViolationException.class );
+
+        assertThrows ( ScheduleConflictException.class, () -> slotHoldService.hold ( accountId, timeSlotId ) );
+    }
+
+    @Test
+    void when_checkNotHeldByOther_distributedWithOwnLocalHoldAndOtherHoldInDatabase_shouldThrowException () {
+        slotHoldProperty.setDistributed ( true );
+        UUID timeSlotId = UUID.randomUUID ( );
+        UUID accountId = UUID.randomUUID ( );
+
+        when ( slotHoldRepository.renew ( eq ( timeSlotId ), eq ( accountId ), any ( ), any ( ) ) ).thenReturn ( 1 );
+        when ( slotHoldRepository.findById ( timeSlotId ) ).thenReturn ( Optional.of (
+                new SlotHold ( timeSlotId, UUID.randomUUID ( ), LocalDateTime.now ( ).plusMinutes ( 1 ) )
+        ) );
+
+        slotHoldService.hold ( accountId, timeSlotId );
+
+        assertThrows ( ScheduleConflictException.class,
+                () -> slotHoldService.checkNotHeldByOther ( accountId, timeSlotId ) );
+    }
+
+    @Test
+    void when_checkNotHeldByOther_distributedWithExpiredHoldInDatabase_shouldPass () {
+        slotHoldProperty.setDistributed ( true );
+        UUID timeSlotId = UUID.randomUUID ( );
+
+        when ( slotHoldRepository.findById ( timeSlotId ) ).thenReturn ( Optional.of (
+                new SlotHold ( timeSlotId, UUID.randomUUID ( ), LocalDateTime.now ( ).minusSeconds ( 1 ) )
+        ) );
+
+        assertDoesNotThrow ( () -> slotHoldService.checkNotHeldByOther ( UUID.randomUUID ( ), timeSlotId ) );
+    }
+
+    @Test
+    void when_evictExpiredHolds_shouldPublishExpiredHoldsOnly () {
+        UUID expiredSlotId = UUID.randomUUID ( );
+        UUID accountId = UUID.randomUUID ( );
+
+        slotHoldProperty.setTtl ( Duration.ZERO );
+        slotHoldService.hold ( accountId, expiredSlotId );
+
+        slotHoldProperty.setTtl ( Duration.ofMinutes ( 2 ) );
+        slotHoldService.hold ( UUID.randomUUID ( ), UUID.randomUUID ( ) );
+
+        slotHoldService.evictExpiredHolds ( );
+
+        verify ( eventPublisher, times ( 1 ) ).publishEvent ( argThat ( event ->
+                event instanceof SlotHoldExpiredEvent expired &&
+                        expired.getTimeSlotId ( ).equals ( expiredSlotId ) &&
+                        expired.getAccountId ( ).equals ( accountId )
+        ) );
+        verifyNoMoreInteractions ( eventPublisher );
+    }
+}
@@ -0,0 +1,78 @@
+package medical_clinics.schedule.services;
+
+import medical_clinics.schedule.repositories.DailyScheduleRepository;
+import medical_clinics.schedule.repositories.TimeSlotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TimeSlotExpirySchedulerUTests {
+
+    @Mock
+    TimeSlotRepository timeSlotRepository;
+
+    @Mock
+    DailyScheduleRepository dailyScheduleRepository;
+
+    @Mock
+    TimeSlotService timeSlotService;
+
+    @InjectMocks
+    TimeSlotExpiryScheduler timeSlotExpiryScheduler;
+
+    @AfterEach
+    void tearDown () {
+        timeSlotExpiryScheduler.shutdown ( );
+    }
+
+    @Test
+    void when_reload_withStartedFreeTimeSlots_shouldMarkThemPassedOnce () {
+        LocalDate today = LocalDate.now ( );
+
+        when ( timeSlotRepository.findFreeStartTimesOfDate ( today ) )
+                .thenReturn ( List.of ( LocalTime.MIN, LocalTime.MIN.plusMinutes ( 30 ) ) );
+        when ( dailyScheduleRepository.findVirtualSchedulesOfDate ( today ) ).thenReturn ( List.of ( ) );
+
+        timeSlotExpiryScheduler.reload ( );
+
+        verify ( timeSlotService, timeout ( 1000 ).times ( 1 ) ).markTimeSlotsPassed ( eq ( today ), any ( ) );
+    }
+
+    @Test
+    void when_reload_withFailingSweep_shouldRetryStartedTimeSlotsAfterBackoff () {
+        LocalDate today = LocalDate.now ( );
+
+        when ( timeSlotRepository.findFreeStartTimesOfDate ( today ) ).thenReturn ( List.of ( LocalTime.MIN ) );
+        when ( dailyScheduleRepository.findVirtualSchedulesOfDate ( today ) ).thenReturn ( List.of ( ) );
+        doThrow ( new IllegalStateException ( "Lock wait timeout" ) ).doNothing ( )
+                .when ( timeSlotService ).markTimeSlotsPassed ( eq ( today ), any ( ) );
+
+        timeSlotExpiryScheduler.reload ( );
+
+        verify ( timeSlotService, timeout ( 3000 ).times ( 2 ) ).markTimeSlotsPassed ( eq ( today ), any ( ) );
+    }
+
+    @Test
+    void when_reload_withFutureFreeTimeSlots_shouldNotMarkThemPassed () {
+        LocalDate today = LocalDate.now ( );
+
+        when ( timeSlotRepository.findFreeStartTimesOfDate ( today ) ).thenReturn ( List.of ( LocalTime.MAX ) );
+        when ( dailyScheduleRepository.findVirtualSchedulesOfDate ( today ) ).thenReturn ( List.of ( ) );
+
+        timeSlotExpiryScheduler.reload ( );
+
+        verify ( timeSlotService, after ( 200 ).never ( ) ).markTimeSlotsPassed ( any ( ), any ( ) );
+    }
+}
@@ -1,6 +1,8 @@
 package medical_clinics.schedule.services;
 
 import jakarta.transaction.Transactional;
+import medical_clinics.clinic.models.Clinic;
+import medical_clinics.clinic.repositories.ClinicRepository;
 import medical_clinics.patient.model.Patient;
 import medical_clinics.patient.repository.PatientRepository;
 import medical_clinics.physician.model.Physician;
@@ -10,6 +12,7 @@ import medical_clinics.schedule.models.DailySchedule;
 import medical_clinics.schedule.models.Status;
 import medical_clinics.schedule.models.TimeSlot;
 import medical_clinics.schedule.repositories.DailyScheduleRepository;
+import medical_clinics.schedule.repositories.SlotHoldRepository;
 import medical_clinics.schedule.repositories.TimeSlotRepository;
 import medical_clinics.specialty.model.Specialty;
 import medical_clinics.specialty.model.SpecialtyName;
@@ -18,6 +21,7 @@ import medical_clinics.user_account.model.Role;
 import medical_clinics.user_account.model.UserAccount;
 import medical_clinics.user_account.model.UserStatus;
 import medical_clinics.user_account.repository.UserAccountRepository;
+import medical_clinics.web.dto.response.FreeAppointment;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -25,7 +29,9 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -57,6 +63,12 @@ public class TimeSlotServiceITests {
     @Autowired
     UserAccountRepository userAccountRepository;
 
+    @Autowired
+    SlotHoldRepository slotHoldRepository;
+
+    @Autowired
+    ClinicRepository clinicRepository;
+
     @Test
     void when_generateTimeSlots_timeslots_shouldReturnCollectionOfGeneratedTimeslots () {
         int interval = 30;
@@ -85,7 +97,7 @@ public class TimeSlotServiceITests {
     }
 
     @Test
-    void when_checkForPassedTimeSlots_andHavePassedTimeslots_shouldReplaceStatusToPassed () {
+    void when_markTimeSlotsPassed_andHavePassedTimeslots_shouldReplaceStatusToPassed () {
         DailySchedule dailySchedule = dailyScheduleRepository.save (
                 DailySchedule.builder ( )
                         .startTime ( LocalTime.now ( ).minusHours ( 2 ) )
@@ -97,7 +109,7 @@ public class TimeSlotServiceITests {
 
         List<TimeSlot> timeSlots = timeSlotRepository.saveAll ( buildTimeSlots ( dailySchedule ) );
 
-        timeSlotService.checkForPassedTimeSlots ( );
+        timeSlotService.markTimeSlotsPassed ( LocalDate.now ( ), LocalTime.now ( ) );
 
         for ( TimeSlot timeSlot : timeSlots ) {
             assertEquals ( Status.PASSED, timeSlotRepository.findById ( timeSlot.getId ( ) ).get ( ).getStatus ( ) );
@@ -174,6 +186,116 @@ public class TimeSlotServiceITests {
         assertNull ( timeSlotRepository.findById ( timeSlot.getId ( ) ).get ( ).getPatient ( ) );
     }
 
+    @Test
+    void when_makeAndReleaseAppointment_shouldMoveScheduleSlotCounters () {
+        DailySchedule dailySchedule = dailyScheduleRepository.save (
+                DailySchedule.builder ( )
+                        .startTime ( LocalTime.now ( ).plusMinutes ( 30 ) )
+                        .endTime ( LocalTime.now ( ).plusHours ( 1 ).plusMinutes ( 30 ) )
+                        .date ( LocalDate.now ( ) )
+                        .freeSlots ( 2 )
+                        .physician ( buildPhysician ( ) )
+                        .build ( )
+        );
+
+        TimeSlot timeSlot = timeSlotRepository.saveAll ( buildTimeSlots ( dailySchedule ) ).getFirst ( );
+        UUID accountId = buildPatient ( );
+
+        timeSlotService.makeAppointment ( accountId, timeSlot.getId ( ) );
+
+        DailySchedule reserved = dailyScheduleRepository.findById ( dailySchedule.getId ( ) ).get ( );
+
+        assertEquals ( 1, reserved.getFreeSlots ( ) );
+        assertEquals ( 1, reserved.getReservedSlots ( ) );
+
+        timeSlotService.releaseAppointment ( accountId, timeSlot.getId ( ) );
+
+        DailySchedule released = dailyScheduleRepository.findById ( dailySchedule.getId ( ) ).get ( );
+
+        assertEquals ( 2, released.getFreeSlots ( ) );
+        assertEquals ( 0, released.getReservedSlots ( ) );
+        assertEquals ( 0, released.getInactiveSlots ( ) );
+    }
+
+    @Test
+    void when_makeAppointment_withLiveHoldOfOtherAccountInDatabase_shouldThrowExceptionAndKeepSlotFree () {
+        DailySchedule dailySchedule = dailyScheduleRepository.save (
+                DailySchedule.builder ( )
+                        .startTime ( LocalTime.now ( ).plusMinutes ( 30 ) )
+                        .endTime ( LocalTime.now ( ).plusHours ( 1 ).plusMinutes ( 30 ) )
+                        .date ( LocalDate.now ( ) )
+                        .freeSlots ( 2 )
+                        .physician ( buildPhysician ( ) )
+                        .build ( )
+        );
+
+        TimeSlot timeSlot = timeSlotRepository.saveAll ( buildTimeSlots ( dailySchedule ) ).getFirst ( );
+        UUID accountId = buildPatient ( );
+
+        slotHoldRepository.insert ( timeSlot.getId ( ), UUID.randomUUID ( ), LocalDateTime.now ( ).plusMinutes ( 2 ) );
+
+        assertThrows ( ScheduleConflictException.class,
+                () -> timeSlotService.makeAppointment ( accountId, timeSlot.getId ( ) )
+        );
+
+        assertEquals ( Status.FREE, timeSlotRepository.findById ( timeSlot.getId ( ) ).get ( ).getStatus ( ) );
+        assertEquals ( 2, dailyScheduleRepository.findById ( dailySchedule.getId ( ) ).get ( ).getFreeSlots ( ) );
+    }
+
+    @Test
+    void when_getFreeAppointments_withTiesAcrossPhysicians_shouldPageWithoutGapsOrRepeats () {
+        Clinic clinic = clinicRepository.save ( Clinic.builder ( )
+                .city ( "City" ).address ( "Address" ).description ( "some" ).pictureUrl ( "https://somewhere.com" )
+                .phoneNumber ( "123456789" ).identificationNumber ( "123456789" )
+                .build ( )
+        );
+        LocalDate tomorrow = LocalDate.now ( ).plusDays ( 1 );
+
+        for ( String suffix : List.of ( "1", "2" ) ) {
+            DailySchedule dailySchedule = dailyScheduleRepository.save (
+                    DailySchedule.builder ( )
+                            .startTime ( LocalTime.of ( 10, 0 ) )
+                            .endTime ( LocalTime.of ( 11, 0 ) )
+                            .date ( tomorrow )
+                            .physician ( buildPhysician ( clinic, suffix ) )
+                            .build ( )
+            );
+            timeSlotRepository.saveAll ( buildTimeSlots ( dailySchedule ) );
+        }
+
+        UUID specialtyId = specialtyRepository.getByName ( SpecialtyName.ALLERGIST ).get ( ).getId ( );
+
+        List<FreeAppointment> firstPage = timeSlotService.getFreeAppointments (
+                clinic.getId ( ), specialtyId, tomorrow, tomorrow, 3, null, null, null
+        );
+
+        FreeAppointment cursor = firstPage.getLast ( );
+
+        List<FreeAppointment> secondPage = timeSlotService.getFreeAppointments (
+                clinic.getId ( ), specialtyId, tomorrow, tomorrow, 3,
+                cursor.getDate ( ), cursor.getStartTime ( ), cursor.getTimeslotId ( )
+        );
+
+        assertEquals ( 3, firstPage.size ( ) );
+        assertEquals ( 1, secondPage.size ( ) );
+
+        List<FreeAppointment> all = new ArrayList<> ( firstPage );
+        all.addAll ( secondPage );
+
+        assertEquals ( 4, all.stream ( ).map ( FreeAppointment::getTimeslotId ).distinct ( ).count ( ) );
+        assertEquals ( List.of ( LocalTime.of ( 10, 0 ), LocalTime.of ( 10, 0 ),
+                        LocalTime.of ( 10, 30 ), LocalTime.of ( 10, 30 ) ),
+                all.stream ( ).map ( FreeAppointment::getStartTime ).toList ( ) );
+
+        for ( int i = 1; i < all.size ( ); i += 2 ) {
+            assertTrue ( Long.compareUnsigned ( all.get ( i - 1 ).getTimeslotId ( ).getMostSignificantBits ( ),
+                    all.get ( i ).getTimeslotId ( ).getMostSignificantBits ( ) ) < 0 );
+        }
+
+        assertTrue ( timeSlotService.getFreeAppointments ( clinic.getId ( ), specialtyId, tomorrow, tomorrow, 3,
+                tomorrow, LocalTime.of ( 10, 30 ), secondPage.getLast ( ).getTimeslotId ( ) ).isEmpty ( ) );
+    }
+
     private UUID buildPatient () {
         UserAccount userAccount = userAccountRepository.save ( UserAccount.builder ( )
                 .email ( "Some@mail" ).role ( Role.ADMIN ).password ( "Some123!" ).status ( UserStatus.ACTIVE ).build ( )
@@ -206,6 +328,21 @@ public class TimeSlotServiceITests {
         );
     }
 
+    private Physician buildPhysician ( Clinic clinic, String suffix ) {
+        Specialty specialty = specialtyRepository.getByName ( SpecialtyName.ALLERGIST ).get ( );
+
+        return physicianRepository.save (
+                Physician.builder ( )
+                        .email ( "test" + suffix + "@test.test" )
+                        .firstName ( "Test" )
+                        .lastName ( "Test" )
+                        .identificationNumber ( "A1111111111" + suffix )
+                        .specialty ( specialty )
+                        .workplace ( clinic )
+                        .build ( )
+        );
+    }
+
     private Physician buildPhysician () {
         Specialty specialty = specialtyRepository.getByName ( SpecialtyName.ALLERGIST ).get ( );
 
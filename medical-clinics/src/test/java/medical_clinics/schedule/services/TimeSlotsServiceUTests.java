@@ -1,25 +1,42 @@
 package medical_clinics.schedule.services;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import medical_clinics.clinic.models.Clinic;
 import medical_clinics.patient.model.Patient;
+import medical_clinics.patient.service.PatientService;
 import medical_clinics.physician.model.Physician;
 import medical_clinics.schedule.exceptions.ScheduleConflictException;
 import medical_clinics.schedule.exceptions.ScheduleNotFoundException;
+import medical_clinics.schedule.mapper.VirtualTimeSlots;
 import medical_clinics.schedule.models.DailySchedule;
+import medical_clinics.schedule.models.SlotHold;
 import medical_clinics.schedule.models.Status;
 import medical_clinics.schedule.models.TimeSlot;
+import medical_clinics.schedule.projections.FreeAppointmentRow;
+import medical_clinics.schedule.projections.SeededScheduleRow;
+import medical_clinics.schedule.projections.StartedSlotCountRow;
+import medical_clinics.schedule.repositories.DailyScheduleRepository;
 import medical_clinics.schedule.repositories.TimeSlotRepository;
 import medical_clinics.specialty.model.Specialty;
 import medical_clinics.specialty.model.SpecialtyName;
 import medical_clinics.user_account.model.UserAccount;
+import medical_clinics.web.dto.events.PassedTimeSlotsEvent;
+import medical_clinics.web.dto.events.ScheduleDayChangeEvent;
+import medical_clinics.web.dto.events.TimeSlotStatusChangeEvent;
+import medical_clinics.web.dto.response.FreeAppointment;
 import medical_clinics.web.dto.response.PatientAppointment;
+import medical_clinics.web.dto.response.SlotHoldResponse;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -36,6 +53,24 @@ public class TimeSlotsServiceUTests {
     @Mock
     TimeSlotRepository timeSlotRepository;
 
+    @Mock
+    DailyScheduleRepository dailyScheduleRepository;
+
+    @Mock
+    PatientService patientService;
+
+    @Mock
+    SlotHoldService slotHoldService;
+
+    @Mock
+    UtilizationRollupService utilizationRollupService;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    MeterRegistry meterRegistry = new SimpleMeterRegistry ( );
+
     @InjectMocks
     TimeSlotService timeSlotService;
 
@@ -44,9 +79,7 @@ public class TimeSlotsServiceUTests {
         UUID scheduleId = UUID.randomUUID ( );
         DailySchedule schedule = DailySchedule.builder ( ).id ( scheduleId ).build ( );
 
-        when ( timeSlotRepository.save ( any ( ) ) ).thenReturn (
-                TimeSlot.builder ( ).id ( UUID.randomUUID ( ) ).dailySchedule ( schedule ).build ( )
-        );
+        when ( timeSlotRepository.saveAll ( anyList ( ) ) ).thenAnswer ( invocation -> invocation.getArgument ( 0 ) );
 
         List<TimeSlot> timeSlots = (List<TimeSlot>) timeSlotService.generateTimeSlots (
                 LocalTime.of ( 10, 0 ), LocalTime.of ( 11, 0 ), 30, schedule
@@ -54,8 +87,10 @@ public class TimeSlotsServiceUTests {
 
         assertEquals ( 2, timeSlots.size ( ) );
         assertEquals ( timeSlots.getFirst ( ).getDailySchedule ( ).getId ( ), scheduleId );
+        assertEquals ( LocalTime.of ( 10, 30 ), timeSlots.getLast ( ).getStartTime ( ) );
 
-        verify ( timeSlotRepository, times ( 2 ) ).save ( any ( ) );
+        verify ( timeSlotRepository, times ( 1 ) ).saveAll ( anyList ( ) );
+        verify ( timeSlotRepository, never ( ) ).save ( any ( ) );
     }
 
     @Test
@@ -67,7 +102,7 @@ public class TimeSlotsServiceUTests {
                 () -> timeSlotService.inactivate ( id ),
                 "TimeSlot with id " + id + " not found"
         );
-        verify ( timeSlotRepository, never ( ) ).save ( any ( ) );
+        verify ( timeSlotRepository, never ( ) ).inactivateIfNotReserved ( any ( ), any ( ) );
         verify ( timeSlotRepository, times ( 1 ) ).findById ( id );
     }
 
@@ -96,7 +131,7 @@ public class TimeSlotsServiceUTests {
         when ( timeSlotRepository.findById ( id ) ).thenReturn ( Optional.of ( timeSlot ) );
 
         assertThrows ( ScheduleConflictException.class, () -> timeSlotService.inactivate ( id ) );
-        verify ( timeSlotRepository, never ( ) ).save ( any ( ) );
+        verify ( timeSlotRepository, never ( ) ).inactivateIfNotReserved ( any ( ), any ( ) );
         verify ( timeSlotRepository, times ( 1 ) ).findById ( id );
     }
 
@@ -104,6 +139,31 @@ public class TimeSlotsServiceUTests {
     void when_inactivate_withTimeSlotFree_shouldInactivate () {
         UUID id = UUID.randomUUID ( );
 
+        TimeSlot timeSlot = TimeSlot.builder ( )
+                .id ( id )
+                .startTime ( LocalTime.of ( 16, 0 ) )
+                .status ( Status.FREE )
+                .dailySchedule ( buildDailySchedule ( ) )
+                .build ( );
+
+        when ( timeSlotRepository.findById ( id ) ).thenReturn ( Optional.of ( timeSlot ) );
+        when ( timeSlotRepository.inactivateIfNotReserved ( id, Status.FREE ) ).thenReturn ( 1 );
+
+        timeSlotService.inactivate ( id );
+
+        verify ( timeSlotRepository, times ( 1 ) ).inactivateIfNotReserved ( id, Status.FREE );
+        verify ( timeSlotRepository, times ( 1 ) )
+                .addSlotCountsOfSchedule ( timeSlot.getDailySchedule ( ).getId ( ), -1, 0, 1 );
+        verify ( timeSlotRepository, times ( 1 ) ).findById ( id );
+        verify ( eventPublisher, times ( 1 ) ).publishEvent ( any ( TimeSlotStatusChangeEvent.class ) );
+        verify ( utilizationRollupService, times ( 1 ) ).recordStatusChange (
+                any ( Physician.class ), any ( LocalDate.class ), eq ( Status.FREE ), eq ( Status.INACTIVE ) );
+    }
+
+    @Test
+    void when_inactivate_withTimeSlotReservedMeanwhile_shouldThrowException () {
+        UUID id = UUID.randomUUID ( );
+
         TimeSlot timeSlot = TimeSlot.builder ( )
                 .id ( id )
                 .startTime ( LocalTime.of ( 16, 0 ) )
@@ -113,11 +173,150 @@ public class TimeSlotsServiceUTests {
                 .build ( );
 
         when ( timeSlotRepository.findById ( id ) ).thenReturn ( Optional.of ( timeSlot ) );
+        when ( timeSlotRepository.inactivateIfNotReserved ( eq ( id ), any ( ) ) ).thenReturn ( 0 );
+
+        assertThrows ( ScheduleConflictException.class, () -> timeSlotService.inactivate ( id ) );
+        verify ( timeSlotRepository, never ( ) )
+                .addSlotCountsOfSchedule ( any ( ), anyInt ( ), anyInt ( ), anyInt ( ) );
+        verify ( eventPublisher, never ( ) ).publishEvent ( any ( Object.class ) );
+    }
+
+    @Test
+    void when_inactivate_withVirtualTimeSlot_shouldStoreInactiveRow () {
+        DailySchedule schedule = buildDailySchedule ( );
+        schedule.setDate ( LocalDate.now ( ).plusDays ( 1 ) );
+        schedule.setStartTime ( LocalTime.of ( 9, 0 ) );
+        schedule.setEndTime ( LocalTime.of ( 12, 0 ) );
+        schedule.setTimeSlotInterval ( 30 );
+        schedule.setVirtualSlots ( true );
+        schedule.setSlotSeed ( 42L );
+        schedule.setTimeSlots ( new ArrayList<> ( ) );
+
+        UUID id = VirtualTimeSlots.timeSlotId ( 42L, LocalTime.of ( 10, 30 ) );
+
+        when ( dailyScheduleRepository.findBySlotSeed ( 42L ) ).thenReturn ( Optional.of ( schedule ) );
+        when ( timeSlotRepository.saveAndFlush ( any ( TimeSlot.class ) ) ).thenAnswer ( invocation -> {
+            TimeSlot timeSlot = invocation.getArgument ( 0 );
+            timeSlot.setId ( UUID.randomUUID ( ) );
+            return timeSlot;
+        } );
+        when ( timeSlotRepository.inactivateIfNotReserved ( any ( ), eq ( Status.FREE ) ) ).thenReturn ( 1 );
 
         timeSlotService.inactivate ( id );
 
-        verify ( timeSlotRepository, times ( 1 ) ).save ( any ( ) );
-        verify ( timeSlotRepository, times ( 1 ) ).findById ( id );
+        verify ( timeSlotRepository, never ( ) ).findById ( any ( ) );
+        verify ( dailyScheduleRepository, times ( 1 ) ).findByIdForUpdate ( schedule.getId ( ) );
+        verify ( timeSlotRepository, times ( 1 ) ).saveAndFlush ( argThat ( timeSlot ->
+                Status.FREE.equals ( timeSlot.getStatus ( ) ) &&
+                        LocalTime.of ( 10, 30 ).equals ( timeSlot.getStartTime ( ) ) &&
+                        timeSlot.getDurationInMinutes ( ) == 30
+        ) );
+        verify ( timeSlotRepository, times ( 1 ) ).addSlotCountsOfSchedule ( schedule.getId ( ), -1, 0, 1 );
+        verify ( eventPublisher, times ( 1 ) ).publishEvent ( any ( TimeSlotStatusChangeEvent.class ) );
+    }
+
+    @Test
+    void when_inactivate_withSeededIdOffTheGrid_shouldThrowException () {
+        DailySchedule schedule = buildDailySchedule ( );
+        schedule.setStartTime ( LocalTime.of ( 9, 0 ) );
+        schedule.setEndTime ( LocalTime.of ( 12, 0 ) );
+        schedule.setTimeSlotInterval ( 30 );
+        schedule.setVirtualSlots ( true );
+        schedule.setSlotSeed ( 42L );
+        schedule.setTimeSlots ( new ArrayList<> ( ) );
+
+        UUID id = VirtualTimeSlots.timeSlotId ( 42L, LocalTime.of ( 10, 10 ) );
+
+        when ( dailyScheduleRepository.findBySlotSeed ( 42L ) ).thenReturn ( Optional.of ( schedule ) );
+
+        assertThrows ( ScheduleNotFoundException.class, () -> timeSlotService.inactivate ( id ) );
+        verify ( timeSlotRepository, never ( ) ).saveAndFlush ( any ( ) );
+    }
+
+    @Test
+    void when_inactivateAll_withReservedTimeSlot_shouldThrowException () {
+        DailySchedule schedule = buildDailySchedule ( );
+
+        when ( timeSlotRepository.existsByDailySchedule_IdAndPatientIsNotNull ( schedule.getId ( ) ) )
+                .thenReturn ( true );
+
+        assertThrows ( ScheduleConflictException.class, () -> timeSlotService.inactivateAll ( schedule ) );
+        verify ( timeSlotRepository, never ( ) ).inactivateAllOfScheduleIfNotReserved ( any ( ), any ( ) );
+    }
+
+    @Test
+    void when_inactivateAll_withFreeTimeSlots_shouldInactivateInOneUpdate () {
+        DailySchedule schedule = buildDailySchedule ( );
+        schedule.setDate ( LocalDate.now ( ).plusDays ( 1 ) );
+        schedule.setTimeSlots ( List.of (
+                TimeSlot.builder ( ).id ( UUID.randomUUID ( ) ).startTime ( LocalTime.of ( 10, 0 ) )
+                        .status ( Status.FREE ).dailySchedule ( schedule ).build ( ),
+                TimeSlot.builder ( ).id ( UUID.randomUUID ( ) ).startTime ( LocalTime.of ( 10, 30 ) )
+                        .status ( Status.INACTIVE ).dailySchedule ( schedule ).build ( )
+        ) );
+
+        when ( timeSlotRepository.existsByDailySchedule_IdAndPatientIsNotNull ( schedule.getId ( ) ) )
+                .thenReturn ( false );
+        when ( timeSlotRepository.inactivateAllOfScheduleIfNotReserved ( schedule.getId ( ), Status.FREE ) )
+                .thenReturn ( 2 );
+        when ( timeSlotRepository.inactivateAllOfScheduleIfNotReserved ( schedule.getId ( ), Status.PASSED ) )
+                .thenReturn ( 1 );
+
+        timeSlotService.inactivateAll ( schedule );
+
+        verify ( timeSlotRepository, never ( ) ).findById ( any ( ) );
+        verify ( timeSlotRepository, never ( ) ).inactivateIfNotReserved ( any ( ), any ( ) );
+        verify ( timeSlotRepository, times ( 1 ) ).recountSlotsOfSchedules ( List.of ( schedule.getId ( ) ) );
+        verify ( utilizationRollupService, times ( 1 ) )
+                .recordInactivated ( schedule.getPhysician ( ), schedule.getDate ( ), 2, 1 );
+        verify ( utilizationRollupService, never ( ) ).recordStatusChange ( any ( ), any ( ), any ( ), any ( ) );
+        verify ( eventPublisher, times ( 1 ) ).publishEvent ( any ( ScheduleDayChangeEvent.class ) );
+        verify ( eventPublisher, never ( ) ).publishEvent ( any ( TimeSlotStatusChangeEvent.class ) );
+    }
+
+    @Test
+    void when_saveTimeSlots_withSlotsOfTwoSchedules_shouldAddFreeCountsPerSchedule () {
+        DailySchedule first = buildDailySchedule ( );
+        DailySchedule second = buildDailySchedule ( );
+
+        timeSlotService.saveTimeSlots ( List.of (
+                TimeSlot.builder ( ).startTime ( LocalTime.of ( 10, 0 ) ).status ( Status.FREE )
+                        .dailySchedule ( first ).build ( ),
+                TimeSlot.builder ( ).startTime ( LocalTime.of ( 10, 30 ) ).status ( Status.FREE )
+                        .dailySchedule ( first ).build ( ),
+                TimeSlot.builder ( ).startTime ( LocalTime.of ( 10, 0 ) ).status ( Status.FREE )
+                        .dailySchedule ( second ).build ( )
+        ) );
+
+        verify ( timeSlotRepository, times ( 1 ) ).saveAll ( anyCollection ( ) );
+        verify ( timeSlotRepository, times ( 1 ) ).addSlotCountsOfSchedule ( first.getId ( ), 2, 0, 0 );
+        verify ( timeSlotRepository, times ( 1 ) ).addSlotCountsOfSchedule ( second.getId ( ), 1, 0, 0 );
+    }
+
+    @Test
+    void when_markTimeSlotsPassed_shouldRecountStoredSchedulesAndSubtractFromVirtualOnes () {
+        LocalDate today = LocalDate.now ( );
+        LocalTime now = LocalTime.of ( 12, 0 );
+        UUID storedScheduleId = UUID.randomUUID ( );
+        UUID virtualScheduleId = UUID.randomUUID ( );
+        UUID physicianId = UUID.randomUUID ( );
+
+        when ( timeSlotRepository.countFreeStartedBeforeBySchedule ( now, today ) ).thenReturn ( List.of (
+                new StartedSlotCountRow ( storedScheduleId, false, physicianId, null, 1L ),
+                new StartedSlotCountRow ( virtualScheduleId, true, physicianId, null, 2L )
+        ) );
+        when ( timeSlotRepository.markAllPassedStartedBefore ( now, today ) ).thenReturn ( 3 );
+
+        timeSlotService.markTimeSlotsPassed ( today, now );
+
+        verify ( timeSlotRepository, times ( 1 ) ).markAllPassedStartedBefore ( now, today );
+        verify ( timeSlotRepository, times ( 1 ) ).recountSlotsOfSchedules ( List.of ( storedScheduleId ) );
+        verify ( timeSlotRepository, times ( 1 ) ).addSlotCountsOfSchedule ( virtualScheduleId, -2, 0, 0 );
+        verify ( timeSlotRepository, never ( ) ).addSlotCountsOfSchedule ( eq ( storedScheduleId ), anyInt ( ),
+                anyInt ( ), anyInt ( ) );
+        verify ( utilizationRollupService, times ( 1 ) ).recordPassed ( eq ( today ),
+                argThat ( rows -> rows.size ( ) == 1 && rows.iterator ( ).next ( ).getSlots ( ) == 3L ) );
+        verify ( eventPublisher, times ( 1 ) ).publishEvent ( any ( PassedTimeSlotsEvent.class ) );
     }
 
     @Test
@@ -186,7 +385,9 @@ public class TimeSlotsServiceUTests {
         );
 
         verify ( timeSlotRepository, times ( 1 ) ).findById ( id );
-        verify ( timeSlotRepository, times ( 1 ) ).save ( timeSlot );
+        verify ( timeSlotRepository, times ( 1 ) ).markPassedIfFree ( id );
+        verify ( timeSlotRepository, never ( ) )
+                .reserveIfFreeAndNotHeld ( any ( ), any ( ), any ( ), any ( ), any ( ) );
     }
 
     @Test
@@ -207,7 +408,9 @@ public class TimeSlotsServiceUTests {
         );
 
         verify ( timeSlotRepository, times ( 1 ) ).findById ( id );
-        verify ( timeSlotRepository, times ( 1 ) ).save ( timeSlot );
+        verify ( timeSlotRepository, times ( 1 ) ).markPassedIfFree ( id );
+        verify ( timeSlotRepository, never ( ) )
+                .reserveIfFreeAndNotHeld ( any ( ), any ( ), any ( ), any ( ), any ( ) );
     }
 
     @Test
@@ -228,7 +431,8 @@ public class TimeSlotsServiceUTests {
         );
 
         verify ( timeSlotRepository, times ( 1 ) ).findById ( id );
-        verify ( timeSlotRepository, times ( 1 ) ).save ( timeSlot );
+        verify ( timeSlotRepository, never ( ) )
+                .reserveIfFreeAndNotHeld ( any ( ), any ( ), any ( ), any ( ), any ( ) );
     }
 
     @Test
@@ -249,7 +453,102 @@ public class TimeSlotsServiceUTests {
         );
 
         verify ( timeSlotRepository, times ( 1 ) ).findById ( id );
-        verify ( timeSlotRepository, times ( 1 ) ).save ( timeSlot );
+        verify ( timeSlotRepository, never ( ) )
+                .reserveIfFreeAndNotHeld ( any ( ), any ( ), any ( ), any ( ), any ( ) );
+    }
+
+    @Test
+    void when_makeAppointment_WithTimeSlotHeldByOther_shouldThrowException () {
+        UUID id = UUID.randomUUID ( );
+        UUID accountId = UUID.randomUUID ( );
+
+        TimeSlot timeSlot = TimeSlot.builder ( )
+                .id ( id )
+                .startTime ( LocalTime.now ( ).plusMinutes ( 30 ) )
+                .dailySchedule ( DailySchedule.builder ( ).date ( LocalDate.now ( ).plusDays ( 1 ) ).build ( ) )
+                .status ( Status.FREE )
+                .build ( );
+
+        when ( timeSlotRepository.findById ( id ) ).thenReturn ( Optional.of ( timeSlot ) );
+        doThrow ( ScheduleConflictException.class ).when ( slotHoldService ).checkNotHeldByOther ( accountId, id );
+
+        assertThrows ( ScheduleConflictException.class,
+                () -> timeSlotService.makeAppointment ( accountId, id )
+        );
+
+        verify ( timeSlotRepository, never ( ) )
+                .reserveIfFreeAndNotHeld ( any ( ), any ( ), any ( ), any ( ), any ( ) );
+    }
+
+    @Test
+    void when_makeAppointment_WithTimeSlotHeldOnOtherNodeMeanwhile_shouldThrowException () {
+        UUID id = UUID.randomUUID ( );
+        UUID accountId = UUID.randomUUID ( );
+        Patient patient = Patient.builder ( ).id ( UUID.randomUUID ( ) ).build ( );
+
+        TimeSlot timeSlot = TimeSlot.builder ( )
+                .id ( id )
+                .startTime ( LocalTime.of ( 10, 0 ) )
+                .dailySchedule ( DailySchedule.builder ( ).date ( LocalDate.now ( ).plusDays ( 1 ) ).build ( ) )
+                .status ( Status.FREE )
+                .build ( );
+
+        when ( timeSlotRepository.findById ( id ) ).thenReturn ( Optional.of ( timeSlot ) );
+        when ( patientService.getPatientByUserAccountId ( accountId ) ).thenReturn ( patient );
+        when ( timeSlotRepository.reserveIfFreeAndNotHeld (
+                eq ( id ), eq ( patient ), eq ( id ), eq ( accountId ), any ( ) ) )
+                .thenReturn ( 0 );
+
+        assertThrows ( ScheduleConflictException.class,
+                () -> timeSlotService.makeAppointment ( accountId, id )
+        );
+
+        verify ( timeSlotRepository, never ( ) )
+                .addSlotCountsOfSchedule ( any ( ), anyInt ( ), anyInt ( ), anyInt ( ) );
+        verify ( slotHoldService, never ( ) ).release ( any ( ), any ( ) );
+        verify ( eventPublisher, never ( ) ).publishEvent ( any ( Object.class ) );
+    }
+
+    @Test
+    void when_holdAppointment_WithTimeSlotFree_shouldReturnHold () {
+        UUID id = UUID.randomUUID ( );
+        UUID accountId = UUID.randomUUID ( );
+        LocalDateTime expiresAt = LocalDateTime.now ( ).plusMinutes ( 2 );
+
+        TimeSlot timeSlot = TimeSlot.builder ( )
+                .id ( id )
+                .startTime ( LocalTime.of ( 10, 0 ) )
+                .dailySchedule ( DailySchedule.builder ( ).date ( LocalDate.now ( ).plusDays ( 1 ) ).build ( ) )
+                .status ( Status.FREE )
+                .build ( );
+
+        when ( timeSlotRepository.findById ( id ) ).thenReturn ( Optional.of ( timeSlot ) );
+        when ( slotHoldService.hold ( accountId, id ) ).thenReturn ( new SlotHold ( id, accountId, expiresAt ) );
+
+        SlotHoldResponse slotHold = timeSlotService.holdAppointment ( accountId, id );
+
+        assertEquals ( id, slotHold.getTimeslotId ( ) );
+        assertEquals ( expiresAt, slotHold.getExpiresAt ( ) );
+    }
+
+    @Test
+    void when_holdAppointment_WithTimeSlotReserved_shouldThrowException () {
+        UUID id = UUID.randomUUID ( );
+
+        TimeSlot timeSlot = TimeSlot.builder ( )
+                .id ( id )
+                .startTime ( LocalTime.of ( 10, 0 ) )
+                .dailySchedule ( DailySchedule.builder ( ).date ( LocalDate.now ( ).plusDays ( 1 ) ).build ( ) )
+                .status ( Status.RESERVED )
+                .build ( );
+
+        when ( timeSlotRepository.findById ( id ) ).thenReturn ( Optional.of ( timeSlot ) );
+
+        assertThrows ( ScheduleConflictException.class,
+                () -> timeSlotService.holdAppointment ( UUID.randomUUID ( ), id )
+        );
+
+        verify ( slotHoldService, never ( ) ).hold ( any ( ), any ( ) );
     }
 
     @Test
@@ -262,7 +561,7 @@ public class TimeSlotsServiceUTests {
                 () -> timeSlotService.releaseAppointment ( UUID.randomUUID ( ), id ) );
 
         verify ( timeSlotRepository, times ( 1 ) ).findById ( id );
-        verify ( timeSlotRepository, never ( ) ).save ( any ( ) );
+        verify ( timeSlotRepository, never ( ) ).releaseIfReservedBy ( any ( ), any ( ) );
     }
 
     @Test
@@ -285,7 +584,7 @@ public class TimeSlotsServiceUTests {
                 () -> timeSlotService.releaseAppointment ( UUID.randomUUID ( ), id ) );
 
         verify ( timeSlotRepository, times ( 1 ) ).findById ( id );
-        verify ( timeSlotRepository, never ( ) ).save ( timeSlot );
+        verify ( timeSlotRepository, never ( ) ).releaseIfReservedBy ( any ( ), any ( ) );
     }
 
     @Test
@@ -308,7 +607,52 @@ public class TimeSlotsServiceUTests {
         timeSlotService.releaseAppointment ( accountId, id );
 
         verify ( timeSlotRepository, times ( 1 ) ).findById ( id );
-        verify ( timeSlotRepository, never ( ) ).save ( timeSlot );
+        verify ( timeSlotRepository, never ( ) ).releaseIfReservedBy ( any ( ), any ( ) );
+    }
+
+    @Test
+    void when_getFreeAppointments_withStoredAndSeededTies_shouldPageByDateTimeAndId () {
+        UUID clinicId = UUID.randomUUID ( );
+        UUID specialtyId = UUID.randomUUID ( );
+        LocalDate tomorrow = LocalDate.now ( ).plusDays ( 1 );
+        long slotSeed = 5L;
+
+        FreeAppointmentRow storedFirst = new FreeAppointmentRow ( new UUID ( 0, 1 ), UUID.randomUUID ( ),
+                "Stored", "Physician", tomorrow, LocalTime.of ( 10, 0 ), 30 );
+        FreeAppointmentRow storedLast = new FreeAppointmentRow ( new UUID ( -1, 0 ), storedFirst.getPhysicianId ( ),
+                "Stored", "Physician", tomorrow, LocalTime.of ( 10, 30 ), 30 );
+
+        UUID seededFirstId = VirtualTimeSlots.timeSlotId ( slotSeed, LocalTime.of ( 10, 0 ) );
+        UUID seededLastId = VirtualTimeSlots.timeSlotId ( slotSeed, LocalTime.of ( 10, 30 ) );
+
+        when ( dailyScheduleRepository.findSeededSchedulesOfClinicAndSpecialty (
+                eq ( clinicId ), eq ( specialtyId ), any ( ), any ( ) ) )
+                .thenReturn ( List.of ( new SeededScheduleRow ( UUID.randomUUID ( ), slotSeed, true,
+                        UUID.randomUUID ( ), "Seeded", "Physician",
+                        tomorrow, LocalTime.of ( 10, 0 ), LocalTime.of ( 11, 0 ), 30 ) ) );
+        when ( timeSlotRepository.findPublicRowsOfSchedules ( anyCollection ( ) ) ).thenReturn ( List.of ( ) );
+        when ( timeSlotRepository.findFreeAppointments ( eq ( clinicId ), eq ( specialtyId ),
+                any ( ), any ( ), any ( ), any ( ), any ( ), any ( ), any ( ), any ( ) ) )
+                .thenReturn ( List.of ( storedFirst, storedLast ) )
+                .thenReturn ( List.of ( storedLast ) );
+
+        List<FreeAppointment> firstPage = timeSlotService.getFreeAppointments (
+                clinicId, specialtyId, tomorrow, tomorrow, 3, null, null, null
+        );
+
+        assertEquals ( List.of ( storedFirst.getTimeSlotId ( ), seededFirstId, seededLastId ),
+                firstPage.stream ( ).map ( FreeAppointment::getTimeslotId ).toList ( ) );
+
+        FreeAppointment cursor = firstPage.getLast ( );
+
+        List<FreeAppointment> secondPage = timeSlotService.getFreeAppointments (
+                clinicId, specialtyId, tomorrow, tomorrow, 3,
+                cursor.getDate ( ), cursor.getStartTime ( ), cursor.getTimeslotId ( )
+        );
+
+        assertEquals ( List.of ( storedLast.getTimeSlotId ( ) ),
+                secondPage.stream ( ).map ( FreeAppointment::getTimeslotId ).toList ( ) );
+        assertEquals ( "Stored", secondPage.getFirst ( ).getPhysicianFirstName ( ) );
     }
 
     private DailySchedule buildDailySchedule () {
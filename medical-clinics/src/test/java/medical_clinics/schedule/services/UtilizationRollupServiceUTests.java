@@ -0,0 +1,126 @@
+package medical_clinics.schedule.services;
+
+import medical_clinics.clinic.models.Clinic;
+import medical_clinics.physician.model.Physician;
+import medical_clinics.schedule.models.RollupScope;
+import medical_clinics.schedule.models.Status;
+import medical_clinics.schedule.models.UtilizationRollup;
+import medical_clinics.schedule.projections.SlotCountRow;
+import medical_clinics.schedule.projections.UtilizationCounts;
+import medical_clinics.schedule.repositories.UtilizationRollupRepository;
+import medical_clinics.web.dto.response.UtilizationReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UtilizationRollupServiceUTests {
+
+    @Mock
+    UtilizationRollupRepository utilizationRollupRepository;
+
+    @InjectMocks
+    UtilizationRollupService utilizationRollupService;
+
+    @Test
+    void when_recordStatusChange_withBooking_shouldMoveFreeToReservedOfPhysicianOnly () {
+        Physician physician = buildPhysician ( );
+        LocalDate date = LocalDate.now ( );
+
+        utilizationRollupService.recordStatusChange ( physician, date, Status.FREE, Status.RESERVED );
+
+        verify ( utilizationRollupRepository, times ( 1 ) ).upsertCounts ( any ( UUID.class ),
+                eq ( "PHYSICIAN" ), eq ( physician.getId ( ) ), eq ( physician.getWorkplace ( ).getId ( ) ),
+                eq ( date ), eq ( -1 ), eq ( 1 ), eq ( 0 ), eq ( 0 ) );
+        verify ( utilizationRollupRepository, never ( ) ).upsertCounts ( any ( UUID.class ),
+                eq ( "CLINIC" ), any ( ), any ( ), any ( ), anyInt ( ), anyInt ( ), anyInt ( ), anyInt ( ) );
+    }
+
+    @Test
+    void when_recordGenerated_withSameDayTwice_shouldUpsertTheSameRollupRow () {
+        Physician physician = buildPhysician ( );
+        LocalDate date = LocalDate.now ( ).plusDays ( 1 );
+
+        utilizationRollupService.recordGenerated ( physician, date, 8 );
+        utilizationRollupService.recordGenerated ( physician, date, 4 );
+
+        ArgumentCaptor<UUID> ids = ArgumentCaptor.forClass ( UUID.class );
+
+        verify ( utilizationRollupRepository, times ( 2 ) ).upsertCounts ( ids.capture ( ),
+                eq ( "PHYSICIAN" ), eq ( physician.getId ( ) ), eq ( physician.getWorkplace ( ).getId ( ) ),
+                eq ( date ), anyInt ( ), eq ( 0 ), eq ( 0 ), eq ( 0 ) );
+        assertEquals ( ids.getAllValues ( ).get ( 0 ), ids.getAllValues ( ).get ( 1 ) );
+    }
+
+    @Test
+    void when_recordPassed_shouldMoveFreeToPassedPerPhysician () {
+        UUID physicianId = UUID.randomUUID ( );
+        LocalDate date = LocalDate.now ( );
+
+        utilizationRollupService.recordPassed ( date, List.of ( new SlotCountRow ( physicianId, null, 3L ) ) );
+
+        verify ( utilizationRollupRepository, times ( 1 ) ).upsertCounts ( any ( UUID.class ),
+                eq ( "PHYSICIAN" ), eq ( physicianId ), isNull ( ), eq ( date ),
+                eq ( -3 ), eq ( 0 ), eq ( 3 ), eq ( 0 ) );
+    }
+
+    @Test
+    void when_removeFutureOfPhysician_shouldDeleteRows () {
+        UUID physicianId = UUID.randomUUID ( );
+        UUID clinicId = UUID.randomUUID ( );
+        LocalDate today = LocalDate.now ( );
+
+        UtilizationRollup rollup = UtilizationRollup.builder ( )
+                .scope ( RollupScope.PHYSICIAN )
+                .scopeId ( physicianId )
+                .clinicId ( clinicId )
+                .date ( today.plusDays ( 2 ) )
+                .freeSlots ( 5 )
+                .reservedSlots ( 2 )
+                .inactiveSlots ( 1 )
+                .build ( );
+
+        when ( utilizationRollupRepository.findAllByScopeAndScopeIdAndDateAfter (
+                RollupScope.PHYSICIAN, physicianId, today ) )
+                .thenReturn ( List.of ( rollup ) );
+
+        utilizationRollupService.removeFutureOfPhysician ( physicianId, today );
+
+        verify ( utilizationRollupRepository, never ( ) ).upsertCounts ( any ( UUID.class ),
+                any ( ), any ( ), any ( ), any ( ), anyInt ( ), anyInt ( ), anyInt ( ), anyInt ( ) );
+        verify ( utilizationRollupRepository, times ( 1 ) ).deleteAllInBatch ( List.of ( rollup ) );
+    }
+
+    @Test
+    void when_getClinicUtilization_shouldComputeBookedPercentageOfOfferedSlots () {
+        UUID clinicId = UUID.randomUUID ( );
+        LocalDate from = LocalDate.of ( 2025, 3, 1 );
+        LocalDate to = LocalDate.of ( 2025, 3, 31 );
+
+        when ( utilizationRollupRepository.sumCountsOfClinic ( clinicId, from, to ) )
+                .thenReturn ( new UtilizationCounts ( 0L, 30L, 10L, 20L ) );
+
+        UtilizationReport report = utilizationRollupService.getClinicUtilization ( clinicId, from, to );
+
+        assertEquals ( 30, report.getReservedSlots ( ) );
+        assertEquals ( 20, report.getInactiveSlots ( ) );
+        assertEquals ( 75.0, report.getBookedPercentage ( ) );
+    }
+
+    private Physician buildPhysician () {
+        return Physician.builder ( )
+                .id ( UUID.randomUUID ( ) )
+                .workplace ( Clinic.builder ( ).id ( UUID.randomUUID ( ) ).build ( ) )
+                .build ( );
+    }
+}
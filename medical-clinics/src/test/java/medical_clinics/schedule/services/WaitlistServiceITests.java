@@ -0,0 +1,139 @@
+package medical_clinics.schedule.services;
+
+import medical_clinics.patient.model.Patient;
+import medical_clinics.patient.repository.PatientRepository;
+import medical_clinics.physician.model.Physician;
+import medical_clinics.physician.repository.PhysicianRepository;
+import medical_clinics.schedule.models.DailySchedule;
+import medical_clinics.schedule.models.Status;
+import medical_clinics.schedule.models.TimeSlot;
+import medical_clinics.schedule.models.WaitlistEntry;
+import medical_clinics.schedule.repositories.DailyScheduleRepository;
+import medical_clinics.schedule.repositories.SlotHoldRepository;
+import medical_clinics.schedule.repositories.TimeSlotRepository;
+import medical_clinics.schedule.repositories.WaitlistEntryRepository;
+import medical_clinics.specialty.model.SpecialtyName;
+import medical_clinics.specialty.repository.SpecialtyRepository;
+import medical_clinics.user_account.model.Role;
+import medical_clinics.user_account.model.UserAccount;
+import medical_clinics.user_account.model.UserStatus;
+import medical_clinics.user_account.repository.UserAccountRepository;
+import medical_clinics.web.dto.NewWaitlistEntry;
+import medical_clinics.web.dto.response.WaitlistEntryResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@SpringBootTest(properties = "schedule.holds.distributed=true")
+public class WaitlistServiceITests {
+
+    @Autowired
+    WaitlistService waitlistService;
+
+    @Autowired
+    TimeSlotService timeSlotService;
+
+    @Autowired
+    WaitlistEntryRepository waitlistEntryRepository;
+
+    @Autowired
+    SlotHoldRepository slotHoldRepository;
+
+    @Autowired
+    TimeSlotRepository timeSlotRepository;
+
+    @Autowired
+    DailyScheduleRepository dailyScheduleRepository;
+
+    @Autowired
+    SpecialtyRepository specialtyRepository;
+
+    @Autowired
+    PhysicianRepository physicianRepository;
+
+    @Autowired
+    PatientRepository patientRepository;
+
+    @Autowired
+    UserAccountRepository userAccountRepository;
+
+    @Test
+    void when_releaseAppointment_withWaitingEntry_shouldPersistOfferAndHold () {
+        LocalDate tomorrow = LocalDate.now ( ).plusDays ( 1 );
+        Physician physician = buildPhysician ( );
+
+        DailySchedule dailySchedule = dailyScheduleRepository.save (
+                DailySchedule.builder ( )
+                        .startTime ( LocalTime.of ( 10, 0 ) )
+                        .endTime ( LocalTime.of ( 10, 30 ) )
+                        .date ( tomorrow )
+                        .reservedSlots ( 1 )
+                        .physician ( physician )
+                        .build ( )
+        );
+
+        UUID bookingAccountId = buildPatient ( "booking" );
+        UUID waitingAccountId = buildPatient ( "waiting" );
+
+        TimeSlot timeSlot = timeSlotRepository.save (
+                TimeSlot.builder ( )
+                        .startTime ( LocalTime.of ( 10, 0 ) )
+                        .status ( Status.RESERVED )
+                        .durationInMinutes ( 30 )
+                        .patient ( patientRepository.findByUserAccount_Id ( bookingAccountId ).get ( ) )
+                        .dailySchedule ( dailySchedule )
+                        .build ( )
+        );
+
+        WaitlistEntryResponse joined = waitlistService.join ( waitingAccountId, NewWaitlistEntry.builder ( )
+                .physicianId ( physician.getId ( ) )
+                .from ( tomorrow )
+                .to ( tomorrow )
+                .build ( )
+        );
+
+        timeSlotService.releaseAppointment ( bookingAccountId, timeSlot.getId ( ) );
+
+        WaitlistEntry entry = waitlistEntryRepository.findById ( joined.getId ( ) ).get ( );
+
+        assertEquals ( timeSlot.getId ( ), entry.getOfferedTimeSlotId ( ) );
+        assertNotNull ( entry.getOfferExpiresAt ( ) );
+        assertEquals ( waitingAccountId, slotHoldRepository.findById ( timeSlot.getId ( ) ).get ( ).getAccountId ( ) );
+    }
+
+    private UUID buildPatient ( String name ) {
+        UserAccount userAccount = userAccountRepository.save ( UserAccount.builder ( )
+                .email ( name + "@mail" ).role ( Role.PATIENT ).password ( "Some123!" ).status ( UserStatus.ACTIVE )
+                .build ( )
+        );
+
+        patientRepository.save ( Patient.builder ( )
+                .email ( name + "@mail" ).firstName ( "Some" ).lastName ( "One" ).userAccount ( userAccount )
+                .build ( )
+        );
+
+        return userAccount.getId ( );
+    }
+
+    private Physician buildPhysician () {
+        return physicianRepository.save (
+                Physician.builder ( )
+                        .email ( "test@test.test" )
+                        .firstName ( "Test" )
+                        .lastName ( "Test" )
+                        .identificationNumber ( "A11111111111" )
+                        .specialty ( specialtyRepository.getByName ( SpecialtyName.ALLERGIST ).get ( ) )
+                        .build ( )
+        );
+    }
+}
@@ -0,0 +1,253 @@
+package medical_clinics.schedule.services;
+
+import medical_clinics.physician.model.Physician;
+import medical_clinics.physician.repository.PhysicianRepository;
+import medical_clinics.schedule.exceptions.ScheduleConflictException;
+import medical_clinics.schedule.models.DailySchedule;
+import medical_clinics.schedule.models.SlotHold;
+import medical_clinics.schedule.models.Status;
+import medical_clinics.schedule.models.TimeSlot;
+import medical_clinics.schedule.models.WaitlistEntry;
+import medical_clinics.schedule.repositories.WaitlistEntryRepository;
+import medical_clinics.specialty.model.Specialty;
+import medical_clinics.web.dto.NewWaitlistEntry;
+import medical_clinics.web.dto.events.SlotHoldExpiredEvent;
+import medical_clinics.web.dto.events.TimeSlotStatusChangeEvent;
+import medical_clinics.web.dto.events.WaitlistOfferEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WaitlistServiceUTests {
+
+    @Mock
+    WaitlistEntryRepository waitlistEntryRepository;
+
+    @Mock
+    PhysicianRepository physicianRepository;
+
+    @Mock
+    SlotHoldService slotHoldService;
+
+    @Mock
+    TimeSlotService timeSlotService;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    WaitlistService waitlistService;
+
+    UUID physicianId = UUID.randomUUID ( );
+    LocalDate tomorrow = LocalDate.now ( ).plusDays ( 1 );
+
+    @Test
+    void when_join_withPhysicianAndSpecialty_shouldThrowException () {
+        NewWaitlistEntry newEntry = NewWaitlistEntry.builder ( )
+                .physicianId ( physicianId )
+                .clinicId ( UUID.randomUUID ( ) )
+                .specialtyId ( UUID.randomUUID ( ) )
+                .from ( tomorrow )
+                .to ( tomorrow.plusDays ( 7 ) )
+                .build ( );
+
+        assertThrows ( ScheduleConflictException.class, () -> waitlistService.join ( UUID.randomUUID ( ), newEntry ) );
+        verify ( waitlistEntryRepository, never ( ) ).save ( any ( WaitlistEntry.class ) );
+    }
+
+    @Test
+    void when_join_withRangeLongerThanLimit_shouldThrowException () {
+        NewWaitlistEntry newEntry = NewWaitlistEntry.builder ( )
+                .physicianId ( physicianId )
+                .from ( tomorrow )
+                .to ( tomorrow.plusDays ( 200 ) )
+                .build ( );
+
+        assertThrows ( ScheduleConflictException.class, () -> waitlistService.join ( UUID.randomUUID ( ), newEntry ) );
+    }
+
+    @Test
+    void when_timeSlotReleased_shouldOfferHoldToEarliestWaiterThenToNext () {
+        WaitlistEntry first = buildEntry ( LocalDateTime.now ( ).minusHours ( 2 ), tomorrow, tomorrow );
+        WaitlistEntry second = buildEntry ( LocalDateTime.now ( ).minusHours ( 1 ), tomorrow, tomorrow.plusDays ( 3 ) );
+        WaitlistEntry otherDay = buildEntry (
+                LocalDateTime.now ( ).minusHours ( 3 ), tomorrow.plusDays ( 1 ), tomorrow.plusDays ( 2 ) );
+
+        when ( waitlistEntryRepository.findAllByOfferedTimeSlotIdIsNullAndToDateGreaterThanEqual (
+                any ( LocalDate.class ) ) )
+                .thenReturn ( List.of ( second, otherDay, first ) );
+        when ( slotHoldService.hold ( any ( UUID.class ), any ( UUID.class ) ) )
+                .thenAnswer ( invocation -> new SlotHold (
+                        invocation.getArgument ( 1 ),
+                        invocation.getArgument ( 0 ),
+                        LocalDateTime.now ( ).plusMinutes ( 2 )
+                ) );
+
+        waitlistService.load ( );
+
+        UUID firstReleased = UUID.randomUUID ( );
+        UUID secondReleased = UUID.randomUUID ( );
+
+        waitlistService.onTimeSlotStatusChange ( buildRelease ( firstReleased, tomorrow ) );
+        waitlistService.onTimeSlotStatusChange ( buildRelease ( secondReleased, tomorrow ) );
+
+        verify ( slotHoldService, times ( 1 ) ).hold ( first.getAccountId ( ), firstReleased );
+        verify ( slotHoldService, times ( 1 ) ).hold ( second.getAccountId ( ), secondReleased );
+        verify ( slotHoldService, never ( ) ).hold ( eq ( otherDay.getAccountId ( ) ), any ( UUID.class ) );
+        assertEquals ( firstReleased, first.getOfferedTimeSlotId ( ) );
+        assertEquals ( secondReleased, second.getOfferedTimeSlotId ( ) );
+        verify ( eventPublisher, times ( 1 ) ).publishEvent ( argThat ( event ->
+                event instanceof WaitlistOfferEvent offer &&
+                        offer.getAccountId ( ).equals ( first.getAccountId ( ) ) &&
+                        offer.getTimeSlotId ( ).equals ( firstReleased )
+        ) );
+    }
+
+    @Test
+    void when_offeredHoldExpires_shouldOfferSlotToNextWaiterAndKeepLapsedEntryWaiting () {
+        WaitlistEntry first = buildEntry ( LocalDateTime.now ( ).minusHours ( 2 ), tomorrow, tomorrow );
+        WaitlistEntry second = buildEntry ( LocalDateTime.now ( ).minusHours ( 1 ), tomorrow, tomorrow );
+
+        when ( waitlistEntryRepository.findAllByOfferedTimeSlotIdIsNullAndToDateGreaterThanEqual (
+                any ( LocalDate.class ) ) )
+                .thenReturn ( List.of ( first, second ) );
+        when ( slotHoldService.hold ( any ( UUID.class ), any ( UUID.class ) ) )
+                .thenAnswer ( invocation -> new SlotHold (
+                        invocation.getArgument ( 1 ),
+                        invocation.getArgument ( 0 ),
+                        LocalDateTime.now ( ).plusMinutes ( 2 )
+                ) );
+
+        waitlistService.load ( );
+
+        UUID released = UUID.randomUUID ( );
+        waitlistService.onTimeSlotStatusChange ( buildRelease ( released, tomorrow ) );
+
+        when ( waitlistEntryRepository.findAllByOfferedTimeSlotIdAndAccountId ( released, first.getAccountId ( ) ) )
+                .thenReturn ( List.of ( first ) );
+        when ( timeSlotService.findOpenTimeSlot ( released ) ).thenReturn ( Optional.of ( buildTimeSlot ( ) ) );
+
+        waitlistService.onSlotHoldExpired ( new SlotHoldExpiredEvent ( released, first.getAccountId ( ) ) );
+
+        verify ( slotHoldService, times ( 1 ) ).hold ( second.getAccountId ( ), released );
+        assertNull ( first.getOfferedTimeSlotId ( ) );
+        assertEquals ( released, second.getOfferedTimeSlotId ( ) );
+
+        UUID nextReleased = UUID.randomUUID ( );
+        waitlistService.onTimeSlotStatusChange ( buildRelease ( nextReleased, tomorrow ) );
+
+        verify ( slotHoldService, times ( 1 ) ).hold ( first.getAccountId ( ), nextReleased );
+    }
+
+    @Test
+    void when_offeredHoldExpires_withSlotTakenMeanwhile_shouldOnlyRestoreEntry () {
+        WaitlistEntry lapsed = buildEntry ( LocalDateTime.now ( ).minusHours ( 1 ), tomorrow, tomorrow );
+        UUID offered = UUID.randomUUID ( );
+        lapsed.setOfferedTimeSlotId ( offered );
+        lapsed.setOfferExpiresAt ( LocalDateTime.now ( ) );
+
+        when ( waitlistEntryRepository.findAllByOfferedTimeSlotIdAndAccountId ( offered, lapsed.getAccountId ( ) ) )
+                .thenReturn ( List.of ( lapsed ) );
+        when ( timeSlotService.findOpenTimeSlot ( offered ) ).thenReturn ( Optional.empty ( ) );
+
+        waitlistService.onSlotHoldExpired ( new SlotHoldExpiredEvent ( offered, lapsed.getAccountId ( ) ) );
+
+        assertNull ( lapsed.getOfferedTimeSlotId ( ) );
+        assertNull ( lapsed.getOfferExpiresAt ( ) );
+        verify ( waitlistEntryRepository, times ( 1 ) ).saveAll ( List.of ( lapsed ) );
+        verifyNoInteractions ( slotHoldService );
+    }
+
+    @Test
+    void when_timeSlotReleased_withEarlierSpecialtyWaiter_shouldOfferToSpecialtyWaiter () {
+        UUID clinicId = UUID.randomUUID ( );
+        UUID specialtyId = UUID.randomUUID ( );
+
+        Specialty specialty = mock ( Specialty.class );
+        when ( specialty.getId ( ) ).thenReturn ( specialtyId );
+
+        WaitlistEntry byPhysician = buildEntry ( LocalDateTime.now ( ).minusHours ( 1 ), tomorrow, tomorrow );
+        WaitlistEntry bySpecialty = WaitlistEntry.builder ( )
+                .id ( UUID.randomUUID ( ) )
+                .accountId ( UUID.randomUUID ( ) )
+                .clinicId ( clinicId )
+                .specialtyId ( specialtyId )
+                .fromDate ( tomorrow )
+                .toDate ( tomorrow )
+                .createdAt ( LocalDateTime.now ( ).minusHours ( 2 ) )
+                .build ( );
+
+        when ( waitlistEntryRepository.findAllByOfferedTimeSlotIdIsNullAndToDateGreaterThanEqual (
+                any ( LocalDate.class ) ) )
+                .thenReturn ( List.of ( byPhysician, bySpecialty ) );
+        when ( physicianRepository.findById ( physicianId ) )
+                .thenReturn ( Optional.of (
+                        Physician.builder ( ).id ( physicianId ).specialty ( specialty ).build ( )
+                ) );
+        when ( slotHoldService.hold ( any ( UUID.class ), any ( UUID.class ) ) )
+                .thenReturn ( new SlotHold ( UUID.randomUUID ( ), UUID.randomUUID ( ), LocalDateTime.now ( ) ) );
+
+        waitlistService.load ( );
+
+        UUID released = UUID.randomUUID ( );
+        waitlistService.onTimeSlotStatusChange ( new TimeSlotStatusChangeEvent (
+                released, physicianId, clinicId, tomorrow, LocalTime.of ( 10, 0 ), Status.FREE
+        ) );
+
+        verify ( slotHoldService, times ( 1 ) ).hold ( bySpecialty.getAccountId ( ), released );
+        verify ( slotHoldService, never ( ) ).hold ( eq ( byPhysician.getAccountId ( ) ), any ( UUID.class ) );
+    }
+
+    @Test
+    void when_timeSlotReserved_shouldNotOffer () {
+        waitlistService.onTimeSlotStatusChange ( new TimeSlotStatusChangeEvent (
+                UUID.randomUUID ( ), physicianId, null, tomorrow, LocalTime.of ( 10, 0 ), Status.RESERVED
+        ) );
+
+        verifyNoInteractions ( slotHoldService, physicianRepository );
+    }
+
+    private WaitlistEntry buildEntry ( LocalDateTime createdAt, LocalDate from, LocalDate to ) {
+        return WaitlistEntry.builder ( )
+                .id ( UUID.randomUUID ( ) )
+                .accountId ( UUID.randomUUID ( ) )
+                .physicianId ( physicianId )
+                .fromDate ( from )
+                .toDate ( to )
+                .createdAt ( createdAt )
+                .build ( );
+    }
+
+    private TimeSlot buildTimeSlot () {
+        return TimeSlot.builder ( )
+                .startTime ( LocalTime.of ( 10, 0 ) )
+                .status ( Status.FREE )
+                .dailySchedule ( DailySchedule.builder ( )
+                        .date ( tomorrow )
+                        .physician ( Physician.builder ( ).id ( physicianId ).build ( ) )
+                        .build ( ) )
+                .build ( );
+    }
+
+    private TimeSlotStatusChangeEvent buildRelease ( UUID timeSlotId, LocalDate date ) {
+        return new TimeSlotStatusChangeEvent (
+                timeSlotId, physicianId, null, date, LocalTime.of ( 10, 0 ), Status.FREE
+        );
+    }
+}
@@ -0,0 +1,72 @@
+package medical_clinics.shared.cache;
+
+import medical_clinics.web.dto.events.ScheduleDayChangeEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ResourceVersionsUTests {
+    private static final LocalDate TODAY = LocalDate.of ( 2025, 5, 5 );
+
+    @Mock
+    ResourceVersionRepository resourceVersionRepository;
+
+    @InjectMocks
+    ResourceVersions resourceVersions;
+
+    @Test
+    void when_getPhysicianScheduleETag_withOtherWindowOrLimit_shouldReturnOtherETag () {
+        UUID physicianId = UUID.randomUUID ( );
+
+        String eTag = resourceVersions.getPhysicianScheduleETag ( physicianId, TODAY, TODAY, TODAY.plusDays ( 7 ), 7 );
+
+        assertEquals ( eTag, resourceVersions.getPhysicianScheduleETag (
+                physicianId, TODAY, TODAY, TODAY.plusDays ( 7 ), 7 ) );
+        assertNotEquals ( eTag, resourceVersions.getPhysicianScheduleETag (
+                physicianId, TODAY, TODAY, TODAY.plusDays ( 14 ), 7 ) );
+        assertNotEquals ( eTag, resourceVersions.getPhysicianScheduleETag (
+                physicianId, TODAY, TODAY, TODAY.plusDays ( 7 ), 3 ) );
+    }
+
+    @Test
+    void when_getPhysicianScheduleETag_afterStoredVersionChanged_shouldReturnOtherETag () {
+        UUID physicianId = UUID.randomUUID ( );
+
+        String eTag = resourceVersions.getPhysicianScheduleETag ( physicianId, TODAY, null, null, null );
+
+        when ( resourceVersionRepository.findVersion ( "schedules" ) ).thenReturn ( Optional.empty ( ) );
+        when ( resourceVersionRepository.findVersion ( "schedule-" + physicianId ) ).thenReturn ( Optional.of ( 1L ) );
+
+        assertNotEquals ( eTag, resourceVersions.getPhysicianScheduleETag ( physicianId, TODAY, null, null, null ) );
+    }
+
+    @Test
+    void when_getClinicPhysiciansETag_withOtherSpeciality_shouldReturnOtherETag () {
+        UUID clinicId = UUID.randomUUID ( );
+
+        assertNotEquals (
+                resourceVersions.getClinicPhysiciansETag ( clinicId, UUID.randomUUID ( ) ),
+                resourceVersions.getClinicPhysiciansETag ( clinicId, UUID.randomUUID ( ) )
+        );
+    }
+
+    @Test
+    void when_onScheduleDayChange_shouldIncrementStoredVersionOfPhysician () {
+        UUID physicianId = UUID.randomUUID ( );
+
+        resourceVersions.onScheduleDayChange ( new ScheduleDayChangeEvent ( physicianId, TODAY ) );
+
+        verify ( resourceVersionRepository, times ( 1 ) ).increment ( "schedule-" + physicianId );
+    }
+}
@@ -0,0 +1,169 @@
+package medical_clinics.shared.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import medical_clinics.shared.exception.IdempotencyKeyInUseException;
+import medical_clinics.shared.exception.IdempotencyKeyReusedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceUTests {
+
+    @Mock
+    IdempotencyRecordRepository idempotencyRecordRepository;
+
+    IdempotencyService idempotencyService;
+
+    private static final Map<String, String> BODY = Map.of ( "date", "2025-05-05" );
+
+    @BeforeEach
+    void setUp () {
+        idempotencyService = new IdempotencyService (
+                idempotencyRecordRepository, new IdempotencyProperty ( Duration.ofHours ( 1 ), 100 ),
+                new ObjectMapper ( )
+        );
+    }
+
+    @Test
+    void when_execute_withoutKey_shouldRunActionEveryTime () {
+        AtomicInteger calls = new AtomicInteger ( );
+
+        idempotencyService.execute ( null, "PATCH /a", null, () -> noContent ( calls ) );
+        idempotencyService.execute ( " ", "PATCH /a", null, () -> noContent ( calls ) );
+
+        assertEquals ( 2, calls.get ( ) );
+        verifyNoInteractions ( idempotencyRecordRepository );
+    }
+
+    @Test
+    void when_execute_withRepeatedKey_shouldReplayStoredResponse () {
+        AtomicInteger calls = new AtomicInteger ( );
+
+        when ( idempotencyRecordRepository.findByIdAndExpiresAtAfter ( anyString ( ), any ( ) ) )
+                .thenReturn ( Optional.empty ( ) );
+
+        ResponseEntity<Void> first = idempotencyService.execute ( "key-1", "POST /a", BODY, () -> {
+            calls.incrementAndGet ( );
+            return ResponseEntity.status ( HttpStatus.CREATED ).header ( HttpHeaders.LOCATION, "/a/1" ).build ( );
+        } );
+        ResponseEntity<Void> retry = idempotencyService.execute (
+                "key-1", "POST /a", BODY, () -> noContent ( calls )
+        );
+
+        assertEquals ( 1, calls.get ( ) );
+        assertEquals ( first.getStatusCode ( ), retry.getStatusCode ( ) );
+        assertEquals ( "/a/1", retry.getHeaders ( ).getFirst ( HttpHeaders.LOCATION ) );
+        verify ( idempotencyRecordRepository, times ( 1 ) ).claim ( anyString ( ), eq ( 0 ), anyString ( ), any ( ) );
+        verify ( idempotencyRecordRepository, times ( 1 ) )
+                .complete ( anyString ( ), eq ( 201 ), eq ( "/a/1" ), any ( ) );
+    }
+
+    @Test
+    void when_execute_withRepeatedKeyAndOtherBody_shouldRejectWithoutAction () {
+        AtomicInteger calls = new AtomicInteger ( );
+
+        when ( idempotencyRecordRepository.findByIdAndExpiresAtAfter ( anyString ( ), any ( ) ) )
+                .thenReturn ( Optional.empty ( ) );
+
+        idempotencyService.execute ( "key-1", "POST /a", BODY, () -> noContent ( calls ) );
+
+        assertThrows ( IdempotencyKeyReusedException.class, () -> idempotencyService.execute (
+                "key-1", "POST /a", Map.of ( "date", "2025-05-06" ), () -> noContent ( calls )
+        ) );
+        assertEquals ( 1, calls.get ( ) );
+    }
+
+    @Test
+    void when_execute_withKeyInProgress_shouldRejectWithoutAction () {
+        AtomicInteger calls = new AtomicInteger ( );
+
+        when ( idempotencyRecordRepository.findByIdAndExpiresAtAfter ( anyString ( ), any ( ) ) )
+                .thenReturn ( Optional.of ( storedRecord ( 0, null ) ) );
+
+        assertThrows ( IdempotencyKeyInUseException.class,
+                () -> idempotencyService.execute ( "key-1", "DELETE /a", null, () -> noContent ( calls ) ) );
+
+        assertEquals ( 0, calls.get ( ) );
+        verify ( idempotencyRecordRepository, never ( ) ).claim ( anyString ( ), anyInt ( ), anyString ( ), any ( ) );
+    }
+
+    @Test
+    void when_execute_withKeyClaimedConcurrently_shouldReplayClaimedResponse () {
+        AtomicInteger calls = new AtomicInteger ( );
+
+        when ( idempotencyRecordRepository.findByIdAndExpiresAtAfter ( anyString ( ), any ( ) ) )
+                .thenReturn ( Optional.empty ( ) )
+                .thenReturn ( Optional.of ( storedRecord ( 204, null ) ) );
+        doThrow ( new DataIntegrityViolationException ( "duplicate" ) ).when ( idempotencyRecordRepository )
+                .claim ( anyString ( ), anyInt ( ), anyString ( ), any ( ) );
+
+        ResponseEntity<Void> response = idempotencyService.execute (
+                "key-1", "DELETE /a", null, () -> noContent ( calls )
+        );
+
+        assertEquals ( 0, calls.get ( ) );
+        assertEquals ( HttpStatus.NO_CONTENT, response.getStatusCode ( ) );
+    }
+
+    @Test
+    void when_execute_withKeyStoredOnlyInDatabase_shouldReplayWithoutAction () {
+        AtomicInteger calls = new AtomicInteger ( );
+
+        when ( idempotencyRecordRepository.findByIdAndExpiresAtAfter ( anyString ( ), any ( ) ) )
+                .thenReturn ( Optional.of ( storedRecord ( 204, null ) ) );
+
+        ResponseEntity<Void> response = idempotencyService.execute (
+                "key-1", "DELETE /a", null, () -> noContent ( calls )
+        );
+
+        assertEquals ( 0, calls.get ( ) );
+        assertEquals ( HttpStatus.NO_CONTENT, response.getStatusCode ( ) );
+    }
+
+    @Test
+    void when_execute_withFailingAction_shouldNotStoreResponse () {
+        when ( idempotencyRecordRepository.findByIdAndExpiresAtAfter ( anyString ( ), any ( ) ) )
+                .thenReturn ( Optional.empty ( ) );
+
+        assertThrows ( IllegalStateException.class,
+                () -> idempotencyService.execute ( "key-1", "PATCH /a", null, () -> {
+                    throw new IllegalStateException ( );
+                } ) );
+
+        verify ( idempotencyRecordRepository ).release ( anyString ( ) );
+        verify ( idempotencyRecordRepository, never ( ) ).complete ( anyString ( ), anyInt ( ), any ( ), any ( ) );
+    }
+
+    private IdempotencyRecord storedRecord ( int status, String fingerprint ) {
+        return IdempotencyRecord.builder ( )
+                .id ( "id" )
+                .status ( status )
+                .fingerprint ( fingerprint )
+                .expiresAt ( LocalDateTime.now ( ).plusHours ( 1 ) )
+                .build ( );
+    }
+
+    private ResponseEntity<Void> noContent ( AtomicInteger calls ) {
+        calls.incrementAndGet ( );
+        return ResponseEntity.noContent ( ).build ( );
+    }
+}
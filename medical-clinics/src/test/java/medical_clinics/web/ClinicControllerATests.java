@@ -3,11 +3,15 @@ package medical_clinics.web;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import medical_clinics.clinic.exceptions.NoSuchClinicException;
 import medical_clinics.clinic.services.ClinicService;
+import medical_clinics.schedule.services.DailyScheduleService;
+import medical_clinics.shared.cache.ResourceVersionRepository;
+import medical_clinics.shared.cache.ResourceVersions;
 import medical_clinics.shared.config.SecurityConfig;
 import medical_clinics.web.dto.CreateEditClinicRequest;
 import medical_clinics.web.dto.WorkDayDto;
 import medical_clinics.web.dto.response.ClinicDetails;
 import medical_clinics.web.dto.response.ClinicShortInfo;
+import medical_clinics.web.dto.response.schedule_private.ClinicDaySchedule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +24,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -32,7 +37,7 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, ResourceVersions.class})
 @WebMvcTest(ClinicController.class)
 public class ClinicControllerATests {
     private static final String PICTURE_URL = "https://upload.wikimedia.org/wikipedia/commons/thumb/b/bd/Test.svg/1200px-Test.svg.png";
@@ -41,6 +46,12 @@ public class ClinicControllerATests {
     @MockitoBean
     ClinicService clinicService;
 
+    @MockitoBean
+    DailyScheduleService dailyScheduleService;
+
+    @MockitoBean
+    ResourceVersionRepository resourceVersionRepository;
+
     @Autowired
     MockMvc mockMvc;
 
@@ -195,6 +206,25 @@ public class ClinicControllerATests {
         verify ( clinicService, times ( 1 ) ).getAllClinics ( );
     }
 
+    @Test
+    void when_getAllClinics_withMatchingETag_thenReturnNotModified304 () throws Exception {
+        when ( clinicService.getAllClinics ( ) ).thenReturn ( List.of ( new ClinicShortInfo ( ) ) );
+
+        String eTag = mockMvc.perform ( get ( "/clinics/" ) )
+                .andExpect ( status ( ).isOk ( ) )
+                .andExpect ( header ( ).exists ( HttpHeaders.ETAG ) )
+                .andReturn ( )
+                .getResponse ( )
+                .getHeader ( HttpHeaders.ETAG );
+
+        MockHttpServletRequestBuilder request = get ( "/clinics/" ).header ( HttpHeaders.IF_NONE_MATCH, eTag );
+
+        mockMvc.perform ( request )
+                .andExpect ( status ( ).isNotModified ( ) );
+
+        verify ( clinicService, times ( 1 ) ).getAllClinics ( );
+    }
+
     @Test
     void when_getClinicInfo_withClinic_thenReturnStatusOk200 () throws Exception {
         UUID clinicId = UUID.randomUUID ( );
@@ -232,6 +262,47 @@ public class ClinicControllerATests {
         verify ( clinicService, times ( 1 ) ).getClinicById ( any ( ) );
     }
 
+    @Test
+    void when_getClinicDaySchedule_withNoJwt_thenReturnUnauthorized401 () throws Exception {
+        MockHttpServletRequestBuilder request = get (
+                "/clinics/clinic/{id}/day/{date}", UUID.randomUUID ( ), LocalDate.now ( )
+        );
+
+        mockMvc.perform ( request ).andExpect ( status ( ).isUnauthorized ( ) );
+
+        verify ( dailyScheduleService, never ( ) ).getClinicDaySchedule ( any ( ), any ( ) );
+    }
+
+    @Test
+    void when_getClinicDaySchedule_withPatient_thenReturnForbidden403 () throws Exception {
+        MockHttpServletRequestBuilder request = get (
+                "/clinics/clinic/{id}/day/{date}", UUID.randomUUID ( ), LocalDate.now ( )
+        ).with ( jwt ( ).authorities ( new SimpleGrantedAuthority ( "ROLE_PATIENT" ) ) );
+
+        mockMvc.perform ( request ).andExpect ( status ( ).isForbidden ( ) );
+
+        verify ( dailyScheduleService, never ( ) ).getClinicDaySchedule ( any ( ), any ( ) );
+    }
+
+    @Test
+    void when_getClinicDaySchedule_withPhysician_thenReturnStatusOk200 () throws Exception {
+        UUID clinicId = UUID.randomUUID ( );
+        LocalDate date = LocalDate.now ( );
+
+        when ( dailyScheduleService.getClinicDaySchedule ( clinicId, date ) )
+                .thenReturn ( new ClinicDaySchedule ( clinicId, date, List.of ( ) ) );
+
+        MockHttpServletRequestBuilder request = get ( "/clinics/clinic/{id}/day/{date}", clinicId, date )
+                .with ( jwt ( ).authorities ( new SimpleGrantedAuthority ( "ROLE_PHYSICIAN" ) ) );
+
+        mockMvc.perform ( request )
+                .andExpect ( status ( ).isOk ( ) )
+                .andExpect ( jsonPath ( "clinicId" ).value ( clinicId.toString ( ) ) )
+                .andExpect ( jsonPath ( "physicians" ).isArray ( ) );
+
+        verify ( dailyScheduleService, times ( 1 ) ).getClinicDaySchedule ( clinicId, date );
+    }
+
     @Test
     void when_editClinic_withNoJwt_thenReturnUnauthorized401 () throws Exception {
         MockHttpServletRequestBuilder request = put ( "/clinics/clinic/{id}", UUID.randomUUID ( ) );
@@ -0,0 +1,162 @@
+package medical_clinics.web;
+
+import medical_clinics.physician.service.PhysicianService;
+import medical_clinics.schedule.models.Status;
+import medical_clinics.schedule.services.DailyScheduleService;
+import medical_clinics.schedule.services.ScheduleChangeLog;
+import medical_clinics.schedule.services.TimeSlotService;
+import medical_clinics.schedule.services.TimeSlotStreamService;
+import medical_clinics.schedule.services.UtilizationRollupService;
+import medical_clinics.schedule.services.WaitlistService;
+import medical_clinics.shared.cache.ResourceVersions;
+import medical_clinics.shared.config.SecurityConfig;
+import medical_clinics.shared.idempotency.IdempotencyService;
+import medical_clinics.web.dto.events.PassedTimeSlotsEvent;
+import medical_clinics.web.dto.events.TimeSlotStatusChangeEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Import({SecurityConfig.class, TimeSlotStreamService.class})
+@WebMvcTest(ScheduleController.class)
+public class ScheduleControllerATests {
+    private static final Pattern TIMESLOT_ID = Pattern.compile ( "\"timeslotId\":\"([0-9a-f-]+)\"" );
+    private static final LocalDate DATE = LocalDate.of ( 2025, 5, 5 );
+    private static final long WAIT_MILLIS = 5000;
+
+    @MockitoBean
+    DailyScheduleService dailyScheduleService;
+
+    @MockitoBean
+    TimeSlotService timeSlotService;
+
+    @MockitoBean
+    PhysicianService physicianService;
+
+    @MockitoBean
+    ResourceVersions resourceVersions;
+
+    @MockitoBean
+    IdempotencyService idempotencyService;
+
+    @MockitoBean
+    UtilizationRollupService utilizationRollupService;
+
+    @MockitoBean
+    WaitlistService waitlistService;
+
+    @MockitoBean
+    ScheduleChangeLog scheduleChangeLog;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void when_streamPhysicianTimeSlots_withNoJWT_thenExpectUnauthorized401 () throws Exception {
+        mockMvc.perform ( get ( "/schedules/stream/physician/" + UUID.randomUUID ( ) ) )
+                .andExpect ( status ( ).isUnauthorized ( ) );
+    }
+
+    @Test
+    void when_streamPhysicianTimeSlots_withManyChanges_thenSendThemInPublishOrder () throws Exception {
+        UUID physicianId = UUID.randomUUID ( );
+        MockHttpServletResponse response = subscribe ( "/schedules/stream/physician/" + physicianId );
+
+        List<UUID> published = new ArrayList<> ( );
+
+        for ( int i = 0; i < 200; i++ ) {
+            UUID timeSlotId = UUID.randomUUID ( );
+            published.add ( timeSlotId );
+            eventPublisher.publishEvent ( statusChange ( timeSlotId, physicianId, null ) );
+        }
+
+        assertEquals ( published, awaitTimeSlotIds ( response, published.size ( ) ) );
+    }
+
+    @Test
+    void when_streamClinicTimeSlots_withChangesOfOtherClinic_thenSendOnlyOwnChanges () throws Exception {
+        UUID clinicId = UUID.randomUUID ( );
+        UUID ownTimeSlotId = UUID.randomUUID ( );
+        MockHttpServletResponse response = subscribe ( "/schedules/stream/clinic/" + clinicId );
+
+        eventPublisher.publishEvent ( statusChange ( UUID.randomUUID ( ), UUID.randomUUID ( ), UUID.randomUUID ( ) ) );
+        eventPublisher.publishEvent ( statusChange ( ownTimeSlotId, UUID.randomUUID ( ), clinicId ) );
+        eventPublisher.publishEvent ( new PassedTimeSlotsEvent ( DATE, LocalTime.of ( 10, 0 ) ) );
+
+        assertEquals ( List.of ( ownTimeSlotId ), awaitTimeSlotIds ( response, 1 ) );
+        awaitContent ( response, "event:passed" );
+    }
+
+    private MockHttpServletResponse subscribe ( String path ) throws Exception {
+        MvcResult result = mockMvc.perform ( get ( path ).with ( jwt ( ) ).accept ( MediaType.TEXT_EVENT_STREAM ) )
+                .andExpect ( request ( ).asyncStarted ( ) )
+                .andReturn ( );
+
+        return result.getResponse ( );
+    }
+
+    private List<UUID> awaitTimeSlotIds ( MockHttpServletResponse response, int expected ) throws Exception {
+        long deadline = System.currentTimeMillis ( ) + WAIT_MILLIS;
+        List<UUID> timeSlotIds = List.of ( );
+
+        while (System.currentTimeMillis ( ) < deadline) {
+            timeSlotIds = timeSlotIdsOf ( response.getContentAsString ( ) );
+
+            if ( timeSlotIds.size ( ) >= expected ) {
+                return timeSlotIds;
+            }
+            Thread.sleep ( 20 );
+        }
+        fail ( "Expected %d slot events but received %d".formatted ( expected, timeSlotIds.size ( ) ) );
+        return timeSlotIds;
+    }
+
+    private void awaitContent ( MockHttpServletResponse response, String expected ) throws Exception {
+        long deadline = System.currentTimeMillis ( ) + WAIT_MILLIS;
+
+        while (!response.getContentAsString ( ).contains ( expected )) {
+            assertTrue ( System.currentTimeMillis ( ) < deadline, "Expected stream to contain " + expected );
+            Thread.sleep ( 20 );
+        }
+    }
+
+    private List<UUID> timeSlotIdsOf ( String content ) {
+        List<UUID> timeSlotIds = new ArrayList<> ( );
+        Matcher matcher = TIMESLOT_ID.matcher ( content );
+
+        while (matcher.find ( )) {
+            timeSlotIds.add ( UUID.fromString ( matcher.group ( 1 ) ) );
+        }
+        return timeSlotIds;
+    }
+
+    private TimeSlotStatusChangeEvent statusChange ( UUID timeSlotId, UUID physicianId, UUID clinicId ) {
+        return new TimeSlotStatusChangeEvent (
+                timeSlotId, physicianId, clinicId, DATE, LocalTime.of ( 9, 0 ), Status.RESERVED
+        );
+    }
+}